@@ -0,0 +1,34 @@
+/*
+ * @(#)RequestPrincipal.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * <p>Classe <code>RequestPrincipal</code>.</p>
+ * <p>Usuário autenticado da requisição atual, resolvido uma única vez a partir do token já
+ * verificado pelo resource server (ver {@link br.com.blackhunter.finey.rest.auth.util.JwtUtil#getPrincipal()}).</p>
+ */
+@Getter
+@AllArgsConstructor
+public class RequestPrincipal {
+    /**
+     * ID da conta do usuário.
+     */
+    private final UUID accountId;
+
+    /**
+     * Subject do token (e-mail do usuário).
+     */
+    private final String subject;
+}
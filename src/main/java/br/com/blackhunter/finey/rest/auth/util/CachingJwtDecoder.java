@@ -0,0 +1,154 @@
+/*
+ * @(#)CachingJwtDecoder.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.auth.util;
+
+import br.com.blackhunter.finey.rest.core.cache.BoundedCache;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <p>Classe <code>CachingJwtDecoder</code>.</p>
+ * <p>Decorador do {@link JwtDecoder} que guarda os tokens já verificados.</p>
+ * <p>
+ *     O app reutiliza o mesmo token por até uma hora; a verificação da assinatura RSA é feita na
+ *     primeira vez e as chamadas seguintes só consultam o cache. A chave é o SHA-256 do token (o
+ *     token em si não fica em memória) e a entrada guarda apenas os cabeçalhos e as claims lidas pela
+ *     API: subject, emissor, emissão, expiração e escopos. Cada entrada vale até o <code>exp</code> do
+ *     token e o cache é LRU, limitado a <code>max-entries</code> tokens.
+ * </p>
+ * <p>A revogação é feita por um bean {@link RevocationCheck}, consultado a cada decodificação, junto
+ * com {@link #evict(String)} e {@link #evictSubject(String)} para descartar as entradas afetadas.</p>
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    /* Claims mantidas no cache; as demais não são lidas pela API. */
+    private static final String[] CACHED_CLAIMS = {
+        JwtClaimNames.SUB, JwtClaimNames.ISS, JwtClaimNames.IAT, JwtClaimNames.EXP, "scope"
+    };
+
+    private final JwtDecoder delegate;
+    private final Supplier<RevocationCheck> revocationCheck;
+    private final BoundedCache<String, VerifiedToken> tokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Supplier<RevocationCheck> revocationCheck) {
+        this(delegate, maxEntries, revocationCheck, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Supplier<RevocationCheck> revocationCheck, Clock clock) {
+        this.delegate = delegate;
+        this.revocationCheck = revocationCheck;
+        this.tokens = new BoundedCache<>(maxEntries, clock);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String digest = digest(token);
+        VerifiedToken verified = tokens.get(digest);
+        if (verified == null) {
+            Jwt jwt = delegate.decode(token);
+            checkRevocation(jwt, digest);
+            if (jwt.getExpiresAt() != null) {
+                tokens.put(digest, new VerifiedToken(jwt), jwt.getExpiresAt());
+            }
+            return jwt;
+        }
+
+        Jwt jwt = verified.toJwt(token);
+        checkRevocation(jwt, digest);
+        return jwt;
+    }
+
+    /**
+     * Remove do cache a entrada de um token.
+     *
+     * @param token Token (não o digest) a ser descartado.
+     */
+    public void evict(String token) {
+        tokens.remove(digest(token));
+    }
+
+    /**
+     * Remove do cache todos os tokens de um usuário.
+     *
+     * @param subject Subject dos tokens (e-mail do usuário).
+     */
+    public void evictSubject(String subject) {
+        tokens.removeIf(verified -> subject.equals(verified.claims.get(JwtClaimNames.SUB)));
+    }
+
+    /**
+     * <p>Ponto de extensão para revogação de tokens antes do <code>exp</code>.</p>
+     * <p>Basta registrar um bean deste tipo; ele é consultado a cada requisição, inclusive para
+     * tokens que já estão no cache, então deve responder sem I/O bloqueante sempre que possível.</p>
+     */
+    @FunctionalInterface
+    public interface RevocationCheck {
+        /**
+         * @param jwt Token já verificado.
+         * @return true se o token foi revogado.
+         */
+        boolean isRevoked(Jwt jwt);
+    }
+
+    /* Métodos/Classes privados. */
+
+    private void checkRevocation(Jwt jwt, String digest) {
+        RevocationCheck check = revocationCheck.get();
+        if (check != null && check.isRevoked(jwt)) {
+            tokens.remove(digest);
+            throw new BadJwtException("Token revogado");
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /* Parte do token verificado necessária para recriar o Jwt. */
+    private static class VerifiedToken {
+        private final Map<String, Object> headers;
+        private final Map<String, Object> claims;
+
+        VerifiedToken(Jwt jwt) {
+            this.headers = Map.copyOf(jwt.getHeaders());
+            Map<String, Object> cachedClaims = new HashMap<>();
+            for (String claim : CACHED_CLAIMS) {
+                Object value = jwt.getClaims().get(claim);
+                if (value != null) {
+                    cachedClaims.put(claim, value);
+                }
+            }
+            this.claims = Map.copyOf(cachedClaims);
+        }
+
+        Jwt toJwt(String token) {
+            return Jwt.withTokenValue(token)
+                    .headers(h -> h.putAll(headers))
+                    .claims(c -> c.putAll(claims))
+                    .build();
+        }
+    }
+}
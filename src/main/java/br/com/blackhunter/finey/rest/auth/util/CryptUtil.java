@@ -1,12 +1,45 @@
+/*
+ * @(#)CryptUtil.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
 package br.com.blackhunter.finey.rest.auth.util;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * <p>Classe <code>CryptUtil</code>.</p>
+ * <p>Criptografia AES dos campos trafegados pela API.</p>
+ * <p>
+ *     A chave de cada segredo é derivada uma única vez e os <code>Cipher</code> já inicializados são
+ *     reaproveitados por meio de um pool por chave e modo. O pool não prende instâncias a threads,
+ *     então funciona igualmente com threads de plataforma e virtual threads. Para vários campos de
+ *     uma mesma resposta, prefira {@link #encryptAll}, que usa um único <code>Cipher</code> para todos.
+ * </p>
+ */
 public class CryptUtil {
+    private static final String ALGORITHM = "AES";
+    private static final int KEY_LENGTH = 16;
+    /* Instâncias ociosas mantidas por chave e modo; as excedentes são descartadas. */
+    private static final int POOL_SIZE = 64;
+
+    private static final Map<String, AesKey> KEYS = new ConcurrentHashMap<>();
+
     /**
      * Criptografa uma string usando o algoritmo AES.
      *
@@ -16,15 +49,42 @@ public class CryptUtil {
      * @throws Exception se ocorrer algum erro durante a criptografia
      */
     public static String encrypt(String data, String secretKey) throws Exception {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        SecretKey key = new SecretKeySpec(keyBytes, 0, 16, "AES");
-
-        Cipher cipher = Cipher.getInstance("AES");
-        cipher.init(Cipher.ENCRYPT_MODE, key);
+        AesKey key = keyFor(secretKey);
+        Cipher cipher = key.borrow(Cipher.ENCRYPT_MODE);
+        String encrypted = encrypt(cipher, data);
+        key.release(Cipher.ENCRYPT_MODE, cipher);
+        return encrypted;
+    }
 
-        byte[] encryptedBytes = cipher.doFinal(data.getBytes());
+    /**
+     * Criptografa vários valores de uma vez, na ordem recebida.
+     *
+     * @param values Valores a serem criptografados
+     * @param secretKey Chave secreta para criptografia
+     * @return Os valores criptografados em formato Base64, na mesma ordem
+     * @throws Exception se ocorrer algum erro durante a criptografia
+     */
+    public static String[] encryptAll(String[] values, String secretKey) throws Exception {
+        AesKey key = keyFor(secretKey);
+        Cipher cipher = key.borrow(Cipher.ENCRYPT_MODE);
+        String[] encrypted = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            encrypted[i] = encrypt(cipher, values[i]);
+        }
+        key.release(Cipher.ENCRYPT_MODE, cipher);
+        return encrypted;
+    }
 
-        return Base64.getEncoder().encodeToString(encryptedBytes);
+    /**
+     * Criptografa uma lista de valores de uma vez.
+     *
+     * @param values Valores a serem criptografados
+     * @param secretKey Chave secreta para criptografia
+     * @return Os valores criptografados em formato Base64, na mesma ordem
+     * @throws Exception se ocorrer algum erro durante a criptografia
+     */
+    public static List<String> encryptAll(List<String> values, String secretKey) throws Exception {
+        return List.of(encryptAll(values.toArray(new String[0]), secretKey));
     }
 
     /**
@@ -36,24 +96,35 @@ public class CryptUtil {
      * @throws Exception se ocorrer algum erro durante a descriptografia
      */
     public static String decrypt(String encryptedData, String secretKey) throws Exception {
-        // Garante que a chave tenha o tamanho correto (16 bytes para AES-128)
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        SecretKey key = new SecretKeySpec(keyBytes, 0, 16, "AES");
-
-        // Inicializa o cipher para descriptografia
-        Cipher cipher = Cipher.getInstance("AES");
-        cipher.init(Cipher.DECRYPT_MODE, key);
-
-        // Decodifica o Base64 e descriptografa
-        byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+        AesKey key = keyFor(secretKey);
+        Cipher cipher = key.borrow(Cipher.DECRYPT_MODE);
+        String decrypted = decrypt(cipher, encryptedData);
+        key.release(Cipher.DECRYPT_MODE, cipher);
+        return decrypted;
+    }
 
-        // Converte de volta para string
-        return new String(decryptedBytes, StandardCharsets.UTF_8);
+    /**
+     * Descriptografa uma lista de valores de uma vez.
+     *
+     * @param encryptedValues Valores criptografados em formato Base64
+     * @param secretKey Chave secreta para descriptografia
+     * @return Os valores descriptografados, na mesma ordem
+     * @throws Exception se ocorrer algum erro durante a descriptografia
+     */
+    public static List<String> decryptAll(List<String> encryptedValues, String secretKey) throws Exception {
+        AesKey key = keyFor(secretKey);
+        Cipher cipher = key.borrow(Cipher.DECRYPT_MODE);
+        List<String> decrypted = new ArrayList<>(encryptedValues.size());
+        for (String encryptedValue : encryptedValues) {
+            decrypted.add(decrypt(cipher, encryptedValue));
+        }
+        key.release(Cipher.DECRYPT_MODE, cipher);
+        return decrypted;
     }
-    
+
     /**
      * Verifica se uma string está criptografada usando o algoritmo AES implementado nesta classe.
-     * 
+     *
      * @param text String a ser verificada
      * @param secretKey Chave secreta usada para tentar descriptografar
      * @return true se a string foi criptografada com o método encrypt() desta classe, false caso contrário
@@ -62,11 +133,11 @@ public class CryptUtil {
         if (text == null || text.isEmpty()) {
             return false;
         }
-        
+
         try {
             // Tenta descriptografar o texto
             String decrypted = decrypt(text, secretKey);
-            
+
             // Se chegou até aqui sem lançar exceção, o texto estava criptografado
             // com o algoritmo AES e a chave fornecida
             return true;
@@ -77,4 +148,51 @@ public class CryptUtil {
             return false;
         }
     }
+
+    /* Métodos/Classes privados. */
+
+    private static AesKey keyFor(String secretKey) {
+        return KEYS.computeIfAbsent(secretKey, AesKey::new);
+    }
+
+    /* Um Cipher que falhou é descartado (não volta ao pool), pois seu estado após a exceção é indefinido. */
+    private static String encrypt(Cipher cipher, String data) throws GeneralSecurityException {
+        byte[] encryptedBytes = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(encryptedBytes);
+    }
+
+    private static String decrypt(Cipher cipher, String encryptedData) throws GeneralSecurityException {
+        byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+        return new String(decryptedBytes, StandardCharsets.UTF_8);
+    }
+
+    /* Chave derivada de um segredo e os Cipher ociosos já inicializados com ela. */
+    private static class AesKey {
+        private final SecretKey key;
+        private final BlockingQueue<Cipher> encryptors = new ArrayBlockingQueue<>(POOL_SIZE);
+        private final BlockingQueue<Cipher> decryptors = new ArrayBlockingQueue<>(POOL_SIZE);
+
+        AesKey(String secretKey) {
+            // Usa os primeiros 16 bytes do segredo (AES-128)
+            this.key = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), 0, KEY_LENGTH, ALGORITHM);
+        }
+
+        Cipher borrow(int mode) throws GeneralSecurityException {
+            Cipher cipher = pool(mode).poll();
+            if (cipher == null) {
+                cipher = Cipher.getInstance(ALGORITHM);
+                cipher.init(mode, key);
+            }
+            return cipher;
+        }
+
+        /* doFinal devolve o Cipher ao estado do init, pronto para o próximo uso. */
+        void release(int mode, Cipher cipher) {
+            pool(mode).offer(cipher);
+        }
+
+        private BlockingQueue<Cipher> pool(int mode) {
+            return mode == Cipher.ENCRYPT_MODE ? encryptors : decryptors;
+        }
+    }
 }
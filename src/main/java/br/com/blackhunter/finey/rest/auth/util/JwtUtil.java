@@ -9,19 +9,33 @@
 
 package br.com.blackhunter.finey.rest.auth.util;
 
-import java.util.UUID;
-
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
+import br.com.blackhunter.finey.rest.auth.RequestPrincipal;
 import br.com.blackhunter.finey.rest.core.dto.HttpContextData;
 import br.com.blackhunter.finey.rest.useraccount.entity.UserAccountEntity;
 import br.com.blackhunter.finey.rest.useraccount.service.UserAccountService;
 import jakarta.servlet.http.HttpServletRequest;
 
+/**
+ * <p>Classe <code>JwtUtil</code>.</p>
+ * <p>Acesso ao usuário autenticado da requisição atual.</p>
+ * <p>
+ *     O usuário é resolvido uma única vez por requisição: o subject vem do token já verificado pelo
+ *     resource server (sem decodificar o JWT novamente) e o {@link RequestPrincipal} e a conta do
+ *     usuário ficam guardados como atributos da requisição para as chamadas seguintes.
+ * </p>
+ */
 @Component
 public class JwtUtil {
+    private static final String PRINCIPAL_ATTRIBUTE = RequestPrincipal.class.getName();
+    private static final String USER_ACCOUNT_ATTRIBUTE = JwtUtil.class.getName() + ".userAccount";
+
     private final UserAccountService userAccountService;
     private final JwtDecoder jwtDecoder;
 
@@ -33,13 +47,39 @@ public class JwtUtil {
         this.jwtDecoder         = jwtDecoder;
     }
 
+    /**
+     * @return O usuário autenticado da requisição atual.
+     */
+    public RequestPrincipal getPrincipal() {
+        HttpServletRequest request = HttpContextData.getCurrentRequest();
+        if (request != null && request.getAttribute(PRINCIPAL_ATTRIBUTE) instanceof RequestPrincipal principal) {
+            return principal;
+        }
+
+        String subject = extractVerifiedSubject();
+        RequestPrincipal principal = new RequestPrincipal(userAccountService.findUserIdByEmail(subject), subject);
+        if (request != null) {
+            request.setAttribute(PRINCIPAL_ATTRIBUTE, principal);
+        }
+        return principal;
+    }
+
+    /**
+     * <p>Prefira {@link #getPrincipal()} quando só o ID da conta for necessário.</p>
+     *
+     * @return A conta do usuário autenticado na requisição atual.
+     */
     public UserAccountEntity getUserAccountFromToken() {
-        String extractedToken = extractAuthorizationTokenFromRequest();
-        if(extractedToken == null || extractedToken.isEmpty()) {
-            throw new IllegalArgumentException("Authorization token is missing or empty");
+        HttpServletRequest request = HttpContextData.getCurrentRequest();
+        if (request != null && request.getAttribute(USER_ACCOUNT_ATTRIBUTE) instanceof UserAccountEntity userAccount) {
+            return userAccount;
+        }
+
+        UserAccountEntity userAccount = userAccountService.findEntityById(getPrincipal().getAccountId());
+        if (request != null) {
+            request.setAttribute(USER_ACCOUNT_ATTRIBUTE, userAccount);
         }
-        UUID userId = extractUserIdFromToken(extractedToken);
-        return userAccountService.findEntityById(userId);
+        return userAccount;
     }
 
     public String extractAuthorizationTokenFromRequest() {
@@ -60,9 +100,20 @@ public class JwtUtil {
         return decodedJwt.getExpiresAt().isBefore(java.time.Instant.now());
     }
 
-    private UUID extractUserIdFromToken(String token) {
-        Jwt decodedJwt = jwtDecoder.decode(token);
-        String email = decodedJwt.getClaim("sub");
-        return userAccountService.findUserIdByEmail(email);
+    /* Métodos/Classes privados. */
+
+    /* O resource server já verificou o token; o header só é decodificado fora desse fluxo. */
+    private String extractVerifiedSubject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            return jwtAuthentication.getToken().getSubject();
+        }
+
+        String extractedToken = extractAuthorizationTokenFromRequest();
+        if (extractedToken == null || extractedToken.isEmpty()) {
+            throw new IllegalArgumentException("Authorization token is missing or empty");
+        }
+        Jwt decodedJwt = jwtDecoder.decode(extractedToken);
+        return decodedJwt.getClaim("sub");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,228 @@
+/*
+ * @(#)PluggyRateLimiter.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.client;
+
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.enums.FinancialIntegrationPlatform;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.exception.IntegrationUnavailableException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Classe <code>PluggyRateLimiter</code>.</p>
+ * <p>Limitador <i>token bucket</i> aplicado a todas as chamadas de saída para a API da Pluggy.</p>
+ * <p>
+ *     O balde recebe <code>permits-per-second</code> fichas por segundo e acumula no máximo
+ *     <code>burst</code>. Cada chamada reserva uma ficha; se o balde estiver vazio, a chamada
+ *     espera apenas o tempo necessário até a sua ficha ser gerada, em vez de uma pausa fixa.
+ * </p>
+ * <p>
+ *     No modo <code>local</code> o balde fica em memória e vale para esta instância. No modo
+ *     <code>redis</code> o balde é compartilhado entre todas as instâncias através de um script Lua
+ *     atômico, usando o relógio do próprio Redis. Se o Redis falhar, o balde local é usado por
+ *     alguns segundos.
+ * </p>
+ * <p>
+ *     A espera tem um limite (<code>max-wait-ms</code>). Se a ficha só ficaria disponível depois dele,
+ *     nenhuma ficha é reservada e a chamada falha na hora com {@link IntegrationUnavailableException},
+ *     que o disjuntor não conta como falha do provedor e que a sincronização trata servindo os dados locais.
+ * </p>
+ * <p>O tempo de espera é acumulado em {@link #getMetrics()} e registrado no log.</p>
+ */
+@Component
+@Slf4j
+public class PluggyRateLimiter {
+    public static final String MODE_LOCAL = "local";
+    public static final String MODE_REDIS = "redis";
+
+    private static final String BUCKET_KEY = "hunter:pluggy:rate-limit";
+    private static final long REDIS_RETRY_AFTER_MILLIS = 30_000;
+
+    /* Reserva uma ficha no balde compartilhado e devolve a espera em microssegundos; acima da espera máxima não reserva. */
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local rate = tonumber(ARGV[1])
+            local burst = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'timestamp')
+            local tokens = tonumber(bucket[1]) or burst
+            local timestamp = tonumber(bucket[2]) or now
+            local maxWait = tonumber(ARGV[3])
+            tokens = math.min(burst, tokens + (now - timestamp) * rate / 1000000) - 1
+            local wait = 0
+            if tokens < 0 then
+                wait = math.ceil(-tokens * 1000000 / rate)
+            end
+            if wait > maxWait then
+                return wait
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'timestamp', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil((burst - tokens) * 1000 / rate) + 1000)
+            return wait
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final String mode;
+    private final double permitsPerSecond;
+    private final double burst;
+    private final long maxWaitMicros;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double localTokens;
+    private long localTimestampNanos;
+
+    /* Momento até o qual o Redis é ignorado após uma falha. */
+    private volatile long redisUnavailableUntil = 0;
+
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong throttledAcquisitions = new AtomicLong();
+    private final AtomicLong totalWaitMicros = new AtomicLong();
+    private final AtomicLong longestWaitMicros = new AtomicLong();
+    private final AtomicLong rejectedAcquisitions = new AtomicLong();
+
+    public PluggyRateLimiter(
+            StringRedisTemplate redisTemplate,
+            @Value("${hunter.pluggy.rate-limit.enabled:true}") boolean enabled,
+            @Value("${hunter.pluggy.rate-limit.mode:local}") String mode,
+            @Value("${hunter.pluggy.rate-limit.permits-per-second:10}") double permitsPerSecond,
+            @Value("${hunter.pluggy.rate-limit.burst:10}") int burst,
+            @Value("${hunter.pluggy.rate-limit.max-wait-ms:2000}") long maxWaitMillis
+    ) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Pluggy rate limit must have positive permits-per-second and burst");
+        }
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.mode = mode;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxWaitMicros = TimeUnit.MILLISECONDS.toMicros(maxWaitMillis);
+        this.localTokens = burst;
+        this.localTimestampNanos = System.nanoTime();
+    }
+
+    /**
+     * @param operation Nome da operação, usado apenas no log (ex: "auth", "transactions").
+     *
+     * <p>Reserva uma ficha do balde, bloqueando a thread atual pelo tempo necessário.</p>
+     *
+     * @throws IntegrationUnavailableException se a espera passaria do limite configurado.
+     */
+    public void acquire(String operation) {
+        if (!enabled) {
+            return;
+        }
+
+        long waitMicros = reserve();
+        if (waitMicros > maxWaitMicros) {
+            rejectedAcquisitions.incrementAndGet();
+            log.warn("Limite de requisições da Pluggy esgotado ({}): espera de {} ms acima do máximo de {} ms",
+                    operation, waitMicros / 1000, maxWaitMicros / 1000);
+            throw new IntegrationUnavailableException(FinancialIntegrationPlatform.PLUGGY.name());
+        }
+        recordWait(waitMicros);
+        if (waitMicros <= 0) {
+            return;
+        }
+
+        log.debug("Aguardando {} ms pelo limite de requisições da Pluggy ({})", waitMicros / 1000, operation);
+        try {
+            TimeUnit.MICROSECONDS.sleep(waitMicros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for Pluggy rate limit", e);
+        }
+    }
+
+    /**
+     * <p>Obtém as métricas acumuladas de espera desde a inicialização.</p>
+     *
+     * @return Uma cópia das métricas no momento da chamada.
+     */
+    public RateLimiterMetrics getMetrics() {
+        return new RateLimiterMetrics(
+                acquisitions.get(),
+                throttledAcquisitions.get(),
+                totalWaitMicros.get() / 1000,
+                longestWaitMicros.get() / 1000,
+                rejectedAcquisitions.get()
+        );
+    }
+
+    /**
+     * <p>Métricas de espera do limitador.</p>
+     */
+    @Data
+    @AllArgsConstructor
+    public static class RateLimiterMetrics {
+        private long acquisitions;
+        private long throttledAcquisitions;
+        private long totalWaitMillis;
+        private long maxWaitMillis;
+        private long rejectedAcquisitions;
+    }
+
+    /* Métodos/Classes privados. */
+
+    private long reserve() {
+        if (MODE_REDIS.equalsIgnoreCase(mode) && System.currentTimeMillis() >= redisUnavailableUntil) {
+            try {
+                Long waitMicros = redisTemplate.execute(RESERVE_SCRIPT, List.of(BUCKET_KEY),
+                        String.valueOf(permitsPerSecond), String.valueOf(burst), String.valueOf(maxWaitMicros));
+                return waitMicros != null ? waitMicros : 0;
+            } catch (Exception e) {
+                log.warn("Limite distribuído da Pluggy indisponível, usando o limite local: {}", e.getMessage());
+                redisUnavailableUntil = System.currentTimeMillis() + REDIS_RETRY_AFTER_MILLIS;
+            }
+        }
+        return reserveLocal();
+    }
+
+    /*
+     * A ficha é reservada mesmo com o balde vazio (saldo negativo), o que enfileira as chamadas seguintes.
+     * Acima da espera máxima nada é reservado, para a chamada recusada não atrasar as demais.
+     */
+    private long reserveLocal() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            double elapsedSeconds = (now - localTimestampNanos) / 1_000_000_000.0;
+            double tokens = Math.min(burst, localTokens + elapsedSeconds * permitsPerSecond) - 1;
+            long waitMicros = tokens >= 0 ? 0 : (long) Math.ceil(-tokens * 1_000_000 / permitsPerSecond);
+            if (waitMicros <= maxWaitMicros) {
+                localTokens = tokens;
+                localTimestampNanos = now;
+            }
+            return waitMicros;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordWait(long waitMicros) {
+        acquisitions.incrementAndGet();
+        if (waitMicros > 0) {
+            throttledAcquisitions.incrementAndGet();
+            totalWaitMicros.addAndGet(waitMicros);
+            longestWaitMicros.accumulateAndGet(waitMicros, Math::max);
+        }
+    }
+}
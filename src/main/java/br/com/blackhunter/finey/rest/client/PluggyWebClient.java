@@ -9,31 +9,41 @@
 
 package br.com.blackhunter.finey.rest.client;
 
+import br.com.blackhunter.finey.rest.core.util.MoneyUtil;
 import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
 import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionStatus;
 import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.exception.IntegrationUnavailableException;
 import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccountDataEntity;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.PreDestroy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Component
 @Slf4j
@@ -42,13 +52,32 @@ public class PluggyWebClient {
     private static final String AUTH_URL = PLUGGY_API_BASE_URL + "/auth";
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final ObjectReader transactionReader;
+    private final PluggyRateLimiter rateLimiter;
 
     private static final int PAGE_SIZE = 500; // Máximo permitido pela API Pluggy
 
+    /* Modo de paginação: paralelo (padrão) ou sequencial. */
+    @Value("${hunter.pluggy.pagination.parallel:true}")
+    private boolean PARALLEL_PAGINATION;
+    /* Máximo de páginas em voo ao mesmo tempo por consulta, no modo paralelo. */
+    @Value("${hunter.pluggy.pagination.max-parallel-pages:4}")
+    private int MAX_PARALLEL_PAGES;
 
-    public PluggyWebClient(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    private final ExecutorService pageExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+
+    public PluggyWebClient(RestTemplate restTemplate, ObjectMapper objectMapper, PluggyRateLimiter rateLimiter) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.transactionReader = objectMapper.readerFor(PluggyTransaction.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.rateLimiter = rateLimiter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pageExecutor.shutdownNow();
     }
 
     /**
@@ -73,6 +102,7 @@ public class PluggyWebClient {
         HttpEntity<Map<String, String>> request = new HttpEntity<>(payload, headers);
 
         // Fazer a requisição POST e receber a resposta
+        rateLimiter.acquire("auth");
         PluggyAuthResponse response = restTemplate.postForObject(
                 AUTH_URL,
                 request,
@@ -110,6 +140,7 @@ public class PluggyWebClient {
 
             try {
                 System.out.println("Sending POST request to Pluggy API...");
+                rateLimiter.acquire("connect_token");
                 ResponseEntity<String> responseEntity = restTemplate.exchange(
                         url,
                         HttpMethod.POST,
@@ -170,6 +201,7 @@ public class PluggyWebClient {
 
             ResponseEntity<PluggyAccountsResponse> responseEntity;
             try {
+                rateLimiter.acquire("accounts");
                 responseEntity = restTemplate.exchange(
                         url,
                         HttpMethod.GET,
@@ -198,67 +230,150 @@ public class PluggyWebClient {
         }
     }
 
+    /**
+     * @param accessToken O token de acesso descriptografado.
+     * @param originalAccountId O ID original da conta na Pluggy.
+     * @param startDate Data inicial do período.
+     * @param endDate Data final do período.
+     *
+     * <p>Busca todas as transações da conta no período, percorrendo todas as páginas.</p>
+     * <p>
+     *     A primeira página informa o total de páginas. No modo paralelo, as demais são
+     *     buscadas simultaneamente (no máximo <code>hunter.pluggy.pagination.max-parallel-pages</code>
+     *     ao mesmo tempo) e remontadas na ordem original.
+     * </p>
+     * <p>Cada página é lida em <i>streaming</i> direto da resposta HTTP, sem materializar o corpo inteiro.</p>
+     *
+     * @return As transações do período, na ordem das páginas.
+     */
     public List<PluggyTransaction> getAllTransactionsPeriodByOriginalAccountId(
             final String accessToken,
             final String originalAccountId,
             final LocalDate startDate,
             final LocalDate endDate) {
 
-        List<PluggyTransaction> allTransactions = new ArrayList<>();
-        int currentPage = 1;
-        boolean hasMore = true;
-
         try {
-            while (hasMore) {
-                System.out.println("accountId: " + originalAccountId);
-                String url = buildTransactionsUrl(originalAccountId, startDate, endDate, currentPage);
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.set("X-API-KEY", accessToken);
-                HttpEntity<String> entity = new HttpEntity<>(headers);
+            TransactionsPage firstPage = fetchTransactionsPage(accessToken, originalAccountId, startDate, endDate, 1);
+            List<PluggyTransaction> allTransactions = new ArrayList<>(firstPage.getResults());
+
+            if (firstPage.getTotalPages() > 1) {
+                List<TransactionsPage> remainingPages = PARALLEL_PAGINATION
+                        ? fetchRemainingPagesConcurrently(accessToken, originalAccountId, startDate, endDate, firstPage.getTotalPages())
+                        : fetchRemainingPagesSequentially(accessToken, originalAccountId, startDate, endDate, firstPage.getTotalPages());
+                remainingPages.forEach(page -> allTransactions.addAll(page.getResults()));
+            }
 
-                ResponseEntity<String> response = restTemplate.exchange(
-                        url, HttpMethod.GET, entity, String.class);
+            log.debug("Transações da Pluggy obtidas: {}", allTransactions.size());
 
-                if (!response.getStatusCode().is2xxSuccessful()) {
-                    throw new RuntimeException("Failed to fetch transactions: " +
-                            response.getStatusCode() + " - " + response.getBody());
-                }
+            return allTransactions;
 
-                Map<String, Object> responseMap = objectMapper.readValue(
-                        response.getBody(), new TypeReference<Map<String, Object>>() {});
+        } catch (RestClientException | IntegrationUnavailableException e) {
+            // mantém o tipo original para o disjuntor e para o fallback de dados desatualizados
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error fetching transactions: " + e.getMessage(), e);
+        }
+    }
 
-                List<Map<String, Object>> results = (List<Map<String, Object>>) responseMap.get("results");
-                List<PluggyTransaction> pageTransactions = new ArrayList<>();
 
-                for (Map<String, Object> result : results) {
-                    PluggyTransaction transaction = objectMapper.convertValue(result, PluggyTransaction.class);
-                    pageTransactions.add(transaction);
-                }
+    /* Métodos/Classes privados. */
 
-                allTransactions.addAll(pageTransactions);
+    private List<TransactionsPage> fetchRemainingPagesSequentially(String accessToken, String accountId, LocalDate startDate,
+                                                                   LocalDate endDate, int totalPages) {
+        List<TransactionsPage> pages = new ArrayList<>();
+        for (int page = 2; page <= totalPages; page++) {
+            pages.add(fetchTransactionsPage(accessToken, accountId, startDate, endDate, page));
+        }
+        return pages;
+    }
 
-                // Verifica se há mais páginas
-                int total = (int) responseMap.get("total");
-                hasMore = (currentPage * PAGE_SIZE) < total;
-                currentPage++;
+    private List<TransactionsPage> fetchRemainingPagesConcurrently(String accessToken, String accountId, LocalDate startDate,
+                                                                   LocalDate endDate, int totalPages) throws Exception {
+        Semaphore inFlight = new Semaphore(MAX_PARALLEL_PAGES);
+        List<Future<TransactionsPage>> futures = new ArrayList<>();
+        for (int page = 2; page <= totalPages; page++) {
+            final int pageNumber = page;
+            futures.add(pageExecutor.submit(() -> {
+                inFlight.acquire();
+                try {
+                    return fetchTransactionsPage(accessToken, accountId, startDate, endDate, pageNumber);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
 
-                // Pequena pausa para evitar rate limiting
-                Thread.sleep(200);
+        List<TransactionsPage> pages = new ArrayList<>(futures.size());
+        try {
+            for (Future<TransactionsPage> future : futures) {
+                pages.add(future.get());
             }
-
-            System.out.println("Pluggy Transactions fetched: " + allTransactions.size());
-            System.out.println("Pluggy Transactions: " + allTransactions);
-
-            return allTransactions;
-
-        } catch (Exception e) {
-            throw new RuntimeException("Error fetching transactions: " + e.getMessage(), e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw e;
         }
+        return pages;
     }
 
+    private TransactionsPage fetchTransactionsPage(String accessToken, String accountId, LocalDate startDate,
+                                                   LocalDate endDate, int page) {
+        String url = buildTransactionsUrl(accountId, startDate, endDate, page);
+
+        rateLimiter.acquire("transactions");
+        return restTemplate.execute(
+                url,
+                HttpMethod.GET,
+                request -> request.getHeaders().set("X-API-KEY", accessToken),
+                response -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        throw new RuntimeException("Failed to fetch transactions: " + response.getStatusCode());
+                    }
+                    return readTransactionsPage(response.getBody());
+                });
+    }
 
-    /* Métodos/Classes privados. */
+    /**
+     * Lê a página token a token: cada item de <code>results</code> é convertido direto em
+     * {@link PluggyTransaction} e os demais campos da resposta são descartados sem alocação.
+     */
+    private TransactionsPage readTransactionsPage(InputStream body) throws IOException {
+        List<PluggyTransaction> results = new ArrayList<>();
+        int total = 0;
+        int totalPages = -1;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected Pluggy transactions response");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "results" -> {
+                        if (value == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                results.add(transactionReader.readValue(parser));
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    case "total" -> total = value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : total;
+                    case "totalPages" -> totalPages = value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : totalPages;
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        return new TransactionsPage(
+                results,
+                totalPages >= 0 ? totalPages : (total + PAGE_SIZE - 1) / PAGE_SIZE
+        );
+    }
 
     private String buildTransactionsUrl(String accountId, LocalDate startDate, LocalDate endDate, int page) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -272,6 +387,13 @@ public class PluggyWebClient {
                 .toUriString();
     }
 
+    @Data
+    @AllArgsConstructor
+    private static class TransactionsPage {
+        private List<PluggyTransaction> results;
+        private int totalPages;
+    }
+
     @Data
     @NoArgsConstructor
     private static class PluggyAuthResponse {
@@ -379,8 +501,7 @@ public class PluggyWebClient {
 
             try {
                 // Mantém o sinal original (-/+)
-                return BigDecimal.valueOf(value)
-                        .setScale(2, RoundingMode.HALF_UP);
+                return MoneyUtil.fromDouble(value);
             } catch (Exception e) {
                 log.error("Valor monetário inválido: {}", value, e);
                 return BigDecimal.ZERO;
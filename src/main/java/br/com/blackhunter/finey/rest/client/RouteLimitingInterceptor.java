@@ -0,0 +1,181 @@
+/*
+ * @(#)RouteLimitingInterceptor.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Classe <code>RouteLimitingInterceptor</code>.</p>
+ * <p>Limita as requisições simultâneas por rota (esquema, host e porta) do {@link org.springframework.web.client.RestTemplate}
+ * e mantém métricas de uso de cada rota.</p>
+ * <p>
+ *     O <code>HttpClient</code> do JDK reaproveita as conexões, mas não tem teto de conexões por host.
+ *     Este interceptor faz esse papel: a vaga da rota é ocupada do envio até o fechamento da resposta,
+ *     o que corresponde ao tempo em que a conexão fica em uso.
+ * </p>
+ */
+@Slf4j
+public class RouteLimitingInterceptor implements ClientHttpRequestInterceptor {
+    private final int maxPerRoute;
+    private final Duration acquireTimeout;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxPerRoute Máximo de requisições simultâneas por rota.
+     * @param acquireTimeout Tempo máximo de espera por uma vaga na rota.
+     */
+    public RouteLimitingInterceptor(int maxPerRoute, Duration acquireTimeout) {
+        this.maxPerRoute = maxPerRoute;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String routeKey = routeKey(request.getURI());
+        Route route = routes.computeIfAbsent(routeKey, key -> new Route());
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!route.permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                route.rejected.incrementAndGet();
+                throw new IOException("Timed out waiting for a connection to " + routeKey);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection to " + routeKey, e);
+        }
+        route.totalWaitNanos.addAndGet(System.nanoTime() - waitStart);
+        route.requests.incrementAndGet();
+
+        try {
+            return new RouteReleasingResponse(execution.execute(request, body), route);
+        } catch (IOException | RuntimeException e) {
+            route.failures.incrementAndGet();
+            route.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * <p>Obtém as métricas de cada rota desde a inicialização.</p>
+     *
+     * @return As métricas indexadas pela rota (ex: <code>https://api.pluggy.ai:443</code>).
+     */
+    public Map<String, RouteMetrics> getMetrics() {
+        Map<String, RouteMetrics> metrics = new TreeMap<>();
+        routes.forEach((key, route) -> metrics.put(key, new RouteMetrics(
+                maxPerRoute - route.permits.availablePermits(),
+                route.requests.get(),
+                route.failures.get(),
+                route.rejected.get(),
+                TimeUnit.NANOSECONDS.toMillis(route.totalWaitNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(route.totalBusyNanos.get())
+        )));
+        return metrics;
+    }
+
+    /**
+     * <p>Métricas de uma rota.</p>
+     */
+    @Data
+    @AllArgsConstructor
+    public static class RouteMetrics {
+        private int inUse;
+        private long requests;
+        private long failures;
+        private long rejected;
+        private long totalWaitMillis;
+        private long totalBusyMillis;
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static String routeKey(URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    private class Route {
+        private final Semaphore permits = new Semaphore(maxPerRoute, true);
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong totalBusyNanos = new AtomicLong();
+    }
+
+    /* Devolve a vaga da rota uma única vez, quando a resposta é fechada. */
+    private static class RouteReleasingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Route route;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        RouteReleasingResponse(ClientHttpResponse delegate, Route route) {
+            this.delegate = delegate;
+            this.route = route;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    route.totalBusyNanos.addAndGet(System.nanoTime() - startNanos);
+                    route.permits.release();
+                }
+            }
+        }
+    }
+}
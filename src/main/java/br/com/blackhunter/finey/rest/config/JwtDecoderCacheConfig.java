@@ -0,0 +1,47 @@
+/*
+ * @(#)JwtDecoderCacheConfig.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.config;
+
+import br.com.blackhunter.finey.rest.auth.util.CachingJwtDecoder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * <p>Classe <code>JwtDecoderCacheConfig</code>.</p>
+ * <p>Envolve o {@link JwtDecoder} declarado no {@link SecurityConfig} com o {@link CachingJwtDecoder},
+ * de modo que o resource server e o {@link br.com.blackhunter.finey.rest.auth.util.JwtUtil} passem a
+ * usar o cache sem alterar a configuração de segurança.</p>
+ */
+@Configuration
+public class JwtDecoderCacheConfig {
+
+    /* Estático para ser registrado antes dos beans que ele processa. */
+    @Bean
+    static BeanPostProcessor cachingJwtDecoderPostProcessor(
+            Environment environment,
+            ObjectProvider<CachingJwtDecoder.RevocationCheck> revocationCheck
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof JwtDecoder decoder) || bean instanceof CachingJwtDecoder
+                        || !environment.getProperty("hunter.cache.jwt.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                int maxEntries = environment.getProperty("hunter.cache.jwt.max-entries", Integer.class, 10000);
+                return new CachingJwtDecoder(decoder, maxEntries, revocationCheck::getIfAvailable);
+            }
+        };
+    }
+}
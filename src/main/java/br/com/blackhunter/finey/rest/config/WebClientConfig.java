@@ -1,14 +1,64 @@
 package br.com.blackhunter.finey.rest.config;
 
+import br.com.blackhunter.finey.rest.client.RouteLimitingInterceptor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class WebClientConfig {
-    
+    @Value("${hunter.http.client.connect-timeout-ms:5000}")
+    private long CONNECT_TIMEOUT_MS;
+    @Value("${hunter.http.client.read-timeout-ms:30000}")
+    private long READ_TIMEOUT_MS;
+    @Value("${hunter.http.client.max-connections-per-route:16}")
+    private int MAX_CONNECTIONS_PER_ROUTE;
+    @Value("${hunter.http.client.connection-request-timeout-ms:10000}")
+    private long CONNECTION_REQUEST_TIMEOUT_MS;
+
+    /*
+     * Não é um bean: um Executor no contexto desligaria o executor padrão do Spring Boot.
+     * O tempo de conexões ociosas no pool é a opção da JVM -Djdk.httpclient.keepalive.timeout (ver Dockerfile).
+     */
+    private final ExecutorService httpClientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Bean(destroyMethod = "close")
+    public HttpClient httpClient() {
+        // HTTP/2 é negociado via ALPN quando o servidor suporta; caso contrário usa HTTP/1.1 com keep-alive.
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(CONNECT_TIMEOUT_MS))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(httpClientExecutor)
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RouteLimitingInterceptor routeLimitingInterceptor() {
+        return new RouteLimitingInterceptor(MAX_CONNECTIONS_PER_ROUTE, Duration.ofMillis(CONNECTION_REQUEST_TIMEOUT_MS));
+    }
+
+    @Bean
+    public RestTemplate restTemplate(HttpClient httpClient, RouteLimitingInterceptor routeLimitingInterceptor) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(READ_TIMEOUT_MS));
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(routeLimitingInterceptor);
+        return restTemplate;
+    }
+
+    /* O HttpClient é fechado antes (depende desta configuração) e não fecha um executor recebido de fora. */
+    @PreDestroy
+    public void shutdown() {
+        httpClientExecutor.shutdownNow();
     }
-} 
\ No newline at end of file
+}
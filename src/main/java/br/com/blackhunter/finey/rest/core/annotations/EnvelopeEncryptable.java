@@ -0,0 +1,24 @@
+/*
+ * @(#)EnvelopeEncryptable.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>Anotação <code>EnvelopeEncryptable</code>.</p>
+ * <p>Permite que o endpoint responda no modo envelope quando o cliente enviar o header
+ * {@link br.com.blackhunter.finey.rest.core.crypto.ResponseEncryption#HEADER}: os cálculos
+ * produzem os campos em texto puro e a resposta inteira é criptografada uma única vez.</p>
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EnvelopeEncryptable {
+}
@@ -0,0 +1,185 @@
+/*
+ * @(#)BoundedCache.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Classe <code>BoundedCache</code>.</p>
+ * <p>Mapa em memória LRU, limitado a <code>maxEntries</code> entradas, com validade opcional por entrada.</p>
+ * <p>
+ *     Entradas vencidas não são retornadas e são descartadas na próxima leitura. O acesso é protegido por
+ *     um {@link ReentrantLock} em vez de <code>synchronized</code>, para não fixar virtual threads; nenhuma
+ *     carga remota deve ser feita com o lock: os chamadores buscam fora dele e gravam o resultado depois.
+ * </p>
+ *
+ * @param <K> Tipo da chave.
+ * @param <V> Tipo do valor.
+ */
+public class BoundedCache<K, V> {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<K, Entry<V>> entries;
+    private final Clock clock;
+
+    public BoundedCache(int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    public BoundedCache(int maxEntries, Clock clock) {
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param key Chave.
+     * @return O valor, ou null se não houver ou se estiver vencido.
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (isExpired(entry)) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grava um valor sem validade; ele só sai do cache pelo limite de entradas ou por remoção.
+     *
+     * @param key Chave.
+     * @param value Valor.
+     */
+    public void put(K key, V value) {
+        put(key, value, (Instant) null);
+    }
+
+    /**
+     * @param key Chave.
+     * @param value Valor.
+     * @param ttl Validade, a partir de agora.
+     */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, clock.instant().plus(ttl));
+    }
+
+    /**
+     * @param key Chave.
+     * @param value Valor.
+     * @param expiresAt Momento a partir do qual o valor deixa de valer (null para nunca).
+     */
+    public void put(K key, V value, Instant expiresAt) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, expiresAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grava o valor se não houver valor válido para a chave ou se <code>replaces</code> aceitar o valor atual.
+     *
+     * @param key Chave.
+     * @param value Valor.
+     * @param ttl Validade, a partir de agora.
+     * @param replaces Decide, a partir do valor atual, se ele deve ser substituído.
+     */
+    public void put(K key, V value, Duration ttl, Predicate<? super V> replaces) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        lock.lock();
+        try {
+            Entry<V> current = entries.get(key);
+            if (current == null || isExpired(current) || replaces.test(current.value)) {
+                entries.put(key, new Entry<>(value, expiresAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param key Chave.
+     * @param factory Cria o valor, sem validade, quando não houver um válido; é executado com o lock.
+     * @return O valor atual ou o criado.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null || isExpired(entry)) {
+                entry = new Entry<>(factory.apply(key), null);
+                entries.put(key, entry);
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param key Chave a ser descartada.
+     */
+    public void remove(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param condition Descarta as entradas cujo valor atender à condição.
+     */
+    public void removeIf(Predicate<? super V> condition) {
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> condition.test(entry.value));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Métodos/Classes privados. */
+
+    private boolean isExpired(Entry<V> entry) {
+        return entry.expiresAt != null && !entry.expiresAt.isAfter(clock.instant());
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final Instant expiresAt;
+
+        Entry(V value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
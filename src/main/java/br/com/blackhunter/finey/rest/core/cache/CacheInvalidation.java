@@ -0,0 +1,42 @@
+/*
+ * @(#)CacheInvalidation.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * <p>Classe <code>CacheInvalidation</code>.</p>
+ * <p>Invalidação de caches a partir de operações que podem estar dentro de uma transação.</p>
+ * <p>
+ *     A remoção é feita na hora e, dentro de uma transação, repetida após o commit: até lá, outra
+ *     requisição ainda lê os dados anteriores e pode repovoar o cache com eles.
+ * </p>
+ */
+public final class CacheInvalidation {
+
+    private CacheInvalidation() {
+    }
+
+    /**
+     * @param eviction Remoção das entradas afetadas; deve poder ser executada mais de uma vez.
+     */
+    public static void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * @(#)package-info.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+/**
+ * <p>
+ * Este pacote contém o suporte comum aos caches em memória da API.
+ * </p>
+ * <p>
+ * O {@link BoundedCache} é o mapa LRU limitado, com validade opcional por entrada, usado pelos caches
+ * de tokens, contas, bancos conectados, colunas de transações e livros de investimento. O
+ * {@link CacheInvalidation} concentra a regra de invalidação dentro de transações.
+ * </p>
+ *
+ * @see br.com.blackhunter.finey.rest.core.cache.BoundedCache
+ * @see br.com.blackhunter.finey.rest.core.cache.CacheInvalidation
+ * @since 2025
+ */
+package br.com.blackhunter.finey.rest.core.cache;
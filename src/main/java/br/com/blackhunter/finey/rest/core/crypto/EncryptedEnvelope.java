@@ -0,0 +1,26 @@
+/*
+ * @(#)EncryptedEnvelope.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.crypto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>Classe <code>EncryptedEnvelope</code>.</p>
+ * <p>Corpo das respostas no modo envelope: o <code>ApiResponse</code> serializado em JSON e
+ * criptografado uma única vez, no formato versionado do {@link EnvelopeCipher}.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EncryptedEnvelope {
+    private String envelope;
+}
@@ -0,0 +1,92 @@
+/*
+ * @(#)EnvelopeCipher.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.crypto;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * <p>Classe <code>EnvelopeCipher</code>.</p>
+ * <p>Criptografia dos envelopes de resposta (ver {@link EnvelopeEncryptionResponseAdvice}) com AES-GCM.</p>
+ * <p>
+ *     Cada envelope usa um IV aleatório de 12 bytes e é autenticado (tag de 128 bits), então respostas
+ *     iguais geram envelopes diferentes e qualquer alteração no envelope é detectada. O formato é
+ *     <code>v1.</code> seguido do Base64 de <code>IV || texto cifrado || tag</code>; o prefixo de versão
+ *     permite trocar o algoritmo ou a chave sem quebrar os clientes.
+ * </p>
+ * <p>A chave é dedicada aos envelopes (<code>hunter.secrets.envelope.key</code>, 16, 24 ou 32 bytes em Base64)
+ * e não é compartilhada com a criptografia dos campos e identificadores.</p>
+ */
+@Component
+public class EnvelopeCipher {
+    public static final String VERSION = "v1";
+
+    private static final String PREFIX = VERSION + ".";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    public EnvelopeCipher(@Value("${hunter.secrets.envelope.key}") String base64Key) {
+        byte[] keyBytes = Base64.getDecoder().decode(base64Key);
+        if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+            throw new IllegalArgumentException("A chave dos envelopes deve ter 16, 24 ou 32 bytes");
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    /**
+     * @param plainText O conteúdo do envelope.
+     * @return O envelope versionado, em Base64.
+     * @throws GeneralSecurityException se a criptografia falhar.
+     */
+    public String encrypt(String plainText) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+
+        ByteBuffer payload = ByteBuffer.allocate(IV_LENGTH + cipherText.length);
+        payload.put(iv).put(cipherText);
+        return PREFIX + Base64.getEncoder().encodeToString(payload.array());
+    }
+
+    /**
+     * @param envelope O envelope versionado.
+     * @return O conteúdo do envelope.
+     * @throws GeneralSecurityException se a versão não for suportada ou o envelope tiver sido alterado.
+     */
+    public String decrypt(String envelope) throws GeneralSecurityException {
+        if (envelope == null || !envelope.startsWith(PREFIX)) {
+            throw new GeneralSecurityException("Versão de envelope não suportada");
+        }
+        byte[] payload = Base64.getDecoder().decode(envelope.substring(PREFIX.length()));
+        if (payload.length < IV_LENGTH + TAG_LENGTH_BITS / 8) {
+            throw new GeneralSecurityException("Envelope incompleto");
+        }
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, payload, 0, IV_LENGTH));
+        byte[] plainText = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
+        return new String(plainText, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * @(#)EnvelopeEncryptionResponseAdvice.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.crypto;
+
+import br.com.blackhunter.finey.rest.core.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * <p>Classe <code>EnvelopeEncryptionResponseAdvice</code>.</p>
+ * <p>No modo envelope (ver {@link ResponseEncryption}), serializa o <code>ApiResponse</code> em JSON,
+ * criptografa o conteúdo inteiro uma única vez com o {@link EnvelopeCipher} (AES-GCM) e responde com um
+ * {@link EncryptedEnvelope}, sinalizando o modo no header {@link ResponseEncryption#HEADER}.</p>
+ * <p>Se a criptografia do envelope falhar a requisição falha: como os campos foram calculados
+ * em texto puro, a resposta nunca é enviada sem criptografia.</p>
+ * <p>O {@link EnvelopeCipher} é resolvido apenas ao criptografar, para que contextos parciais
+ * (ex: <code>@WebMvcTest</code>) subam sem ele.</p>
+ */
+@RestControllerAdvice
+public class EnvelopeEncryptionResponseAdvice implements ResponseBodyAdvice<Object> {
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<EnvelopeCipher> envelopeCipher;
+
+    public EnvelopeEncryptionResponseAdvice(ObjectMapper objectMapper, ObjectProvider<EnvelopeCipher> envelopeCipher) {
+        this.objectMapper = objectMapper;
+        this.envelopeCipher = envelopeCipher;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType)
+                && returnType.getMethod() != null
+                && ResponseEncryption.isEnvelopeEncryptable(returnType.getContainingClass(), returnType.getMethod());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof ApiResponse<?>)
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !ResponseEncryption.isEnvelope(servletRequest.getServletRequest())) {
+            return body;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(body);
+            response.getHeaders().set(ResponseEncryption.HEADER, ResponseEncryption.ENVELOPE);
+            return new EncryptedEnvelope(envelopeCipher.getObject().encrypt(json));
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao criptografar o envelope da resposta", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * @(#)ResponseEncryption.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.crypto;
+
+import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.core.annotations.EnvelopeEncryptable;
+import br.com.blackhunter.finey.rest.core.dto.HttpContextData;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>Classe <code>ResponseEncryption</code>.</p>
+ * <p>Define como os campos de uma resposta são criptografados na requisição atual.</p>
+ * <p>
+ *     No modo padrão, cada campo é criptografado com o {@link CryptUtil}. No modo envelope
+ *     (header {@link #HEADER} com o valor {@link #ENVELOPE} em um endpoint anotado com
+ *     {@link EnvelopeEncryptable}), os campos ficam em texto puro e o
+ *     {@link EnvelopeEncryptionResponseAdvice} criptografa a resposta inteira de uma vez.
+ * </p>
+ * <p>Os serviços de cálculo devem usar {@link #encryptField} e {@link #decryptField} nos campos
+ * das respostas; identificadores e tokens continuam usando o {@link CryptUtil} diretamente.</p>
+ */
+public class ResponseEncryption {
+    public static final String HEADER = "X-Response-Encryption";
+    public static final String ENVELOPE = "envelope";
+    private static final String REQUEST_ATTRIBUTE = ResponseEncryption.class.getName() + ".envelope";
+
+    private ResponseEncryption() { }
+
+    /**
+     * @return true se a requisição atual responde no modo envelope.
+     */
+    public static boolean isEnvelope() {
+        HttpServletRequest request = HttpContextData.getCurrentRequest();
+        return request != null && isEnvelope(request);
+    }
+
+    /**
+     * <p>A decisão é tomada uma vez e guardada na própria requisição.</p>
+     *
+     * @param request A requisição HTTP.
+     * @return true se a requisição responde no modo envelope.
+     */
+    public static boolean isEnvelope(HttpServletRequest request) {
+        Object decided = request.getAttribute(REQUEST_ATTRIBUTE);
+        if (decided instanceof Boolean envelope) {
+            return envelope;
+        }
+        if (!ENVELOPE.equalsIgnoreCase(request.getHeader(HEADER))) {
+            return false;
+        }
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return false;
+        }
+        boolean envelope = isEnvelopeEncryptable(handlerMethod.getBeanType(), handlerMethod.getMethod());
+        request.setAttribute(REQUEST_ATTRIBUTE, envelope);
+        return envelope;
+    }
+
+    /**
+     * @param controllerType A classe do controller.
+     * @param method O método do endpoint.
+     * @return true se o endpoint aceita o modo envelope.
+     */
+    public static boolean isEnvelopeEncryptable(Class<?> controllerType, Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, EnvelopeEncryptable.class)
+                || AnnotatedElementUtils.hasAnnotation(controllerType, EnvelopeEncryptable.class);
+    }
+
+    /**
+     * Criptografa um campo da resposta, exceto no modo envelope.
+     *
+     * @param value Valor do campo
+     * @param secretKey Chave secreta para criptografia
+     * @return O valor criptografado, ou o próprio valor no modo envelope
+     * @throws Exception se ocorrer algum erro durante a criptografia
+     */
+    public static String encryptField(String value, String secretKey) throws Exception {
+        return isEnvelope() ? value : CryptUtil.encrypt(value, secretKey);
+    }
+
+    /**
+     * Criptografa vários campos da resposta de uma vez, exceto no modo envelope.
+     *
+     * @param secretKey Chave secreta para criptografia
+     * @param values Valores dos campos
+     * @return Os valores criptografados, ou os próprios valores no modo envelope, na mesma ordem
+     * @throws Exception se ocorrer algum erro durante a criptografia
+     */
+    public static String[] encryptFields(String secretKey, String... values) throws Exception {
+        return isEnvelope() ? values : CryptUtil.encryptAll(values, secretKey);
+    }
+
+    /**
+     * Lê um campo produzido por {@link #encryptField}.
+     *
+     * @param value Valor do campo
+     * @param secretKey Chave secreta para descriptografia
+     * @return O valor em texto puro
+     * @throws Exception se ocorrer algum erro durante a descriptografia
+     */
+    public static String decryptField(String value, String secretKey) throws Exception {
+        return isEnvelope() ? value : CryptUtil.decrypt(value, secretKey);
+    }
+}
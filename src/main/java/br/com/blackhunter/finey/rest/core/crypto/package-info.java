@@ -0,0 +1,25 @@
+/*
+ * @(#)package-info.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+/**
+ * <p>
+ * Este pacote contém a criptografia das respostas da API.
+ * </p>
+ * <p>
+ * Por padrão cada campo sensível é criptografado individualmente. Nos endpoints anotados com
+ * {@link br.com.blackhunter.finey.rest.core.annotations.EnvelopeEncryptable}, o cliente pode pedir
+ * pelo header {@link ResponseEncryption#HEADER} que a resposta inteira seja criptografada uma
+ * única vez, como um envelope.
+ * </p>
+ *
+ * @see br.com.blackhunter.finey.rest.core.crypto.ResponseEncryption
+ * @see br.com.blackhunter.finey.rest.core.crypto.EnvelopeEncryptionResponseAdvice
+ * @since 2025
+ */
+package br.com.blackhunter.finey.rest.core.crypto;
@@ -0,0 +1,122 @@
+/*
+ * @(#)MoneyAccumulator.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.util;
+
+import java.math.BigDecimal;
+
+/**
+ * <p>Classe <code>MoneyAccumulator</code>.</p>
+ * <p>Soma de valores monetários em centavos (<code>long</code>), para os laços de agregação.</p>
+ * <p>
+ *     Parcelas em centavos são somadas sem criar objetos. Se a soma estourar o <code>long</code>, ou se uma parcela
+ *     <code>BigDecimal</code> tiver frações de centavo, o acumulador passa a somar em <code>BigDecimal</code>
+ *     a partir dali, sem perder exatidão. O resultado só vira <code>BigDecimal</code> em {@link #toBigDecimal()}.
+ * </p>
+ * <p>Não é thread-safe: use uma instância por laço.</p>
+ */
+public final class MoneyAccumulator {
+    private long cents;
+    /* Soma exata, preenchida apenas depois de um estouro ou de uma parcela com frações de centavo. */
+    private BigDecimal exact;
+
+    /**
+     * @param amountCents parcela em centavos, com sinal
+     * @return Este acumulador.
+     */
+    public MoneyAccumulator add(long amountCents) {
+        if (exact != null) {
+            exact = exact.add(MoneyUtil.fromCents(amountCents));
+            return this;
+        }
+        long result = cents + amountCents;
+        // Estouro apenas quando as duas parcelas têm o mesmo sinal e o resultado tem o sinal oposto.
+        if (((cents ^ result) & (amountCents ^ result)) < 0) {
+            exact = MoneyUtil.fromCents(cents).add(MoneyUtil.fromCents(amountCents));
+            return this;
+        }
+        cents = result;
+        return this;
+    }
+
+    /**
+     * @param amountCents parcela em centavos
+     * @return Este acumulador, somado do valor absoluto da parcela.
+     */
+    public MoneyAccumulator addAbs(long amountCents) {
+        return amountCents == Long.MIN_VALUE
+                ? add(Long.MAX_VALUE).add(1)
+                : add(Math.abs(amountCents));
+    }
+
+    /**
+     * @param amount parcela, com sinal
+     * @return Este acumulador.
+     */
+    public MoneyAccumulator add(BigDecimal amount) {
+        if (exact == null && fitsInCents(amount)) {
+            return add(amount.scale() == MoneyUtil.SCALE
+                    ? amount.unscaledValue().longValue()
+                    : amount.setScale(MoneyUtil.SCALE).unscaledValue().longValue());
+        }
+        exact = toBigDecimal().add(amount);
+        return this;
+    }
+
+    /**
+     * @param amount parcela
+     * @return Este acumulador, somado do valor absoluto da parcela.
+     */
+    public MoneyAccumulator addAbs(BigDecimal amount) {
+        return amount.signum() < 0 ? add(amount.negate()) : add(amount);
+    }
+
+    /**
+     * @param other acumulador a ser somado a este
+     * @return Este acumulador.
+     */
+    public MoneyAccumulator add(MoneyAccumulator other) {
+        return other.exact != null ? add(other.exact) : add(other.cents);
+    }
+
+    /**
+     * @return true se a soma cabe em centavos (sem estouro e sem frações de centavo).
+     */
+    public boolean isExactCents() {
+        return exact == null;
+    }
+
+    /**
+     * @return A soma em centavos.
+     * @throws ArithmeticException se a soma não cabe em centavos (ver {@link #isExactCents()}).
+     */
+    public long getCents() {
+        if (exact != null) {
+            throw new ArithmeticException("Soma monetária fora do intervalo de centavos: " + exact);
+        }
+        return cents;
+    }
+
+    /**
+     * @return A soma, com escala 2 (ou a escala das parcelas com frações de centavo).
+     */
+    public BigDecimal toBigDecimal() {
+        return exact != null ? exact : MoneyUtil.fromCents(cents);
+    }
+
+    /* Métodos/Classes privados. */
+
+    /* Até 2 casas (ignorando zeros à direita) e até 18 dígitos em centavos. */
+    private static boolean fitsInCents(BigDecimal amount) {
+        if (amount.scale() > MoneyUtil.SCALE && amount.stripTrailingZeros().scale() > MoneyUtil.SCALE) {
+            return false;
+        }
+        return amount.precision() - amount.scale() + MoneyUtil.SCALE <= 18;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * @(#)MoneyUtil.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * <p>Classe <code>MoneyUtil</code>.</p>
+ * <p>Conversões de valores monetários para centavos (<code>long</code>) e de volta para <code>BigDecimal</code>.</p>
+ * <p>
+ *     Os cálculos somam centavos (ver {@link MoneyAccumulator}) e só criam o <code>BigDecimal</code> na
+ *     montagem da resposta, com {@link #fromCents(long)}.
+ * </p>
+ */
+public final class MoneyUtil {
+    /**
+     * Casas decimais dos valores monetários.
+     */
+    public static final int SCALE = 2;
+
+    /* Abaixo deste módulo, em centavos, o double ainda distingue frações bem menores que meio centavo. */
+    private static final double MAX_EXACT_CENTS = 1e15;
+    private static final double CENTS_TOLERANCE = 1e-6;
+
+    private MoneyUtil() { }
+
+    /**
+     * @param cents valor em centavos
+     * @return O valor com escala 2.
+     */
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Converte um valor recebido como <code>double</code> para escala 2, arredondando para cima a partir
+     * de meio centavo, como <code>BigDecimal.valueOf(value).setScale(2, HALF_UP)</code>.
+     * <p>Valores que já são um número inteiro de centavos (o caso comum) não passam pela representação
+     * decimal em texto do <code>double</code>.</p>
+     *
+     * @param value valor monetário
+     * @return O valor com escala 2.
+     */
+    public static BigDecimal fromDouble(double value) {
+        double cents = value * 100;
+        if (Math.abs(cents) < MAX_EXACT_CENTS) {
+            double rounded = Math.rint(cents);
+            if (Math.abs(cents - rounded) < CENTS_TOLERANCE) {
+                return fromCents((long) rounded);
+            }
+        }
+        return BigDecimal.valueOf(value).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -2,6 +2,7 @@ package br.com.blackhunter.finey.rest.finance.analysis.service;
 
 import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
 import br.com.blackhunter.finey.rest.auth.util.JwtUtil;
+import br.com.blackhunter.finey.rest.core.crypto.ResponseEncryption;
 import br.com.blackhunter.finey.rest.core.dto.TransactionPeriodDate;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.budget.BudgetCategory;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.budget.BudgetReality;
@@ -16,14 +17,14 @@ import br.com.blackhunter.finey.rest.finance.analysis.dto.income.IncomeBreakdown
 import br.com.blackhunter.finey.rest.finance.analysis.dto.income.IncomeSource;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.insights.Insights;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.investments.SavingsInvestments;
+import br.com.blackhunter.finey.rest.finance.calc.category.ExpenseCategoryClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.comparison.PeriodComparisonService;
 import br.com.blackhunter.finey.rest.finance.calc.service.FinancialSummaryCalcService;
 import br.com.blackhunter.finey.rest.finance.calc.service.ExpensesCategoriesCalcService;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegrator;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.dto.FinancialInstitutionData;
 import br.com.blackhunter.finey.rest.integrations.pluggy.dto.PluggyAccountIds;
-import br.com.blackhunter.finey.rest.useraccount.entity.UserAccountEntity;
-import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
 
 import br.com.blackhunter.finey.rest.finance.calc.service.BalanceProjectionCalcService;
 import br.com.blackhunter.finey.rest.finance.calc.service.IncomeBreakdownCalcService;
@@ -52,6 +53,7 @@ public class AnalysisService {
     private final ExpensesCategoriesCalcService expensesCategoriesCalcService;
     private final IncomeBreakdownCalcService incomeBreakdownCalcService;
     private final SavingsInvestmentsCalcService savingsInvestmentsCalcService;
+    private final PeriodComparisonService periodComparisonService;
 
     // Adicionar no construtor
     public AnalysisService(
@@ -61,7 +63,8 @@ public class AnalysisService {
             BalanceProjectionCalcService balanceProjectionCalcService,
             ExpensesCategoriesCalcService expensesCategoriesCalcService,
             IncomeBreakdownCalcService incomeBreakdownCalcService,
-            SavingsInvestmentsCalcService savingsInvestmentsCalcService
+            SavingsInvestmentsCalcService savingsInvestmentsCalcService,
+            PeriodComparisonService periodComparisonService
     ) {
         this.jwtUtil = jwtUtil;
         this.financialIntegratorManager = financialIntegratorManager;
@@ -70,6 +73,7 @@ public class AnalysisService {
         this.expensesCategoriesCalcService = expensesCategoriesCalcService;
         this.incomeBreakdownCalcService = incomeBreakdownCalcService;
         this.savingsInvestmentsCalcService = savingsInvestmentsCalcService;
+        this.periodComparisonService = periodComparisonService;
     }
     
     /**
@@ -83,8 +87,7 @@ public class AnalysisService {
     public FinancialSummary getFinancialSummaryAnalysisEncrypted(List<String> bankAccountIds, TransactionPeriodDate periodDate) {
         try {
             // Obter o usuário atual do JWT
-            UserAccountEntity currentUser = jwtUtil.getUserAccountFromToken();
-            UUID userId = currentUser.getAccountId();
+            UUID userId = jwtUtil.getPrincipal().getAccountId();
    
             // Obter integrador financeiro
             FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
@@ -96,7 +99,7 @@ public class AnalysisService {
             List<String> decryptedUserBankAccountIds = new ArrayList<>();
             for (String encryptedId : encryptedBankAccountIds) {
                 try {
-                    String decryptedId = CryptUtil.decrypt(encryptedId, PLUGGY_CRYPT_SECRET);
+                    String decryptedId = financialIntegratorManager.resolveAccount(encryptedId).getEntityId().toString();
                     decryptedUserBankAccountIds.add(decryptedId);
                 } catch (Exception e) {
                     System.err.println("Erro ao descriptografar ID: " + encryptedId);
@@ -165,8 +168,7 @@ public class AnalysisService {
     public CurrentBalanceProjection getCurrentBalanceProjectionEncrypted(List<String> bankAccountIds) {
         try {
             // Obter dados do usuário autenticado
-            UserAccountEntity userAccount = jwtUtil.getUserAccountFromToken();
-            UUID userId = userAccount.getAccountId( );
+            UUID userId = jwtUtil.getPrincipal().getAccountId();
             
             // Obter bancos conectados e contas do usuário
             FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
@@ -178,7 +180,7 @@ public class AnalysisService {
             List<String> decryptedUserBankAccountIds = new ArrayList<>();
             for (String encryptedId : encryptedBankAccountIds) {
                 try {
-                    String decryptedId = CryptUtil.decrypt(encryptedId, PLUGGY_CRYPT_SECRET);
+                    String decryptedId = financialIntegratorManager.resolveAccount(encryptedId).getEntityId().toString();
                     decryptedUserBankAccountIds.add(decryptedId);
                 } catch (Exception e) {
                     System.err.println("Erro ao descriptografar ID: " + encryptedId);
@@ -319,42 +321,42 @@ public class AnalysisService {
             
             // Simular diferentes fontes de receita
             incomeSources.add(new IncomeSource(
-                CryptUtil.encrypt("Salário", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("5000.00", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("62.5", PLUGGY_CRYPT_SECRET),
-                Boolean.parseBoolean(CryptUtil.encrypt("true", PLUGGY_CRYPT_SECRET)),
-                CryptUtil.encrypt("💼", PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField("Salário", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("5000.00", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("62.5", PLUGGY_CRYPT_SECRET),
+                Boolean.parseBoolean(ResponseEncryption.encryptField("true", PLUGGY_CRYPT_SECRET)),
+                ResponseEncryption.encryptField("💼", PLUGGY_CRYPT_SECRET)
             ));
             
             incomeSources.add(new IncomeSource(
-                CryptUtil.encrypt("Freelance", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("2000.00", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("25.0", PLUGGY_CRYPT_SECRET),
-                Boolean.parseBoolean(CryptUtil.encrypt("false", PLUGGY_CRYPT_SECRET)),
-                CryptUtil.encrypt("💻", PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField("Freelance", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("2000.00", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("25.0", PLUGGY_CRYPT_SECRET),
+                Boolean.parseBoolean(ResponseEncryption.encryptField("false", PLUGGY_CRYPT_SECRET)),
+                ResponseEncryption.encryptField("💻", PLUGGY_CRYPT_SECRET)
             ));
             
             incomeSources.add(new IncomeSource(
-                CryptUtil.encrypt("Investimentos", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("800.00", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("10.0", PLUGGY_CRYPT_SECRET),
-                Boolean.parseBoolean(CryptUtil.encrypt("true", PLUGGY_CRYPT_SECRET)),
-                CryptUtil.encrypt("📈", PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField("Investimentos", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("800.00", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("10.0", PLUGGY_CRYPT_SECRET),
+                Boolean.parseBoolean(ResponseEncryption.encryptField("true", PLUGGY_CRYPT_SECRET)),
+                ResponseEncryption.encryptField("📈", PLUGGY_CRYPT_SECRET)
             ));
             
             incomeSources.add(new IncomeSource(
-                CryptUtil.encrypt("Transferências", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("200.00", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("2.5", PLUGGY_CRYPT_SECRET),
-                Boolean.parseBoolean(CryptUtil.encrypt("false", PLUGGY_CRYPT_SECRET)),
-                CryptUtil.encrypt("💸", PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField("Transferências", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("200.00", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("2.5", PLUGGY_CRYPT_SECRET),
+                Boolean.parseBoolean(ResponseEncryption.encryptField("false", PLUGGY_CRYPT_SECRET)),
+                ResponseEncryption.encryptField("💸", PLUGGY_CRYPT_SECRET)
             ));
             
             return new IncomeBreakdown(
                 incomeSources,
-                CryptUtil.encrypt("8000.00", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("5800.00", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("2200.00", PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField("8000.00", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("5800.00", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("2200.00", PLUGGY_CRYPT_SECRET)
             );
             
         } catch (Exception e) {
@@ -462,10 +464,10 @@ public class AnalysisService {
     public BudgetReality getBudgetRealityEncrypted() {
         try {
             // Obter dados do usuário autenticado
-            UserAccountEntity userAccount = jwtUtil.getUserAccountFromToken();
+            UUID userId = jwtUtil.getPrincipal().getAccountId();
             FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
             List<FinancialInstitutionData> connectedBanks = financialIntegrator
-                .getAllConnectedBanks(userAccount.getAccountId());
+                .getAllConnectedBanks(userId);
             
             if (connectedBanks.isEmpty()) {
                 return createSimulatedBudgetReality();
@@ -492,18 +494,6 @@ public class AnalysisService {
             // Calcular orçamentos baseados em médias históricas (últimos 3 meses)
             Map<String, BigDecimal> budgetsByCategory = calculateHistoricalBudgets(bankAccountIds, spentByCategory);
             
-            // Ícones por categoria
-            Map<String, String> iconsByCategory = Map.of(
-                "Alimentação", "🍽️",
-                "Transporte", "🚗",
-                "Moradia", "🏠",
-                "Saúde", "⚕️",
-                "Educação", "📚",
-                "Lazer", "🎬",
-                "Vestuário", "👕",
-                "Outros", "📊"
-            );
-            
             List<BudgetCategory> categories = new ArrayList<>();
             
             // Criar categorias de orçamento com dados criptografados
@@ -519,11 +509,11 @@ public class AnalysisService {
                 
                 // Criar categoria com dados criptografados
                 BudgetCategory category = new BudgetCategory(
-                    CryptUtil.encrypt(categoryName, PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt(iconsByCategory.get(categoryName), PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt(budgetAmount.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt(spentAmount.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt(percentage.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET)
+                    ResponseEncryption.encryptField(categoryName, PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField(ExpenseCategoryClassifier.getIcon(categoryName), PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField(budgetAmount.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField(spentAmount.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField(percentage.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET)
                 );
                 
                 categories.add(category);
@@ -532,8 +522,8 @@ public class AnalysisService {
             // Ordenar categorias por percentual de utilização (maior para menor)
             categories.sort((a, b) -> {
                 try {
-                    BigDecimal percentageA = new BigDecimal(CryptUtil.decrypt(a.getPercentage(), PLUGGY_CRYPT_SECRET));
-                    BigDecimal percentageB = new BigDecimal(CryptUtil.decrypt(b.getPercentage(), PLUGGY_CRYPT_SECRET));
+                    BigDecimal percentageA = new BigDecimal(ResponseEncryption.decryptField(a.getPercentage(), PLUGGY_CRYPT_SECRET));
+                    BigDecimal percentageB = new BigDecimal(ResponseEncryption.decryptField(b.getPercentage(), PLUGGY_CRYPT_SECRET));
                     return percentageB.compareTo(percentageA);
                 } catch (Exception e) {
                     return 0;
@@ -598,11 +588,11 @@ public class AnalysisService {
                     : BigDecimal.ZERO;
                 
                 BudgetCategory category = new BudgetCategory(
-                    CryptUtil.encrypt(categoryName, PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt(iconsByCategory.get(categoryName), PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt(budgetAmount.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt(spentAmount.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt(percentage.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET)
+                    ResponseEncryption.encryptField(categoryName, PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField(iconsByCategory.get(categoryName), PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField(budgetAmount.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField(spentAmount.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField(percentage.setScale(2, RoundingMode.HALF_UP).toString(), PLUGGY_CRYPT_SECRET)
                 );
                 
                 categories.add(category);
@@ -610,8 +600,8 @@ public class AnalysisService {
             
             categories.sort((a, b) -> {
                 try {
-                    BigDecimal percentageA = new BigDecimal(CryptUtil.decrypt(a.getPercentage(), PLUGGY_CRYPT_SECRET));
-                    BigDecimal percentageB = new BigDecimal(CryptUtil.decrypt(b.getPercentage(), PLUGGY_CRYPT_SECRET));
+                    BigDecimal percentageA = new BigDecimal(ResponseEncryption.decryptField(a.getPercentage(), PLUGGY_CRYPT_SECRET));
+                    BigDecimal percentageB = new BigDecimal(ResponseEncryption.decryptField(b.getPercentage(), PLUGGY_CRYPT_SECRET));
                     return percentageB.compareTo(percentageA);
                 } catch (Exception e) {
                     return 0;
@@ -643,101 +633,16 @@ public class AnalysisService {
      * Calcula os gastos reais por categoria baseado nas transações da Pluggy.
      */
     private Map<String, BigDecimal> calculateRealSpentByCategory(List<String> bankAccountIds, TransactionPeriodDate periodDate) {
-        Map<String, BigDecimal> spentByCategory = new java.util.HashMap<>();
-        
         try {
-            FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-            
-            // Processar transações de cada conta
-            for (String accountId : bankAccountIds) {
-                String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-                String originalPluggyAccountId = financialIntegrator
-                    .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-                
-                List<br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity> transactions = 
-                    financialIntegrator.getAllTransactionsPeriodByTargetId(
-                        originalPluggyAccountId,
-                        periodDate.getStartDate(),
-                        periodDate.getEndDate()
-                    );
-                
-                // Processar apenas transações de débito
-                for (br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity transaction : transactions) {
-                    if (transaction.getType() == TransactionType.DEBIT) {
-                        BigDecimal amount = transaction.getAmount().abs();
-                        String categoryName = categorizeTransactionForBudget(transaction);
-                        
-                        spentByCategory.merge(categoryName, amount, BigDecimal::add);
-                    }
-                }
-            }
-            
+            // Despesas por categoria consolidadas na mesma passada das demais métricas do período
+            return periodComparisonService
+                .getAggregate(financialIntegratorManager, bankAccountIds, periodDate)
+                .getExpensesByCategory();
         } catch (Exception e) {
             // Em caso de erro, retornar mapa vazio para usar valores simulados
             System.err.println("Erro ao calcular gastos reais: " + e.getMessage());
+            return Map.of();
         }
-        
-        return spentByCategory;
-    }
-    
-    /**
-     * Categoriza uma transação para fins de orçamento.
-     */
-    private String categorizeTransactionForBudget(br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity transaction) {
-        String description = transaction.getDescription().toLowerCase();
-        
-        if (transaction.getCategory() != null && !transaction.getCategory().trim().isEmpty()) {
-            return transaction.getCategory();
-        }
-        
-        if (containsKeywords(description, "supermercado", "mercado", "padaria", "restaurante", 
-                            "lanchonete", "delivery", "ifood", "uber eats", "food", "alimentacao")) {
-            return "Alimentação";
-        }
-        
-        if (containsKeywords(description, "posto", "combustivel", "gasolina", "etanol", "uber", 
-                            "99", "taxi", "metro", "onibus", "transporte", "estacionamento")) {
-            return "Transporte";
-        }
-        
-        if (containsKeywords(description, "aluguel", "condominio", "energia", "luz", "agua", 
-                            "internet", "telefone", "gas", "iptu", "moradia")) {
-            return "Moradia";
-        }
-        
-        if (containsKeywords(description, "farmacia", "drogaria", "medico", "hospital", 
-                            "clinica", "laboratorio", "plano saude", "unimed", "saude")) {
-            return "Saúde";
-        }
-        
-        if (containsKeywords(description, "escola", "faculdade", "curso", "livro", "material escolar", 
-                            "educacao", "universidade", "colegio")) {
-            return "Educação";
-        }
-        
-        if (containsKeywords(description, "cinema", "netflix", "spotify", "streaming", "jogo", 
-                            "viagem", "hotel", "lazer", "entretenimento")) {
-            return "Lazer";
-        }
-        
-        if (containsKeywords(description, "roupa", "calcado", "sapato", "tenis", "vestuario", 
-                            "moda", "loja", "shopping")) {
-            return "Vestuário";
-        }
-        
-        return "Outros";
-    }
-    
-    /**
-     * Verifica se a descrição contém alguma das palavras-chave.
-     */
-    private boolean containsKeywords(String description, String... keywords) {
-        for (String keyword : keywords) {
-            if (description.contains(keyword.toLowerCase())) {
-                return true;
-            }
-        }
-        return false;
     }
     
     /**
@@ -797,8 +702,6 @@ public class AnalysisService {
         Map<String, BigDecimal> averages = new java.util.HashMap<>();
         
         try {
-            FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-            
             // Definir período dos últimos 3 meses
             java.time.LocalDate now = java.time.LocalDate.now();
             java.time.LocalDate threeMonthsAgo = now.minusMonths(3);
@@ -808,30 +711,9 @@ public class AnalysisService {
                 now
             );
             
-            Map<String, BigDecimal> totalByCategory = new java.util.HashMap<>();
-            
-            // Processar transações de cada conta
-            for (String accountId : bankAccountIds) {
-                String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-                String originalPluggyAccountId = financialIntegrator
-                    .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-                
-                List<br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity> transactions = 
-                    financialIntegrator.getAllTransactionsPeriodByTargetId(
-                        originalPluggyAccountId,
-                        historicalPeriod.getStartDate(),
-                        historicalPeriod.getEndDate()
-                    );
-                
-                for (br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity transaction : transactions) {
-                    if (transaction.getType() == TransactionType.DEBIT) {
-                        BigDecimal amount = transaction.getAmount().abs();
-                        String categoryName = categorizeTransactionForBudget(transaction);
-                        
-                        totalByCategory.merge(categoryName, amount, BigDecimal::add);
-                    }
-                }
-            }
+            Map<String, BigDecimal> totalByCategory = periodComparisonService
+                .getAggregate(financialIntegratorManager, bankAccountIds, historicalPeriod)
+                .getExpensesByCategory();
             
             // Calcular média mensal (dividir por 3 meses)
             for (Map.Entry<String, BigDecimal> entry : totalByCategory.entrySet()) {
@@ -945,7 +827,7 @@ public class AnalysisService {
             return false;
         }
         
-        String decryptedAccountId = CryptUtil.decrypt(encryptedAccountId, PLUGGY_CRYPT_SECRET);
+        String decryptedAccountId = financialIntegratorManager.resolveAccount(encryptedAccountId).getEntityId().toString();
         return decryptedUserBankAccountIds.contains(decryptedAccountId);
     } catch (Exception e) {
         System.err.println("Error decrypting accountId: " + e.getMessage());
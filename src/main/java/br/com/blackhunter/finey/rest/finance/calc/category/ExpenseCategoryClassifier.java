@@ -0,0 +1,59 @@
+/*
+ * @(#)ExpenseCategoryClassifier.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.category;
+
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+
+/**
+ * <p>Classe <code>ExpenseCategoryClassifier</code>.</p>
+ * <p>Identifica a categoria de uma despesa a partir da categoria informada pelo provedor
+ * ou, na falta dela, de palavras-chave da descrição (ver {@link TransactionCategorizer}).</p>
+ */
+public final class ExpenseCategoryClassifier {
+    public static final String FOOD = "Alimentação";
+    public static final String TRANSPORT = "Transporte";
+    public static final String HOUSING = "Moradia";
+    public static final String HEALTH = "Saúde";
+    public static final String EDUCATION = "Educação";
+    public static final String LEISURE = "Lazer";
+    public static final String CLOTHING = "Vestuário";
+    public static final String OTHERS = "Outros";
+
+    private ExpenseCategoryClassifier() { }
+
+    /**
+     * Categoriza uma transação de despesa.
+     *
+     * @param transaction transação a ser categorizada
+     * @return nome da categoria identificada ou "Outros"
+     */
+    public static String categorize(TransactionEntity transaction) {
+        return TransactionCategorizer.categorize(transaction).getExpenseCategory();
+    }
+
+    /**
+     * Retorna o ícone correspondente à categoria.
+     *
+     * @param categoryName nome da categoria
+     * @return ícone emoji da categoria
+     */
+    public static String getIcon(String categoryName) {
+        switch (categoryName) {
+            case FOOD: return "🍽️";
+            case TRANSPORT: return "🚗";
+            case HOUSING: return "🏠";
+            case HEALTH: return "⚕️";
+            case EDUCATION: return "📚";
+            case LEISURE: return "🎬";
+            case CLOTHING: return "👕";
+            default: return "📊";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * @(#)IncomeSourceClassifier.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.category;
+
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+
+import java.math.BigDecimal;
+
+/**
+ * <p>Classe <code>IncomeSourceClassifier</code>.</p>
+ * <p>Identifica a fonte de uma receita a partir da categoria informada pelo provedor
+ * ou, na falta dela, de palavras-chave da descrição (ver {@link TransactionCategorizer}).</p>
+ */
+public final class IncomeSourceClassifier {
+    public static final String SALARY = "Salário";
+    public static final String FREELANCE = "Freelance";
+    public static final String INVESTMENTS = "Investimentos";
+    public static final String RENT = "Aluguel";
+    public static final String SALES = "Vendas";
+    public static final String TRANSFERS = "Transferências";
+    public static final String OTHERS = "Outros";
+
+    private static final BigDecimal RECURRING_THRESHOLD = new BigDecimal("1000.00");
+
+    private IncomeSourceClassifier() { }
+
+    /**
+     * Categoriza uma transação de receita.
+     *
+     * @param transaction transação a ser categorizada
+     * @return fonte da receita ou "Outros"
+     */
+    public static String categorize(TransactionEntity transaction) {
+        return TransactionCategorizer.categorize(transaction).getIncomeSource();
+    }
+
+    /**
+     * Retorna o ícone correspondente à fonte de receita.
+     *
+     * @param source fonte da receita
+     * @return ícone da fonte
+     */
+    public static String getIcon(String source) {
+        switch (source) {
+            case SALARY: return "💼";
+            case FREELANCE: return "💻";
+            case INVESTMENTS: return "📈";
+            case RENT: return "🏠";
+            case SALES: return "🛒";
+            case TRANSFERS: return "💸";
+            default: return "💰";
+        }
+    }
+
+    /**
+     * Determina se uma receita é recorrente baseada na fonte e no valor.
+     *
+     * @param transaction transação a ser analisada
+     * @param source fonte da receita
+     * @return true se for receita recorrente
+     */
+    public static boolean isRecurring(TransactionEntity transaction, String source) {
+        return isRecurring(transaction.getAmount(), source);
+    }
+
+    /**
+     * Determina se uma receita é recorrente baseada na fonte e no valor.
+     *
+     * @param amount valor da receita
+     * @param source fonte da receita
+     * @return true se for receita recorrente
+     */
+    public static boolean isRecurring(BigDecimal amount, String source) {
+        // Fontes tipicamente recorrentes
+        if (source.equals(SALARY) || source.equals(RENT) || source.equals(INVESTMENTS)) {
+            return true;
+        }
+
+        // Fontes tipicamente variáveis
+        if (source.equals(FREELANCE) || source.equals(SALES) || source.equals(TRANSFERS)) {
+            return false;
+        }
+
+        // Para "Outros", analisar valor (valores altos tendem a ser recorrentes)
+        return amount.compareTo(RECURRING_THRESHOLD) >= 0;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * @(#)KeywordAutomaton.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.category;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Classe <code>KeywordAutomaton</code>.</p>
+ * <p>Autômato de Aho-Corasick que procura todas as palavras-chave de uma só vez em uma única
+ * leitura do texto, independente da quantidade de palavras-chave.</p>
+ * <p>
+ *     Cada palavra-chave carrega uma máscara de rótulos (até 64). A busca devolve o OU das máscaras
+ *     de todas as palavras-chave encontradas no texto. Texto e palavras-chave passam pela mesma
+ *     normalização: letras minúsculas e sem acentos ("Farmácia" encontra "farmacia").
+ * </p>
+ * <p>O autômato é imutável depois de compilado e pode ser compartilhado entre threads.</p>
+ */
+public final class KeywordAutomaton {
+    /* Faixa de caracteres normalizados por tabela (Latin-1 e Latin Extended-A/B). */
+    private static final int FOLD_TABLE_SIZE = 0x250;
+    private static final char[] FOLD = buildFoldTable();
+
+    private final int[] alphabet;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final long[] outputs;
+
+    private KeywordAutomaton(int[] alphabet, int alphabetSize, int[] transitions, long[] outputs) {
+        this.alphabet = alphabet;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Compila o autômato.
+     *
+     * @param keywords palavras-chave e a máscara de rótulos de cada uma
+     * @return O autômato compilado.
+     */
+    public static KeywordAutomaton compile(Map<String, Long> keywords) {
+        Map<String, Long> folded = new HashMap<>();
+        keywords.forEach((keyword, labels) -> folded.merge(fold(keyword), labels, (a, b) -> a | b));
+
+        // Alfabeto compacto: apenas os caracteres que aparecem nas palavras-chave; o índice 0 é "qualquer outro".
+        int[] alphabet = new int[FOLD_TABLE_SIZE];
+        int alphabetSize = 1;
+        for (String keyword : folded.keySet()) {
+            for (char c : keyword.toCharArray()) {
+                if (c >= FOLD_TABLE_SIZE) {
+                    throw new IllegalArgumentException("Caractere não suportado na palavra-chave: " + keyword);
+                }
+                if (alphabet[c] == 0) {
+                    alphabet[c] = alphabetSize++;
+                }
+            }
+        }
+
+        // Trie.
+        List<int[]> gotos = new ArrayList<>();
+        List<Long> outputs = new ArrayList<>();
+        gotos.add(new int[alphabetSize]);
+        outputs.add(0L);
+        for (Map.Entry<String, Long> entry : folded.entrySet()) {
+            int state = 0;
+            for (char c : entry.getKey().toCharArray()) {
+                int symbol = alphabet[c];
+                if (gotos.get(state)[symbol] == 0) {
+                    gotos.add(new int[alphabetSize]);
+                    outputs.add(0L);
+                    gotos.get(state)[symbol] = gotos.size() - 1;
+                }
+                state = gotos.get(state)[symbol];
+            }
+            outputs.set(state, outputs.get(state) | entry.getValue());
+        }
+
+        // Ligações de falha em largura, já convertidas em transições completas (DFA).
+        int states = gotos.size();
+        int[] transitions = new int[states * alphabetSize];
+        long[] out = new long[states];
+        int[] failure = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = gotos.get(0)[symbol];
+            transitions[symbol] = next;
+            if (next != 0) {
+                queue.add(next);
+            }
+        }
+        out[0] = outputs.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out[state] = outputs.get(state) | out[failure[state]];
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = gotos.get(state)[symbol];
+                if (next != 0) {
+                    failure[next] = transitions[failure[state] * alphabetSize + symbol];
+                    transitions[state * alphabetSize + symbol] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * alphabetSize + symbol] = transitions[failure[state] * alphabetSize + symbol];
+                }
+            }
+        }
+        return new KeywordAutomaton(alphabet, alphabetSize, transitions, out);
+    }
+
+    /**
+     * Procura as palavras-chave no texto em uma única leitura.
+     *
+     * @param text texto a ser analisado (pode ser nulo)
+     * @return O OU das máscaras de rótulos das palavras-chave encontradas (0 se nenhuma).
+     */
+    public long match(CharSequence text) {
+        if (text == null) {
+            return 0L;
+        }
+        long matches = 0L;
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = fold(text.charAt(i));
+            int symbol = c < FOLD_TABLE_SIZE ? alphabet[c] : 0;
+            state = transitions[state * alphabetSize + symbol];
+            matches |= outputs[state];
+        }
+        return matches;
+    }
+
+    /**
+     * Normaliza o texto da mesma forma que a busca: minúsculas e sem acentos.
+     *
+     * @param text texto a ser normalizado
+     * @return O texto normalizado.
+     */
+    public static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            folded.append(fold(text.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static char fold(char c) {
+        return c < FOLD_TABLE_SIZE ? FOLD[c] : Character.toLowerCase(c);
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[FOLD_TABLE_SIZE];
+        for (char c = 0; c < FOLD_TABLE_SIZE; c++) {
+            String lower = String.valueOf(Character.toLowerCase(c));
+            String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+            char base = decomposed.charAt(0);
+            table[c] = base < FOLD_TABLE_SIZE ? base : lower.charAt(0);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * @(#)TransactionCategorizer.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.category;
+
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentClassifier;
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Classe <code>TransactionCategorizer</code>.</p>
+ * <p>Motor de categorização compartilhado pelos serviços de cálculo.</p>
+ * <p>
+ *     Todos os dicionários de palavras-chave (categorias de despesa, fontes de receita, identificação
+ *     e tipo de investimento) são compilados em um único {@link KeywordAutomaton}; a descrição de cada
+ *     transação é lida uma única vez e o resultado atende todos os classificadores.
+ * </p>
+ * <p>Dentro de cada dicionário vale a ordem de declaração: se a descrição casar com mais de um grupo,
+ * vence o primeiro (por exemplo, "uber eats" é Alimentação e não Transporte).</p>
+ * <p>
+ *     A categorização é gravada na própria transação na ingestão ({@link #assignCategories}); a leitura
+ *     reaproveita as colunas gravadas enquanto a {@link #VERSION} for a mesma. Ao mudar os dicionários,
+ *     incremente a versão: o {@link TransactionReclassificationJob} reclassifica as linhas antigas em segundo plano.
+ * </p>
+ */
+public final class TransactionCategorizer {
+    /**
+     * Versão dos dicionários gravada junto com a categorização.
+     */
+    public static final int VERSION = 1;
+
+    /* Posição de cada dicionário na máscara de rótulos do autômato. */
+    private static final int EXPENSE_OFFSET = 0;
+    private static final int INCOME_OFFSET = 16;
+    private static final int INVESTMENT_TYPE_OFFSET = 32;
+    private static final int INVESTMENT_BIT = 48;
+
+    private static final List<Group> EXPENSE_GROUPS = List.of(
+        new Group(ExpenseCategoryClassifier.FOOD, "supermercado", "mercado", "padaria", "restaurante",
+            "lanchonete", "delivery", "ifood", "uber eats", "food", "alimentacao"),
+        new Group(ExpenseCategoryClassifier.TRANSPORT, "posto", "combustivel", "gasolina", "etanol", "uber",
+            "99", "taxi", "metro", "onibus", "transporte", "estacionamento"),
+        new Group(ExpenseCategoryClassifier.HOUSING, "aluguel", "condominio", "energia", "luz", "agua",
+            "internet", "telefone", "gas", "iptu", "moradia"),
+        new Group(ExpenseCategoryClassifier.HEALTH, "farmacia", "drogaria", "medico", "hospital",
+            "clinica", "laboratorio", "plano saude", "unimed", "saude"),
+        new Group(ExpenseCategoryClassifier.EDUCATION, "escola", "faculdade", "curso", "livro", "material escolar",
+            "educacao", "universidade", "colegio"),
+        new Group(ExpenseCategoryClassifier.LEISURE, "cinema", "netflix", "spotify", "streaming", "jogo",
+            "viagem", "hotel", "lazer", "entretenimento"),
+        new Group(ExpenseCategoryClassifier.CLOTHING, "roupa", "calcado", "sapato", "tenis", "vestuario",
+            "moda", "loja", "shopping")
+    );
+
+    private static final List<Group> INCOME_GROUPS = List.of(
+        new Group(IncomeSourceClassifier.SALARY, "salario", "ordenado", "vencimento"),
+        new Group(IncomeSourceClassifier.FREELANCE, "freelance", "projeto", "consultoria", "servico"),
+        new Group(IncomeSourceClassifier.INVESTMENTS, "dividendo", "juros", "rendimento", "investimento"),
+        new Group(IncomeSourceClassifier.RENT, "aluguel", "locacao", "imovel"),
+        new Group(IncomeSourceClassifier.SALES, "venda", "produto", "mercadoria", "comercio"),
+        new Group(IncomeSourceClassifier.TRANSFERS, "pix", "ted", "doc", "transferencia")
+    );
+
+    private static final List<Group> INVESTMENT_TYPE_GROUPS = List.of(
+        new Group(InvestmentClassifier.FIXED_INCOME, "cdb", "lci", "lca", "tesouro", "selic", "ipca"),
+        new Group(InvestmentClassifier.VARIABLE_INCOME, "acao", "acoes", "fii", "etf", "bovespa", "b3"),
+        new Group(InvestmentClassifier.FUNDS, "fundo", "investimento"),
+        new Group(InvestmentClassifier.PENSION, "pgbl", "vgbl", "previdencia"),
+        new Group(InvestmentClassifier.SAVINGS, "poupanca"),
+        new Group(InvestmentClassifier.CRYPTO, "bitcoin", "btc", "ethereum", "crypto", "binance")
+    );
+
+    private static final List<String> INVESTMENT_KEYWORDS = List.of(
+        "cdb", "lci", "lca", "tesouro", "selic", "ipca",
+        "acao", "acoes", "fii", "etf", "bovespa", "b3",
+        "fundo", "investimento", "aplicacao", "resgate",
+        "poupanca", "pgbl", "vgbl", "previdencia",
+        "bitcoin", "btc", "ethereum", "crypto", "binance",
+        "xp", "rico", "inter", "nubank invest", "bradesco invest"
+    );
+
+    private static final KeywordAutomaton AUTOMATON = compile();
+
+    private TransactionCategorizer() { }
+
+    /**
+     * Obtém a categorização da transação: a gravada na ingestão, se for da versão atual dos
+     * dicionários, ou uma nova leitura da descrição.
+     *
+     * @param transaction transação a ser categorizada
+     * @return O resultado com a categoria de despesa, a fonte de receita e o tipo de investimento.
+     */
+    public static Categorization categorize(TransactionEntity transaction) {
+        Integer version = transaction.getCategorizerVersion();
+        if (version != null && version == VERSION && transaction.getExpenseCategory() != null) {
+            return new Categorization(
+                    transaction.getExpenseCategory(),
+                    transaction.getIncomeSource(),
+                    transaction.getInvestmentType());
+        }
+        return scan(transaction);
+    }
+
+    /**
+     * Grava a categorização na transação, lendo a descrição novamente.
+     * <p>Deve ser chamado sempre que a transação for criada ou tiver a descrição alterada.</p>
+     *
+     * @param transaction transação a ser categorizada
+     */
+    public static void assignCategories(TransactionEntity transaction) {
+        Categorization categorization = scan(transaction);
+        transaction.setExpenseCategory(categorization.getExpenseCategory());
+        transaction.setIncomeSource(categorization.getIncomeSource());
+        transaction.setInvestmentType(categorization.isInvestment() ? categorization.getInvestmentType() : null);
+        transaction.setRecurringIncome(transaction.getType() == TransactionType.CREDIT && transaction.getAmount() != null
+                ? IncomeSourceClassifier.isRecurring(transaction, categorization.getIncomeSource())
+                : null);
+        transaction.setCategorizerVersion(VERSION);
+    }
+
+    /**
+     * Categoriza uma descrição, dando preferência à categoria informada pelo provedor.
+     *
+     * @param providerCategory categoria informada pelo provedor (pode ser nula)
+     * @param description descrição da transação
+     * @return O resultado com a categoria de despesa, a fonte de receita e o tipo de investimento.
+     */
+    public static Categorization categorize(String providerCategory, String description) {
+        return fromMatches(providerCategory, AUTOMATON.match(description));
+    }
+
+    /**
+     * Categoriza uma descrição.
+     *
+     * @param description descrição da transação
+     * @return O resultado com a categoria de despesa, a fonte de receita e o tipo de investimento.
+     */
+    public static Categorization categorize(String description) {
+        return fromMatches(null, AUTOMATON.match(description));
+    }
+
+    /**
+     * <p>Resultado da categorização de uma transação.</p>
+     * <p>A categoria informada pelo provedor, quando existe, prevalece para despesa e receita.</p>
+     */
+    public static final class Categorization {
+        private final String expenseCategory;
+        private final String incomeSource;
+        private final String investmentType;
+
+        private Categorization(String expenseCategory, String incomeSource, String investmentType) {
+            this.expenseCategory = expenseCategory;
+            this.incomeSource = incomeSource;
+            this.investmentType = investmentType;
+        }
+
+        /**
+         * @return A categoria de despesa ou "Outros".
+         */
+        public String getExpenseCategory() {
+            return expenseCategory;
+        }
+
+        /**
+         * @return A fonte de receita ou "Outros".
+         */
+        public String getIncomeSource() {
+            return incomeSource;
+        }
+
+        /**
+         * @return true se a descrição é de uma movimentação de investimento.
+         */
+        public boolean isInvestment() {
+            return investmentType != null;
+        }
+
+        /**
+         * @return O tipo de investimento ou "Outros".
+         */
+        public String getInvestmentType() {
+            return investmentType != null ? investmentType : InvestmentClassifier.OTHERS;
+        }
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static Categorization scan(TransactionEntity transaction) {
+        return fromMatches(transaction.getCategory(), AUTOMATON.match(transaction.getDescription()));
+    }
+
+    private static Categorization fromMatches(String providerCategory, long matches) {
+        boolean hasProviderCategory = providerCategory != null && !providerCategory.trim().isEmpty();
+        return new Categorization(
+                hasProviderCategory ? providerCategory : first(matches, EXPENSE_GROUPS, EXPENSE_OFFSET, ExpenseCategoryClassifier.OTHERS),
+                hasProviderCategory ? providerCategory : first(matches, INCOME_GROUPS, INCOME_OFFSET, IncomeSourceClassifier.OTHERS),
+                (matches & (1L << INVESTMENT_BIT)) != 0
+                        ? first(matches, INVESTMENT_TYPE_GROUPS, INVESTMENT_TYPE_OFFSET, InvestmentClassifier.OTHERS)
+                        : null);
+    }
+
+    private static String first(long matches, List<Group> groups, int offset, String fallback) {
+        long groupMatches = (matches >>> offset) & ((1L << groups.size()) - 1);
+        return groupMatches == 0 ? fallback : groups.get(Long.numberOfTrailingZeros(groupMatches)).name;
+    }
+
+    private static KeywordAutomaton compile() {
+        Map<String, Long> keywords = new HashMap<>();
+        addGroups(keywords, EXPENSE_GROUPS, EXPENSE_OFFSET);
+        addGroups(keywords, INCOME_GROUPS, INCOME_OFFSET);
+        addGroups(keywords, INVESTMENT_TYPE_GROUPS, INVESTMENT_TYPE_OFFSET);
+        for (String keyword : INVESTMENT_KEYWORDS) {
+            keywords.merge(keyword, 1L << INVESTMENT_BIT, (a, b) -> a | b);
+        }
+        return KeywordAutomaton.compile(keywords);
+    }
+
+    private static void addGroups(Map<String, Long> keywords, List<Group> groups, int offset) {
+        for (int i = 0; i < groups.size(); i++) {
+            long label = 1L << (offset + i);
+            for (String keyword : groups.get(i).keywords) {
+                keywords.merge(keyword, label, (a, b) -> a | b);
+            }
+        }
+    }
+
+    private static class Group {
+        private final String name;
+        private final String[] keywords;
+
+        Group(String name, String... keywords) {
+            this.name = name;
+            this.keywords = keywords;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * @(#)TransactionReclassificationJob.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.category;
+
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * <p>Classe <code>TransactionReclassificationJob</code>.</p>
+ * <p>Reclassifica em segundo plano as transações gravadas com uma versão antiga (ou sem versão)
+ * do {@link TransactionCategorizer}.</p>
+ * <p>
+ *     Roda uma vez ao subir a aplicação, em lotes de <code>batch-size</code> transações, cada lote
+ *     na sua própria transação de banco. Até ser reclassificada, a transação continua sendo
+ *     categorizada na leitura, então os widgets não dependem do término do job.
+ * </p>
+ */
+@Component
+@Slf4j
+public class TransactionReclassificationJob {
+    @Value("${hunter.categorization.reclassify.enabled:true}")
+    private boolean RECLASSIFY_ENABLED;
+
+    @Value("${hunter.categorization.reclassify.batch-size:500}")
+    private int RECLASSIFY_BATCH_SIZE;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionReclassificationJob(
+            TransactionRepository transactionRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!RECLASSIFY_ENABLED) {
+            return;
+        }
+        Thread.ofVirtual().name("transaction-reclassification").start(() -> {
+            try {
+                reclassifyOutdated();
+            } catch (Exception e) {
+                log.warn("Falha ao reclassificar as transações: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Reclassifica todas as transações desatualizadas.
+     *
+     * @return A quantidade de transações reclassificadas.
+     */
+    public int reclassifyOutdated() {
+        int total = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> reclassifyBatch());
+            total += updated;
+        } while (updated == RECLASSIFY_BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("{} transações reclassificadas para a versão {} do categorizador", total, TransactionCategorizer.VERSION);
+        }
+        return total;
+    }
+
+    /* Métodos/Classes privados. */
+
+    /* Sempre a primeira página: as linhas reclassificadas deixam de atender à consulta. */
+    private int reclassifyBatch() {
+        List<TransactionEntity> batch = transactionRepository.findAllWithOutdatedCategorization(
+                TransactionCategorizer.VERSION,
+                PageRequest.of(0, RECLASSIFY_BATCH_SIZE)
+        );
+        batch.forEach(TransactionCategorizer::assignCategories);
+        transactionRepository.saveAll(batch);
+        return batch.size();
+    }
+}
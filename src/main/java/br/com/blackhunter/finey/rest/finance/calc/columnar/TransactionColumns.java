@@ -0,0 +1,340 @@
+/*
+ * @(#)TransactionColumns.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.columnar;
+
+import br.com.blackhunter.finey.rest.core.util.MoneyAccumulator;
+import br.com.blackhunter.finey.rest.finance.calc.category.IncomeSourceClassifier;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Classe <code>TransactionColumns</code>.</p>
+ * <p>Transações de uma janela em formato colunar, para as varreduras dos cálculos das análises.</p>
+ * <p>
+ *     Cada atributo é um array primitivo paralelo (valor em centavos, dia epoch, tipo, recorrência) e as
+ *     categorias são codificadas por dicionário: cada coluna guarda apenas o ID do rótulo, guardado uma única vez.
+ *     As linhas ficam ordenadas por data, então um recorte de período é uma busca binária e as somas são laços
+ *     sobre trechos contíguos dos arrays, sem objetos por transação.
+ * </p>
+ * <p>Os operadores seguem o fluxo recorte ({@link #between}) → filtro ({@link #ofType}, {@link #investments})
+ * → agregação ({@link #sumCents}, {@link #groupAbsCents}). As somas são feitas em centavos por um
+ * {@link MoneyAccumulator}. É imutável e pode ser compartilhado entre threads.</p>
+ */
+public final class TransactionColumns {
+    /**
+     * ID usado nas colunas de dicionário quando a linha não tem o rótulo.
+     */
+    public static final int NONE = -1;
+
+    private static final byte NO_TYPE = -1;
+
+    private final int size;
+    private final long[] amountCents;
+    private final int[] epochDay;
+    private final byte[] type;
+    private final boolean[] recurringIncome;
+    private final int[] expenseCategoryId;
+    private final int[] incomeSourceId;
+    private final int[] investmentTypeId;
+    private final String[] labels;
+
+    private TransactionColumns(int size, long[] amountCents, int[] epochDay, byte[] type, boolean[] recurringIncome,
+                               int[] expenseCategoryId, int[] incomeSourceId, int[] investmentTypeId, String[] labels) {
+        this.size = size;
+        this.amountCents = amountCents;
+        this.epochDay = epochDay;
+        this.type = type;
+        this.recurringIncome = recurringIncome;
+        this.expenseCategoryId = expenseCategoryId;
+        this.incomeSourceId = incomeSourceId;
+        this.investmentTypeId = investmentTypeId;
+        this.labels = labels;
+    }
+
+    /**
+     * Monta as colunas a partir das linhas do modelo de leitura.
+     * <p>A ordenação por data é estável: transações do mesmo dia mantêm a ordem recebida.</p>
+     *
+     * @param rows transações da janela
+     * @return As colunas das transações.
+     */
+    public static TransactionColumns of(List<TransactionRow> rows) {
+        List<TransactionRow> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingInt(TransactionRow::getEpochDay));
+
+        int size = sorted.size();
+        long[] amountCents = new long[size];
+        int[] epochDay = new int[size];
+        byte[] type = new byte[size];
+        boolean[] recurringIncome = new boolean[size];
+        int[] expenseCategoryId = new int[size];
+        int[] incomeSourceId = new int[size];
+        int[] investmentTypeId = new int[size];
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            TransactionRow row = sorted.get(i);
+            amountCents[i] = row.getAmountCents();
+            epochDay[i] = row.getEpochDay();
+            type[i] = row.getType() != null ? (byte) row.getType().ordinal() : NO_TYPE;
+            expenseCategoryId[i] = encode(dictionary, row.getExpenseCategory());
+            incomeSourceId[i] = encode(dictionary, row.getIncomeSource());
+            investmentTypeId[i] = encode(dictionary, row.getInvestmentType());
+            if (row.getType() == TransactionType.CREDIT) {
+                // Linhas antigas podem não ter a recorrência gravada: resolve aqui, uma única vez.
+                recurringIncome[i] = row.getRecurringIncome() != null
+                        ? row.getRecurringIncome()
+                        : IncomeSourceClassifier.isRecurring(row.getAmount(), row.getIncomeSource());
+            }
+        }
+        return new TransactionColumns(size, amountCents, epochDay, type, recurringIncome,
+                expenseCategoryId, incomeSourceId, investmentTypeId, dictionary.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * @return A quantidade de transações.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Todas as transações.
+     */
+    public Selection all() {
+        return new Selection(0, size, null, size);
+    }
+
+    /**
+     * Recorta as transações de um período.
+     *
+     * @param startDate data inicial (inclusiva)
+     * @param endDate data final (inclusiva)
+     * @return As transações do período.
+     */
+    public Selection between(LocalDate startDate, LocalDate endDate) {
+        int from = lowerBound((int) startDate.toEpochDay());
+        int to = lowerBound((int) endDate.toEpochDay() + 1);
+        return new Selection(from, Math.max(from, to), null, Math.max(0, to - from));
+    }
+
+    /**
+     * Filtra as transações de um tipo.
+     *
+     * @param selection transações de entrada
+     * @param transactionType tipo desejado
+     * @return As transações do tipo informado.
+     */
+    public Selection ofType(Selection selection, TransactionType transactionType) {
+        byte wanted = (byte) transactionType.ordinal();
+        int[] rows = new int[selection.count];
+        int count = 0;
+        // Sem desvio condicional: a posição é sempre gravada e só avança quando a linha atende ao filtro.
+        if (selection.rows == null) {
+            for (int i = selection.from; i < selection.to; i++) {
+                rows[count] = i;
+                count += type[i] == wanted ? 1 : 0;
+            }
+        } else {
+            for (int j = 0; j < selection.count; j++) {
+                int i = selection.rows[j];
+                rows[count] = i;
+                count += type[i] == wanted ? 1 : 0;
+            }
+        }
+        return new Selection(0, 0, rows, count);
+    }
+
+    /**
+     * Filtra as movimentações de investimento.
+     *
+     * @param selection transações de entrada
+     * @return As transações com tipo de investimento.
+     */
+    public Selection investments(Selection selection) {
+        int[] rows = new int[selection.count];
+        int count = 0;
+        for (int j = 0; j < selection.count; j++) {
+            int i = selection.row(j);
+            rows[count] = i;
+            count += investmentTypeId[i] != NONE ? 1 : 0;
+        }
+        return new Selection(0, 0, rows, count);
+    }
+
+    /**
+     * @param selection transações a somar
+     * @return A soma dos valores, com sinal.
+     */
+    public MoneyAccumulator sumCents(Selection selection) {
+        MoneyAccumulator sum = new MoneyAccumulator();
+        if (selection.rows == null) {
+            for (int i = selection.from; i < selection.to; i++) {
+                sum.add(amountCents[i]);
+            }
+        } else {
+            for (int j = 0; j < selection.count; j++) {
+                sum.add(amountCents[selection.rows[j]]);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @param selection transações a somar
+     * @return A soma dos valores absolutos.
+     */
+    public MoneyAccumulator sumAbsCents(Selection selection) {
+        MoneyAccumulator sum = new MoneyAccumulator();
+        if (selection.rows == null) {
+            for (int i = selection.from; i < selection.to; i++) {
+                sum.addAbs(amountCents[i]);
+            }
+        } else {
+            for (int j = 0; j < selection.count; j++) {
+                sum.addAbs(amountCents[selection.rows[j]]);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Agrupa os valores absolutos por uma dimensão de dicionário.
+     *
+     * @param selection transações a agrupar
+     * @param dimension dimensão do agrupamento
+     * @return As somas por rótulo, apenas dos rótulos presentes na seleção.
+     */
+    public Map<String, MoneyAccumulator> groupAbsCents(Selection selection, Dimension dimension) {
+        int[] ids = column(dimension);
+        MoneyAccumulator[] sums = new MoneyAccumulator[labels.length];
+        for (int j = 0; j < selection.count; j++) {
+            int i = selection.row(j);
+            int id = ids[i];
+            if (id != NONE) {
+                if (sums[id] == null) {
+                    sums[id] = new MoneyAccumulator();
+                }
+                sums[id].addAbs(amountCents[i]);
+            }
+        }
+
+        Map<String, MoneyAccumulator> grouped = new HashMap<>();
+        for (int id = 0; id < labels.length; id++) {
+            if (sums[id] != null) {
+                grouped.put(labels[id], sums[id]);
+            }
+        }
+        return grouped;
+    }
+
+    /**
+     * Indica, para cada fonte de receita, se ela é recorrente segundo a primeira transação da fonte na seleção.
+     *
+     * @param selection receitas (transações de crédito)
+     * @return A recorrência por fonte, apenas das fontes presentes na seleção.
+     */
+    public Map<String, Boolean> recurringBySource(Selection selection) {
+        Map<String, Boolean> recurring = new HashMap<>();
+        boolean[] seen = new boolean[labels.length];
+        for (int j = 0; j < selection.count; j++) {
+            int i = selection.row(j);
+            int id = incomeSourceId[i];
+            if (id != NONE && !seen[id]) {
+                seen[id] = true;
+                recurring.put(labels[id], recurringIncome[i]);
+            }
+        }
+        return recurring;
+    }
+
+    /**
+     * <p>Dimensões codificadas por dicionário.</p>
+     */
+    public enum Dimension {
+        EXPENSE_CATEGORY,
+        INCOME_SOURCE,
+        INVESTMENT_TYPE
+    }
+
+    /**
+     * <p>Conjunto de linhas selecionadas por um operador.</p>
+     * <p>Um recorte de período é um intervalo contíguo; os filtros produzem a lista das posições.</p>
+     */
+    public static final class Selection {
+        private final int from;
+        private final int to;
+        private final int[] rows;
+        private final int count;
+
+        private Selection(int from, int to, int[] rows, int count) {
+            this.from = from;
+            this.to = to;
+            this.rows = rows;
+            this.count = count;
+        }
+
+        /**
+         * @return A quantidade de transações selecionadas.
+         */
+        public int count() {
+            return count;
+        }
+
+        private int row(int index) {
+            return rows == null ? from + index : rows[index];
+        }
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static int encode(Map<String, Integer> dictionary, String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = dictionary.get(value);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(value, id);
+        }
+        return id;
+    }
+
+    private int[] column(Dimension dimension) {
+        switch (dimension) {
+            case EXPENSE_CATEGORY: return expenseCategoryId;
+            case INCOME_SOURCE: return incomeSourceId;
+            default: return investmentTypeId;
+        }
+    }
+
+    /* Primeira posição com dia >= day (as linhas estão ordenadas por data). */
+    private int lowerBound(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (epochDay[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
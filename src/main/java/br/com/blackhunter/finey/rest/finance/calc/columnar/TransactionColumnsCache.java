@@ -0,0 +1,129 @@
+/*
+ * @(#)TransactionColumnsCache.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.columnar;
+
+import br.com.blackhunter.finey.rest.core.cache.BoundedCache;
+import br.com.blackhunter.finey.rest.core.cache.CacheInvalidation;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * <p>Classe <code>TransactionColumnsCache</code>.</p>
+ * <p>Cache das {@link TransactionColumns} de cada conjunto de contas de um usuário.</p>
+ * <p>
+ *     Guarda uma janela de datas por conjunto de contas, por <code>ttl-seconds</code>. Qualquer período
+ *     contido na janela é atendido por um recorte das colunas, sem nova busca: a projeção de saldo carrega
+ *     os últimos três meses e as comparações mensais dentro deles passam a ser apenas varreduras em memória.
+ *     Uma busca fora da janela só a substitui se for ao menos tão longa quanto ela.
+ * </p>
+ * <p>O cache é LRU, limitado a <code>max-entries</code> conjuntos de contas. As janelas de uma conta são
+ * descartadas quando as suas transações são gravadas (ver {@link #invalidateAccounts(Collection)}).</p>
+ */
+@Component
+public class TransactionColumnsCache {
+    @Value("${hunter.cache.transaction-columns.ttl-seconds:60}")
+    private long TTL_SECONDS;
+
+    private final BoundedCache<String, Window> windows;
+
+    public TransactionColumnsCache(@Value("${hunter.cache.transaction-columns.max-entries:500}") int maxEntries) {
+        this.windows = new BoundedCache<>(maxEntries);
+    }
+
+    /**
+     * <p>Obtém as colunas de uma janela que contém o período, buscando as transações apenas se nenhuma
+     * janela memorizada o cobrir. Use {@link TransactionColumns#between} para recortar o período.</p>
+     *
+     * @param financialIntegratorManager gerenciador de integração financeira
+     * @param bankAccountIds lista de IDs das contas bancárias (criptografados)
+     * @param startDate data inicial (inclusiva)
+     * @param endDate data final (inclusiva)
+     * @return As colunas de uma janela que contém o período.
+     * @throws Exception se a busca das transações falhar.
+     */
+    public TransactionColumns getOrLoad(FinancialIntegratorManager financialIntegratorManager,
+                                        List<String> bankAccountIds,
+                                        LocalDate startDate,
+                                        LocalDate endDate) throws Exception {
+        String key = keyOf(bankAccountIds);
+        Window cached = windows.get(key);
+        if (cached != null && cached.covers(startDate, endDate)) {
+            return cached.columns;
+        }
+
+        // A busca fica fora do lock: a carga remota não deve bloquear os demais usuários.
+        Set<UUID> accountIds = new HashSet<>();
+        for (String bankAccountId : bankAccountIds) {
+            accountIds.add(financialIntegratorManager.resolveAccount(bankAccountId).getEntityId());
+        }
+        List<TransactionRow> rows = financialIntegratorManager
+                .getTransactionRowsPeriodByAccountIds(bankAccountIds, startDate, endDate);
+        Window loaded = new Window(TransactionColumns.of(rows), accountIds, startDate, endDate);
+        windows.put(key, loaded, Duration.ofSeconds(TTL_SECONDS), current -> loaded.days() >= current.days());
+        return loaded.columns;
+    }
+
+    /**
+     * <p>Descarta as janelas que incluem alguma das contas (ver {@link CacheInvalidation}). Deve ser chamado
+     * sempre que transações dessas contas forem gravadas, para que as análises não sirvam a janela anterior.</p>
+     *
+     * @param accountIds IDs das entidades das contas alteradas.
+     */
+    public void invalidateAccounts(Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> changed = new HashSet<>(accountIds);
+        CacheInvalidation.evictNowAndAfterCommit(
+                () -> windows.removeIf(window -> !Collections.disjoint(window.accountIds, changed)));
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static String keyOf(List<String> bankAccountIds) {
+        List<String> sortedIds = new ArrayList<>(bankAccountIds);
+        Collections.sort(sortedIds);
+        return String.join(",", sortedIds);
+    }
+
+    private static class Window {
+        private final TransactionColumns columns;
+        private final Set<UUID> accountIds;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+
+        Window(TransactionColumns columns, Set<UUID> accountIds, LocalDate startDate, LocalDate endDate) {
+            this.columns = columns;
+            this.accountIds = accountIds;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        boolean covers(LocalDate start, LocalDate end) {
+            return !start.isBefore(startDate) && !end.isAfter(endDate);
+        }
+
+        long days() {
+            return endDate.toEpochDay() - startDate.toEpochDay();
+        }
+    }
+}
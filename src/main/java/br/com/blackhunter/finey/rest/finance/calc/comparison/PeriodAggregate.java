@@ -0,0 +1,188 @@
+/*
+ * @(#)PeriodAggregate.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.comparison;
+
+import br.com.blackhunter.finey.rest.core.util.MoneyAccumulator;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumns;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentClassifier;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Classe <code>PeriodAggregate</code>.</p>
+ * <p>Métricas de um período lidas pelos widgets, calculadas a partir das colunas já categorizadas
+ * ({@link TransactionColumns}):</p>
+ * <ul>
+ *   <li>receitas e despesas totais;</li>
+ *   <li>despesas por categoria (categorias de despesa e orçamento);</li>
+ *   <li>receitas por fonte e se cada fonte é recorrente (detalhamento de receitas);</li>
+ *   <li>valor movimentado por tipo de investimento (resumo de investimentos).</li>
+ * </ul>
+ * <p>As somas são feitas em centavos ({@link MoneyAccumulator}) e os valores só viram <code>BigDecimal</code>
+ * ao final, uma vez por total e por rótulo.</p>
+ * <p>É imutável depois de criado. Não é memorizado: o {@link PeriodComparisonService} consolida um novo agregado
+ * a cada consulta, a partir das colunas em cache.</p>
+ */
+@Getter
+public class PeriodAggregate {
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final BigDecimal totalIncome;
+    private final BigDecimal totalExpenses;
+    private final Map<String, BigDecimal> expensesByCategory;
+    private final Map<String, BigDecimal> incomeBySource;
+    private final Map<String, Boolean> recurringBySource;
+    private final BigDecimal totalInvestments;
+    private final Map<String, BigDecimal> investmentsByType;
+
+    private PeriodAggregate(LocalDate startDate, LocalDate endDate, Accumulator accumulator) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalIncome = accumulator.totalIncome.toBigDecimal();
+        this.totalExpenses = accumulator.totalExpenses.toBigDecimal();
+        this.expensesByCategory = toAmounts(accumulator.expensesByCategory);
+        this.incomeBySource = toAmounts(accumulator.incomeBySource);
+        this.recurringBySource = Collections.unmodifiableMap(accumulator.recurringBySource);
+        this.totalInvestments = accumulator.totalInvestments.toBigDecimal();
+        this.investmentsByType = toAmounts(accumulator.investmentsByType);
+    }
+
+    /**
+     * Consolida o período a partir das colunas de uma janela que o contém, por meio dos operadores de
+     * recorte, filtro e agrupamento de {@link TransactionColumns}.
+     *
+     * @param startDate data inicial do período
+     * @param endDate data final do período
+     * @param columns transações de uma janela que contém o período
+     * @return O agregado do período.
+     */
+    public static PeriodAggregate ofColumns(LocalDate startDate, LocalDate endDate, TransactionColumns columns) {
+        TransactionColumns.Selection period = columns.between(startDate, endDate);
+        TransactionColumns.Selection credits = columns.ofType(period, TransactionType.CREDIT);
+        TransactionColumns.Selection debits = columns.ofType(period, TransactionType.DEBIT);
+        TransactionColumns.Selection investments = columns.investments(period);
+
+        Accumulator accumulator = new Accumulator();
+        accumulator.totalIncome = columns.sumCents(credits);
+        accumulator.totalExpenses = columns.sumAbsCents(debits);
+        accumulator.totalInvestments = columns.sumAbsCents(investments);
+        accumulator.incomeBySource.putAll(columns.groupAbsCents(credits, TransactionColumns.Dimension.INCOME_SOURCE));
+        accumulator.recurringBySource.putAll(columns.recurringBySource(credits));
+        accumulator.expensesByCategory.putAll(columns.groupAbsCents(debits, TransactionColumns.Dimension.EXPENSE_CATEGORY));
+        accumulator.investmentsByType.putAll(columns.groupAbsCents(investments, TransactionColumns.Dimension.INVESTMENT_TYPE));
+        return new PeriodAggregate(startDate, endDate, accumulator);
+    }
+
+    /**
+     * @param category nome da categoria de despesa
+     * @return O total gasto na categoria (zero se não houver).
+     */
+    public BigDecimal getCategoryExpenses(String category) {
+        return expensesByCategory.getOrDefault(category, BigDecimal.ZERO);
+    }
+
+    /**
+     * @param category nome da categoria de despesa
+     * @return A participação da categoria no total de despesas, em percentual (0 se não houver despesas).
+     */
+    public double getCategoryShare(String category) {
+        return share(getCategoryExpenses(category), totalExpenses);
+    }
+
+    /**
+     * @param source nome da fonte de receita
+     * @return O total recebido da fonte (zero se não houver).
+     */
+    public BigDecimal getSourceIncome(String source) {
+        return incomeBySource.getOrDefault(source, BigDecimal.ZERO);
+    }
+
+    /**
+     * @param source nome da fonte de receita
+     * @return A participação da fonte no total de receitas, em percentual (0 se não houver receitas).
+     */
+    public double getSourceShare(String source) {
+        return share(getSourceIncome(source), totalIncome);
+    }
+
+    /**
+     * @param source nome da fonte de receita
+     * @return true se a fonte é recorrente (decidido pela primeira transação da fonte no período).
+     */
+    public boolean isRecurringSource(String source) {
+        return recurringBySource.getOrDefault(source, false);
+    }
+
+    /**
+     * @return O total de receitas das fontes recorrentes.
+     */
+    public BigDecimal getRecurringIncome() {
+        BigDecimal recurring = BigDecimal.ZERO;
+        for (Map.Entry<String, BigDecimal> source : incomeBySource.entrySet()) {
+            if (isRecurringSource(source.getKey())) {
+                recurring = recurring.add(source.getValue());
+            }
+        }
+        return recurring;
+    }
+
+    /**
+     * @return O total de receitas das fontes variáveis.
+     */
+    public BigDecimal getVariableIncome() {
+        return totalIncome.subtract(getRecurringIncome());
+    }
+
+    /**
+     * @param type tipo de investimento (ver {@link InvestmentClassifier})
+     * @return true se houve movimentação do tipo no período.
+     */
+    public boolean hasInvestmentType(String type) {
+        return investmentsByType.containsKey(type);
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static double share(BigDecimal part, BigDecimal total) {
+        if (total.compareTo(BigDecimal.ZERO) <= 0) {
+            return 0.0;
+        }
+        return part.divide(total, 4, RoundingMode.HALF_UP).multiply(ONE_HUNDRED).doubleValue();
+    }
+
+    /* Os valores só viram BigDecimal aqui, uma vez por rótulo. */
+    private static Map<String, BigDecimal> toAmounts(Map<String, MoneyAccumulator> sums) {
+        Map<String, BigDecimal> amounts = new HashMap<>();
+        for (Map.Entry<String, MoneyAccumulator> entry : sums.entrySet()) {
+            amounts.put(entry.getKey(), entry.getValue().toBigDecimal());
+        }
+        return Collections.unmodifiableMap(amounts);
+    }
+
+    /* Somas do período em centavos, preenchidas por ofColumns. */
+    private static class Accumulator {
+        private MoneyAccumulator totalIncome = new MoneyAccumulator();
+        private MoneyAccumulator totalExpenses = new MoneyAccumulator();
+        private MoneyAccumulator totalInvestments = new MoneyAccumulator();
+        private final Map<String, MoneyAccumulator> expensesByCategory = new HashMap<>();
+        private final Map<String, MoneyAccumulator> incomeBySource = new HashMap<>();
+        private final Map<String, Boolean> recurringBySource = new HashMap<>();
+        private final Map<String, MoneyAccumulator> investmentsByType = new HashMap<>();
+    }
+}
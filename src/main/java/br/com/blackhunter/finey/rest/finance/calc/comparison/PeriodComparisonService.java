@@ -0,0 +1,129 @@
+/*
+ * @(#)PeriodComparisonService.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.comparison;
+
+import br.com.blackhunter.finey.rest.core.dto.TransactionPeriodDate;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumns;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumnsCache;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * <p>Classe <code>PeriodComparisonService</code>.</p>
+ * <p>Motor das comparações "em relação ao período anterior".</p>
+ * <p>
+ *     Cada período é consolidado em um {@link PeriodAggregate}; todas as variações (receitas, despesas,
+ *     participação de cada categoria) passam a ser diferenças entre dois agregados, em vez de uma nova
+ *     busca do período anterior para cada número exibido.
+ * </p>
+ * <p>Os agregados não são memorizados: as transações vêm do {@link TransactionColumnsCache}, único cache
+ * desse caminho (e invalidado quando as transações das contas mudam), e consolidar um período contido em uma
+ * janela já carregada é apenas uma varredura das colunas.</p>
+ */
+@Service
+@Slf4j
+public class PeriodComparisonService {
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final double MIN_VARIATION = -100.0;
+    private static final double MAX_VARIATION = 500.0;
+
+    private final TransactionColumnsCache transactionColumnsCache;
+
+    public PeriodComparisonService(TransactionColumnsCache transactionColumnsCache) {
+        this.transactionColumnsCache = transactionColumnsCache;
+    }
+
+    /**
+     * @param financialIntegratorManager gerenciador de integração financeira
+     * @param bankAccountIds lista de IDs das contas bancárias (criptografados)
+     * @param startDate data inicial (inclusiva)
+     * @param endDate data final (inclusiva)
+     *
+     * <p>Obtém o agregado do período, buscando as transações apenas se nenhuma janela em cache o cobrir.</p>
+     *
+     * @return O agregado do período.
+     * @throws Exception se a busca das transações falhar.
+     */
+    public PeriodAggregate getAggregate(FinancialIntegratorManager financialIntegratorManager,
+                                        List<String> bankAccountIds,
+                                        LocalDate startDate,
+                                        LocalDate endDate) throws Exception {
+        TransactionColumns columns = transactionColumnsCache
+                .getOrLoad(financialIntegratorManager, bankAccountIds, startDate, endDate);
+        return PeriodAggregate.ofColumns(startDate, endDate, columns);
+    }
+
+    /**
+     * Obtém o agregado do período informado.
+     *
+     * @see #getAggregate(FinancialIntegratorManager, List, LocalDate, LocalDate)
+     */
+    public PeriodAggregate getAggregate(FinancialIntegratorManager financialIntegratorManager,
+                                        List<String> bankAccountIds,
+                                        TransactionPeriodDate periodDate) throws Exception {
+        return getAggregate(financialIntegratorManager, bankAccountIds, periodDate.getStartDate(), periodDate.getEndDate());
+    }
+
+    /**
+     * Obtém o agregado do período imediatamente anterior e de mesma duração (ver {@link #previousPeriod}).
+     *
+     * @see #getAggregate(FinancialIntegratorManager, List, LocalDate, LocalDate)
+     */
+    public PeriodAggregate getPreviousAggregate(FinancialIntegratorManager financialIntegratorManager,
+                                                List<String> bankAccountIds,
+                                                TransactionPeriodDate periodDate) throws Exception {
+        return getAggregate(financialIntegratorManager, bankAccountIds, previousPeriod(periodDate));
+    }
+
+    /**
+     * Calcula o período imediatamente anterior e de mesma duração.
+     *
+     * <pre>
+     * Atual:    01/02/2024 a 29/02/2024 (28 dias de intervalo)
+     * Anterior: 03/01/2024 a 31/01/2024
+     * </pre>
+     *
+     * @param periodDate período atual
+     * @return O período anterior.
+     */
+    public static TransactionPeriodDate previousPeriod(TransactionPeriodDate periodDate) {
+        long periodDays = ChronoUnit.DAYS.between(periodDate.getStartDate(), periodDate.getEndDate());
+        LocalDate previousEnd = periodDate.getStartDate().minusDays(1);
+        return new TransactionPeriodDate(previousEnd.minusDays(periodDays), previousEnd);
+    }
+
+    /**
+     * Calcula a variação percentual entre dois valores: ((atual - anterior) / anterior) * 100.
+     * <p>Sem valor anterior, retorna 100% se houver valor atual e 0% caso contrário.
+     * O resultado é limitado a valores realistas (-100% a +500%).</p>
+     *
+     * @param current valor do período atual
+     * @param previous valor do período anterior
+     * @return A variação percentual.
+     */
+    public static double variationPercentage(BigDecimal current, BigDecimal previous) {
+        if (previous.compareTo(BigDecimal.ZERO) == 0) {
+            return current.compareTo(BigDecimal.ZERO) > 0 ? 100.0 : 0.0;
+        }
+
+        double variation = current.subtract(previous)
+                .divide(previous, 4, RoundingMode.HALF_UP)
+                .multiply(ONE_HUNDRED)
+                .doubleValue();
+        return Math.max(MIN_VARIATION, Math.min(MAX_VARIATION, variation));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * @(#)InvestmentClassifier.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.ledger;
+
+import br.com.blackhunter.finey.rest.finance.calc.category.TransactionCategorizer;
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+
+import java.util.List;
+
+/**
+ * <p>Classe <code>InvestmentClassifier</code>.</p>
+ * <p>Identifica transações de investimento e o seu tipo a partir da descrição
+ * (ver {@link TransactionCategorizer}).</p>
+ */
+public final class InvestmentClassifier {
+    public static final String FIXED_INCOME = "Renda Fixa";
+    public static final String VARIABLE_INCOME = "Renda Variável";
+    public static final String FUNDS = "Fundos";
+    public static final String PENSION = "Previdência";
+    public static final String SAVINGS = "Poupança";
+    public static final String CRYPTO = "Criptomoedas";
+    public static final String OTHERS = "Outros";
+
+    /**
+     * Tipos de investimento na ordem de exibição.
+     */
+    public static final List<String> TYPES = List.of(FIXED_INCOME, VARIABLE_INCOME, FUNDS, PENSION, SAVINGS, CRYPTO, OTHERS);
+
+    private InvestmentClassifier() { }
+
+    /**
+     * Identifica se uma transação é relacionada a investimentos.
+     *
+     * @param transaction transação a ser analisada
+     * @return true se for transação de investimento
+     */
+    public static boolean isInvestmentTransaction(TransactionEntity transaction) {
+        return TransactionCategorizer.categorize(transaction).isInvestment();
+    }
+
+    /**
+     * Categoriza o tipo de investimento baseado na descrição da transação.
+     *
+     * @param transaction transação a ser categorizada
+     * @return tipo de investimento identificado
+     */
+    public static String categorizeInvestment(TransactionEntity transaction) {
+        return TransactionCategorizer.categorize(transaction).getInvestmentType();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * @(#)InvestmentLedgerService.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.ledger;
+
+import br.com.blackhunter.finey.rest.core.cache.BoundedCache;
+import br.com.blackhunter.finey.rest.core.cache.CacheInvalidation;
+import br.com.blackhunter.finey.rest.finance.calc.category.TransactionCategorizer;
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Classe <code>InvestmentLedgerService</code>.</p>
+ * <p>Livro-razão em memória das movimentações de investimento de cada conta, consolidado por dia
+ * e por tipo de investimento (ver {@link InvestmentClassifier}).</p>
+ * <p>
+ *     O livro de uma conta é montado uma única vez a partir do histórico e depois atualizado de forma
+ *     incremental: consultas dentro do intervalo já coberto são respondidas da memória; apenas os dias
+ *     fora dele são buscados. Os últimos <code>overlap-days</code> dias são buscados novamente a cada
+ *     <code>refresh-minutes</code>, pois transações recentes ainda podem mudar.
+ * </p>
+ * <p>Os livros ficam em um cache LRU limitado a <code>max-accounts</code> contas. O livro de uma conta é
+ * descartado quando as suas transações são gravadas (ver {@link #invalidateAccounts(Collection)}).</p>
+ */
+@Service
+@Slf4j
+public class InvestmentLedgerService {
+    @Value("${hunter.ledger.investments.overlap-days:3}")
+    private int OVERLAP_DAYS;
+    @Value("${hunter.ledger.investments.refresh-minutes:5}")
+    private long REFRESH_MINUTES;
+
+    private final BoundedCache<String, AccountLedger> ledgers;
+
+    public InvestmentLedgerService(@Value("${hunter.ledger.investments.max-accounts:5000}") int maxAccounts) {
+        this.ledgers = new BoundedCache<>(maxAccounts);
+    }
+
+    /**
+     * @param financialIntegratorManager gerenciador de integração financeira
+     * @param bankAccountIds lista de IDs das contas bancárias (criptografados)
+     * @param startDate data inicial (inclusiva)
+     * @param endDate data final (inclusiva)
+     *
+     * <p>Consolida as posições de investimento das contas no período, buscando no integrador
+     * apenas os dias que ainda não estão no livro de cada conta.</p>
+     *
+     * @return As posições por tipo de investimento, na ordem de {@link InvestmentClassifier#TYPES};
+     *         tipos sem movimentação no período não são incluídos.
+     * @throws Exception se a busca das transações de alguma conta falhar.
+     */
+    public Map<String, InvestmentPosition> getPositions(FinancialIntegratorManager financialIntegratorManager,
+                                                        List<String> bankAccountIds,
+                                                        LocalDate startDate,
+                                                        LocalDate endDate) throws Exception {
+        List<AccountLedger> accountLedgers = financialIntegratorManager.forEachAccountConcurrently(bankAccountIds, accountId -> {
+            UUID entityId = financialIntegratorManager.resolveAccount(accountId).getEntityId();
+            AccountLedger ledger = ledgers.computeIfAbsent(accountId, id -> new AccountLedger(entityId));
+            ledger.ensureCovered(financialIntegratorManager, accountId, startDate, endDate);
+            return ledger;
+        });
+
+        Map<String, InvestmentPosition> positions = new LinkedHashMap<>();
+        for (String type : InvestmentClassifier.TYPES) {
+            InvestmentPosition position = new InvestmentPosition(type);
+            accountLedgers.forEach(ledger -> ledger.sumInto(position, startDate, endDate));
+            if (position.getTransactionCount() > 0) {
+                positions.put(type, position);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * <p>Descarta os livros das contas (ver {@link CacheInvalidation}). Deve ser chamado sempre que transações
+     * dessas contas forem gravadas, para que as posições não sejam calculadas sobre o livro anterior.</p>
+     *
+     * @param accountIds IDs das entidades das contas alteradas.
+     */
+    public void invalidateAccounts(Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> changed = new HashSet<>(accountIds);
+        CacheInvalidation.evictNowAndAfterCommit(() -> ledgers.removeIf(ledger -> changed.contains(ledger.entityId)));
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /* Movimentação de investimento já aplicada ao livro. */
+    private static class Entry {
+        private final String type;
+        private final LocalDate date;
+        private final InvestmentPosition delta;
+
+        Entry(String type, LocalDate date, InvestmentPosition delta) {
+            this.type = type;
+            this.date = date;
+            this.delta = delta;
+        }
+    }
+
+    /* Usa ReentrantLock em vez de synchronized para não fixar a virtual thread durante a carga remota. */
+    private class AccountLedger {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final UUID entityId;
+        private LocalDate coveredStart;
+        private LocalDate coveredEnd;
+        private LocalDateTime refreshedAt;
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final Map<String, TreeMap<LocalDate, InvestmentPosition>> dailyByType = new HashMap<>();
+
+        AccountLedger(UUID entityId) {
+            this.entityId = entityId;
+        }
+
+        void ensureCovered(FinancialIntegratorManager manager, String accountId, LocalDate startDate, LocalDate endDate) throws Exception {
+            lock.lock();
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                if (coveredStart == null) {
+                    replaceWindow(load(manager, accountId, startDate, endDate), startDate, endDate);
+                    coveredStart = startDate;
+                    coveredEnd = endDate;
+                    refreshedAt = now;
+                    return;
+                }
+
+                if (startDate.isBefore(coveredStart)) {
+                    LocalDate backfillEnd = coveredStart.minusDays(1);
+                    replaceWindow(load(manager, accountId, startDate, backfillEnd), startDate, backfillEnd);
+                    coveredStart = startDate;
+                }
+
+                boolean reachesOpenDays = !endDate.isBefore(coveredEnd.minusDays(OVERLAP_DAYS));
+                if (endDate.isAfter(coveredEnd) || (reachesOpenDays && refreshedAt.plusMinutes(REFRESH_MINUTES).isBefore(now))) {
+                    LocalDate refreshStart = max(coveredStart, coveredEnd.minusDays(OVERLAP_DAYS));
+                    LocalDate refreshEnd = max(endDate, coveredEnd);
+                    replaceWindow(load(manager, accountId, refreshStart, refreshEnd), refreshStart, refreshEnd);
+                    coveredEnd = refreshEnd;
+                    refreshedAt = now;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void sumInto(InvestmentPosition position, LocalDate startDate, LocalDate endDate) {
+            lock.lock();
+            try {
+                TreeMap<LocalDate, InvestmentPosition> daily = dailyByType.get(position.getType());
+                if (daily != null) {
+                    daily.subMap(startDate, true, endDate, true).values().forEach(position::add);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private List<TransactionEntity> load(FinancialIntegratorManager manager, String accountId,
+                                             LocalDate startDate, LocalDate endDate) throws Exception {
+            log.debug("Atualizando livro de investimentos da conta entre {} e {}", startDate, endDate);
+            return manager.getAllTransactionsPeriodByAccountIds(List.of(accountId), startDate, endDate);
+        }
+
+        /* Aplica as transações da janela; movimentações da janela que não vieram mais são removidas. */
+        private void replaceWindow(List<TransactionEntity> transactions, LocalDate startDate, LocalDate endDate) {
+            Set<String> seen = new HashSet<>();
+            for (TransactionEntity transaction : transactions) {
+                LocalDate date = transaction.getTransactionLocalDate();
+                if (date == null || date.isBefore(startDate) || date.isAfter(endDate)) {
+                    continue;
+                }
+                TransactionCategorizer.Categorization categorization = TransactionCategorizer.categorize(transaction);
+                if (!categorization.isInvestment()) {
+                    continue;
+                }
+                String key = keyOf(transaction);
+                seen.add(key);
+
+                Entry previous = entries.put(key, toEntry(transaction, date, categorization.getInvestmentType()));
+                if (previous != null) {
+                    daily(previous).subtract(previous.delta);
+                }
+                Entry current = entries.get(key);
+                daily(current).add(current.delta);
+            }
+
+            entries.entrySet().removeIf(e -> {
+                Entry entry = e.getValue();
+                boolean removed = !entry.date.isBefore(startDate) && !entry.date.isAfter(endDate) && !seen.contains(e.getKey());
+                if (removed) {
+                    daily(entry).subtract(entry.delta);
+                }
+                return removed;
+            });
+        }
+
+        private InvestmentPosition daily(Entry entry) {
+            return dailyByType.computeIfAbsent(entry.type, type -> new TreeMap<>())
+                    .computeIfAbsent(entry.date, date -> new InvestmentPosition(entry.type));
+        }
+
+        private Entry toEntry(TransactionEntity transaction, LocalDate date, String type) {
+            InvestmentPosition delta = new InvestmentPosition(type);
+            delta.setMovedAmount(transaction.getAmount().abs());
+            delta.setTransactionCount(1);
+            if (transaction.getType() == TransactionType.DEBIT) {
+                delta.setContributions(transaction.getAmount().abs());
+            } else if (transaction.getType() == TransactionType.CREDIT) {
+                delta.setRedemptions(transaction.getAmount());
+            }
+            return new Entry(type, date, delta);
+        }
+
+        private String keyOf(TransactionEntity transaction) {
+            if (transaction.getProviderTransactionId() != null) {
+                return transaction.getProviderTransactionId();
+            }
+            if (transaction.getTransactionId() != null) {
+                return transaction.getTransactionId().toString();
+            }
+            return transaction.getTransactionDate() + "|" + transaction.getAmount() + "|" + transaction.getDescription();
+        }
+    }
+}
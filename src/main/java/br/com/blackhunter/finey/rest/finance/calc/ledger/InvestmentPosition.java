@@ -0,0 +1,68 @@
+/*
+ * @(#)InvestmentPosition.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * <p>Classe <code>InvestmentPosition</code>.</p>
+ * <p>Posição consolidada de um tipo de investimento em um período.</p>
+ * <ul>
+ *   <li><code>contributions</code>: soma dos aportes (débitos, em valor absoluto).</li>
+ *   <li><code>redemptions</code>: soma dos resgates e rendimentos creditados.</li>
+ *   <li><code>movedAmount</code>: soma absoluta de todas as movimentações do tipo.</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InvestmentPosition {
+    private String type;
+    private BigDecimal contributions = BigDecimal.ZERO;
+    private BigDecimal redemptions = BigDecimal.ZERO;
+    private BigDecimal movedAmount = BigDecimal.ZERO;
+    private long transactionCount;
+
+    public InvestmentPosition(String type) {
+        this.type = type;
+    }
+
+    /**
+     * @return O custo ainda aplicado (aportes menos resgates, nunca negativo).
+     */
+    public BigDecimal getCostBasis() {
+        return contributions.subtract(redemptions).max(BigDecimal.ZERO);
+    }
+
+    /**
+     * @return O retorno realizado (resgates acima do que foi aportado, nunca negativo).
+     */
+    public BigDecimal getRealizedReturn() {
+        return redemptions.subtract(contributions).max(BigDecimal.ZERO);
+    }
+
+    void add(InvestmentPosition other) {
+        contributions = contributions.add(other.contributions);
+        redemptions = redemptions.add(other.redemptions);
+        movedAmount = movedAmount.add(other.movedAmount);
+        transactionCount += other.transactionCount;
+    }
+
+    void subtract(InvestmentPosition other) {
+        contributions = contributions.subtract(other.contributions);
+        redemptions = redemptions.subtract(other.redemptions);
+        movedAmount = movedAmount.subtract(other.movedAmount);
+        transactionCount -= other.transactionCount;
+    }
+}
@@ -5,16 +5,16 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.core.crypto.ResponseEncryption;
+import br.com.blackhunter.finey.rest.core.util.MoneyAccumulator;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.current_balance_projection.CurrentBalanceProjection;
-import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumns;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumnsCache;
 import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
-import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegrator;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.dto.FinancialInstitutionData;
 import br.com.blackhunter.finey.rest.integrations.pluggy.dto.PluggyAccountIds;
@@ -33,6 +33,12 @@ public class BalanceProjectionCalcService {
     @Value("${hunter.secrets.pluggy.crypt-secret}")
     private String PLUGGY_CRYPT_SECRET;
 
+    private final TransactionColumnsCache transactionColumnsCache;
+
+    public BalanceProjectionCalcService(TransactionColumnsCache transactionColumnsCache) {
+        this.transactionColumnsCache = transactionColumnsCache;
+    }
+
     /**
      * Calcula a projeção completa de saldo baseada em análise histórica de 3 meses.
      * 
@@ -151,11 +157,11 @@ public class BalanceProjectionCalcService {
         
         // 7. Criptografar e retornar
         return new CurrentBalanceProjection(
-                CryptUtil.encrypt(currentBalance.toString(), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(projectedBalance.toString(), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(currentBalance.toString(), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(projectedBalance.toString(), PLUGGY_CRYPT_SECRET),
                 daysLeftInMonth,
-                CryptUtil.encrypt(dailyExpenseRounded.toString(), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(projectedExpenses.toString(), PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField(dailyExpenseRounded.toString(), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(projectedExpenses.toString(), PLUGGY_CRYPT_SECRET)
         );
     }
     
@@ -182,20 +188,19 @@ public class BalanceProjectionCalcService {
      * @return saldo total atual
      */
     private BigDecimal calculateCurrentBalance(List<FinancialInstitutionData> connectedBanks) {
-        BigDecimal totalBalance = BigDecimal.ZERO;
+        MoneyAccumulator totalBalance = new MoneyAccumulator();
         
         for (FinancialInstitutionData bank : connectedBanks) {
             for (PluggyAccountIds account : bank.getAccounts()) {
                 try {
-                    BigDecimal accountBalance = new BigDecimal(account.getBalance());
-                    totalBalance = totalBalance.add(accountBalance);
+                    totalBalance.add(new BigDecimal(account.getBalance()));
                 } catch (NumberFormatException e) {
                     System.err.println("Erro ao converter saldo da conta: " + e.getMessage());
                 }
             }
         }
         
-        return totalBalance;
+        return totalBalance.toBigDecimal();
     }
     
     /**
@@ -248,27 +253,12 @@ public class BalanceProjectionCalcService {
             LocalDate endDate,
             int totalDays) throws Exception {
         
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpenses = BigDecimal.ZERO;
-        
-        FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
+        TransactionColumns columns = transactionColumnsCache
+            .getOrLoad(financialIntegratorManager, bankAccountIds, startDate, endDate);
+        TransactionColumns.Selection period = columns.between(startDate, endDate);
         
-        for (String accountId : bankAccountIds) {
-            String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-            String originalPluggyAccountId = financialIntegrator
-                .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-            
-            List<TransactionEntity> transactions = financialIntegrator
-                .getAllTransactionsPeriodByTargetId(originalPluggyAccountId, startDate, endDate);
-            
-            for (TransactionEntity transaction : transactions) {
-                if (transaction.getType() == TransactionType.CREDIT) {
-                    totalIncome = totalIncome.add(transaction.getAmount());
-                } else if (transaction.getType() == TransactionType.DEBIT) {
-                    totalExpenses = totalExpenses.add(transaction.getAmount().abs());
-                }
-            }
-        }
+        BigDecimal totalIncome = columns.sumCents(columns.ofType(period, TransactionType.CREDIT)).toBigDecimal();
+        BigDecimal totalExpenses = columns.sumAbsCents(columns.ofType(period, TransactionType.DEBIT)).toBigDecimal();
         
         // Calcular médias diárias
         BigDecimal dailyIncomeAverage = totalDays > 0 ? 
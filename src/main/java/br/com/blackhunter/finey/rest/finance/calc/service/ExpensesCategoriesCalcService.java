@@ -1,25 +1,21 @@
 package br.com.blackhunter.finey.rest.finance.calc.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.core.crypto.ResponseEncryption;
 import br.com.blackhunter.finey.rest.core.dto.TransactionPeriodDate;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.expanses_categories.ExpenseCategory;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.expanses_categories.ExpensesCategories;
-import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
-import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
-import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegrator;
+import br.com.blackhunter.finey.rest.finance.calc.category.ExpenseCategoryClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.comparison.PeriodAggregate;
+import br.com.blackhunter.finey.rest.finance.calc.comparison.PeriodComparisonService;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
 
 /**
@@ -36,11 +32,18 @@ import br.com.blackhunter.finey.rest.integrations.financial_integrator.Financial
  * @since 2024
  */
 @Service
+@Slf4j
 public class ExpensesCategoriesCalcService {
 
     @Value("${hunter.secrets.pluggy.crypt-secret}")
     private String PLUGGY_CRYPT_SECRET;
 
+    private final PeriodComparisonService periodComparisonService;
+
+    public ExpensesCategoriesCalcService(PeriodComparisonService periodComparisonService) {
+        this.periodComparisonService = periodComparisonService;
+    }
+
     /**
      * Calcula e categoriza as despesas do usuário para o período especificado.
      * 
@@ -96,7 +99,7 @@ public class ExpensesCategoriesCalcService {
      *   Lazer: R$ 32,90 (2,9%)
      *   Outros: R$ 200,00 (17,7%)
      * 
-     * Variações (comparação com período anterior - valores simulados):
+     * Variações (comparação com período anterior):
      *   Alimentação: +5,2% (aumento)
      *   Transporte: -12,3% (redução)
      *   Saúde: +0,8% (estável)
@@ -168,297 +171,65 @@ public class ExpensesCategoriesCalcService {
             List<String> bankAccountIds, 
             TransactionPeriodDate periodDate) throws Exception {
         
-        // Mapa para armazenar valores por categoria
-        Map<String, CategoryData> categoriesMap = new HashMap<>();
-        AtomicReference<BigDecimal> totalExpenses = new AtomicReference<>(BigDecimal.ZERO);
-        
-        FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-        
-        // Processar transações de cada conta
-        for (String accountId : bankAccountIds) {
-            String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-            String originalPluggyAccountId = financialIntegrator
-                .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-            
-            List<TransactionEntity> transactions = financialIntegrator
-                .getAllTransactionsPeriodByTargetId(
-                    originalPluggyAccountId,
-                    periodDate.getStartDate(),
-                    periodDate.getEndDate()
-                );
-            
-            // Processar apenas transações de débito
-            for (TransactionEntity transaction : transactions) {
-                if (transaction.getType() == TransactionType.DEBIT) {
-                    BigDecimal amount = transaction.getAmount().abs();
-                    totalExpenses.set(totalExpenses.get().add(amount));
-                    
-                    // Categorizar transação
-                    String categoryName = categorizeTransaction(transaction);
-                    String categoryIcon = getCategoryIcon(categoryName);
-                    
-                    // Adicionar ao mapa de categorias
-                    categoriesMap.computeIfAbsent(categoryName, k -> new CategoryData(categoryName, categoryIcon))
-                        .addAmount(amount);
-                }
-            }
-        }
-        
-        // Converter para lista de ExpenseCategory com percentuais
-        List<ExpenseCategory> categories = new java.util.ArrayList<>(categoriesMap.values().stream()
-                .map(categoryData -> {
-                    BigDecimal total = totalExpenses.get();
-                    double percentage;
-
-                    if (total.compareTo(BigDecimal.ZERO) > 0) {
-                        BigDecimal ratio = categoryData.getAmount()
-                                .divide(total, 4, RoundingMode.HALF_UP);
-
-                        percentage = ratio.multiply(BigDecimal.valueOf(100)).doubleValue();
-                    } else {
-                        percentage = 0.0;
-                    }
-
-                    // Simular variação do período anterior (em implementação real, buscar dados históricos)
-                    double previousPercentage = calculatePreviousPercentage(categoryData.getName(), percentage, 
-                        financialIntegratorManager, bankAccountIds, periodDate);
-
-                    try {
-                        return new ExpenseCategory(
-                                CryptUtil.encrypt(categoryData.getName(), PLUGGY_CRYPT_SECRET),
-                                CryptUtil.encrypt(categoryData.getIcon(), PLUGGY_CRYPT_SECRET),
-                                CryptUtil.encrypt(categoryData.getAmount().toString(), PLUGGY_CRYPT_SECRET),
-                                CryptUtil.encrypt(String.valueOf(percentage), PLUGGY_CRYPT_SECRET),
-                                CryptUtil.encrypt(String.valueOf(previousPercentage), PLUGGY_CRYPT_SECRET)
-                        );
-                    } catch (Exception e) {
-                        throw new RuntimeException("Erro ao criptografar dados da categoria: " + categoryData.getName(), e);
-                    }
-                }).toList());
+        // Agregados do período atual e do anterior (consolidados das colunas em cache pelo motor de comparação)
+        PeriodAggregate current = periodComparisonService.getAggregate(financialIntegratorManager, bankAccountIds, periodDate);
+        PeriodAggregate previous = getPreviousAggregateOrNull(financialIntegratorManager, bankAccountIds, periodDate);
         
         // Ordenar categorias por valor (maior para menor)
-        categories.sort((a, b) -> {
-            try {
-                return Double.compare(
-                        Double.parseDouble(CryptUtil.decrypt(b.getAmount(), PLUGGY_CRYPT_SECRET)),
-                        Double.parseDouble(CryptUtil.decrypt(a.getAmount(), PLUGGY_CRYPT_SECRET))
-                );
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
-        
-        try {
-            return new ExpensesCategories(
-                categories,
-                CryptUtil.encrypt(totalExpenses.toString(), PLUGGY_CRYPT_SECRET)
-            );
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao criptografar total de despesas", e);
-        }
-    }
-    
-    /**
-     * Categoriza uma transação baseada em sua descrição.
-     * 
-     * <p><strong>Algoritmo de Categorização:</strong></p>
-     * <ol>
-     *   <li>Normaliza a descrição (lowercase, remove acentos)</li>
-     *   <li>Busca palavras-chave específicas por categoria</li>
-     *   <li>Retorna a primeira categoria encontrada</li>
-     *   <li>Se nenhuma categoria for identificada, retorna "Outros"</li>
-     * </ol>
-     * 
-     * @param transaction transação a ser categorizada
-     * @return nome da categoria identificada
-     */
-    private String categorizeTransaction(TransactionEntity transaction) {
-        String description = transaction.getDescription().toLowerCase();
-        
-        // Usar categoria já definida se disponível
-        if (transaction.getCategory() != null && !transaction.getCategory().trim().isEmpty()) {
-            return transaction.getCategory();
-        }
-        
-        // Categorização baseada em palavras-chave na descrição
-        if (containsKeywords(description, "supermercado", "mercado", "padaria", "restaurante", 
-                            "lanchonete", "delivery", "ifood", "uber eats", "food", "alimentacao")) {
-            return "Alimentação";
-        }
-        
-        if (containsKeywords(description, "posto", "combustivel", "gasolina", "etanol", "uber", 
-                            "99", "taxi", "metro", "onibus", "transporte", "estacionamento")) {
-            return "Transporte";
-        }
-        
-        if (containsKeywords(description, "aluguel", "condominio", "energia", "luz", "agua", 
-                            "internet", "telefone", "gas", "iptu", "moradia")) {
-            return "Moradia";
-        }
-        
-        if (containsKeywords(description, "farmacia", "drogaria", "medico", "hospital", 
-                            "clinica", "laboratorio", "plano saude", "unimed", "saude")) {
-            return "Saúde";
-        }
-        
-        if (containsKeywords(description, "escola", "faculdade", "curso", "livro", "material escolar", 
-                            "educacao", "universidade", "colegio")) {
-            return "Educação";
-        }
+        List<Map.Entry<String, BigDecimal>> sortedCategories = new ArrayList<>(current.getExpensesByCategory().entrySet());
+        sortedCategories.sort(Map.Entry.<String, BigDecimal>comparingByValue().reversed());
         
-        if (containsKeywords(description, "cinema", "netflix", "spotify", "streaming", "jogo", 
-                            "viagem", "hotel", "lazer", "entretenimento")) {
-            return "Lazer";
-        }
-        
-        if (containsKeywords(description, "roupa", "calcado", "sapato", "tenis", "vestuario", 
-                            "moda", "loja", "shopping")) {
-            return "Vestuário";
+        // Converter para lista de ExpenseCategory com percentuais
+        List<ExpenseCategory> categories = new ArrayList<>();
+        for (Map.Entry<String, BigDecimal> category : sortedCategories) {
+            String categoryName = category.getKey();
+            double percentage = current.getCategoryShare(categoryName);
+            double previousPercentage = calculatePreviousPercentage(categoryName, percentage, previous);
+            
+            String[] encrypted = ResponseEncryption.encryptFields(PLUGGY_CRYPT_SECRET,
+                    categoryName,
+                    ExpenseCategoryClassifier.getIcon(categoryName),
+                    category.getValue().toString(),
+                    String.valueOf(percentage),
+                    String.valueOf(previousPercentage));
+            categories.add(new ExpenseCategory(encrypted[0], encrypted[1], encrypted[2], encrypted[3], encrypted[4]));
         }
         
-        return "Outros";
-    }
-    
-    /**
-     * Verifica se a descrição contém alguma das palavras-chave especificadas.
-     * 
-     * @param description descrição da transação (já em lowercase)
-     * @param keywords palavras-chave a serem buscadas
-     * @return true se alguma palavra-chave for encontrada
-     */
-    private boolean containsKeywords(String description, String... keywords) {
-        for (String keyword : keywords) {
-            if (description.contains(keyword.toLowerCase())) {
-                return true;
-            }
-        }
-        return false;
+        return new ExpensesCategories(
+            categories,
+            ResponseEncryption.encryptField(current.getTotalExpenses().toString(), PLUGGY_CRYPT_SECRET)
+        );
     }
     
     /**
-     * Retorna o ícone correspondente à categoria.
+     * Calcula o percentual real da categoria no período anterior.
      * 
-     * @param categoryName nome da categoria
-     * @return ícone emoji da categoria
-     */
-    private String getCategoryIcon(String categoryName) {
-        switch (categoryName) {
-            case "Alimentação": return "🍽️";
-            case "Transporte": return "🚗";
-            case "Moradia": return "🏠";
-            case "Saúde": return "⚕️";
-            case "Educação": return "📚";
-            case "Lazer": return "🎬";
-            case "Vestuário": return "👕";
-            default: return "📊";
-        }
-    }
-    
-    /**
-     * Calcula o percentual real da categoria no período anterior baseado em dados da Pluggy.
-     * 
-     * <p><strong>Implementação:</strong> Busca transações do período anterior e calcula
-     * o percentual real da categoria específica em relação ao total de despesas daquele período.</p>
-     * 
-     * <p><strong>Passos da implementação:</strong></p>
-     * <ol>
-     *   <li>Determina o período anterior com mesma duração</li>
-     *   <li>Busca todas as transações de débito do período anterior</li>
-     *   <li>Categoriza as transações usando a mesma lógica atual</li>
-     *   <li>Calcula o percentual da categoria específica</li>
-     *   <li>Retorna o percentual real ou valor padrão em caso de erro</li>
-     * </ol>
+     * <p><strong>Implementação:</strong> O período anterior é consolidado uma única vez pelo
+     * {@link PeriodComparisonService} e o percentual de cada categoria é lido desse agregado,
+     * em vez de buscar novamente as transações para cada categoria.</p>
      * 
      * @param categoryName nome da categoria
      * @param currentPercentage percentual atual da categoria (usado como fallback)
-     * @param financialIntegratorManager gerenciador de integração financeira
-     * @param bankAccountIds lista de IDs das contas bancárias
-     * @param periodDate período atual para calcular o período anterior
+     * @param previous agregado do período anterior (null se a busca falhou)
      * @return percentual real da categoria no período anterior
      */
-    private double calculatePreviousPercentage(String categoryName, double currentPercentage,
-                                             FinancialIntegratorManager financialIntegratorManager,
-                                             List<String> bankAccountIds, 
-                                             TransactionPeriodDate periodDate) {
-        try {
-            // Calcular período anterior com mesma duração
-            LocalDate currentStart = periodDate.getStartDate();
-            LocalDate currentEnd = periodDate.getEndDate();
-            long periodDays = ChronoUnit.DAYS.between(currentStart, currentEnd);
-            
-            LocalDate previousEnd = currentStart.minusDays(1);
-            LocalDate previousStart = previousEnd.minusDays(periodDays);
-            
-            // Mapa para armazenar valores por categoria do período anterior
-            Map<String, BigDecimal> previousCategoriesMap = new HashMap<>();
-            BigDecimal totalPreviousExpenses = BigDecimal.ZERO;
-            
-            FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-            
-            // Buscar transações do período anterior para cada conta
-            for (String accountId : bankAccountIds) {
-                try {
-                    String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-                    String originalPluggyAccountId = financialIntegrator
-                        .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-                    
-                    List<TransactionEntity> transactions = financialIntegrator
-                        .getAllTransactionsPeriodByTargetId(originalPluggyAccountId, previousStart, previousEnd);
-                    
-                    for (TransactionEntity transaction : transactions) {
-                         if (transaction.getType() == TransactionType.DEBIT) {
-                             String category = categorizeTransaction(transaction);
-                             BigDecimal amount = transaction.getAmount().abs();
-                             
-                             previousCategoriesMap.merge(category, amount, BigDecimal::add);
-                             totalPreviousExpenses = totalPreviousExpenses.add(amount);
-                         }
-                     }
-                } catch (Exception e) {
-                    System.err.println("Erro ao buscar transações do período anterior para conta " + accountId + ": " + e.getMessage());
-                }
-            }
-            
-            // Calcular percentual da categoria específica no período anterior
-            if (totalPreviousExpenses.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal categoryAmount = previousCategoriesMap.getOrDefault(categoryName, BigDecimal.ZERO);
-                
-                if (categoryAmount.compareTo(BigDecimal.ZERO) > 0) {
-                    BigDecimal ratio = categoryAmount.divide(totalPreviousExpenses, 4, RoundingMode.HALF_UP);
-                    return ratio.multiply(BigDecimal.valueOf(100)).doubleValue();
-                }
-            }
-            
-            // Se não há dados do período anterior, retornar 0
-            return 0.0;
-            
-        } catch (Exception e) {
-            System.err.println("Erro ao calcular percentual anterior para categoria " + categoryName + ": " + e.getMessage());
+    private double calculatePreviousPercentage(String categoryName, double currentPercentage, PeriodAggregate previous) {
+        if (previous == null) {
             // Em caso de erro, usar valor padrão baseado no percentual atual
             return currentPercentage * 0.90; // Assume redução de 10% como padrão
         }
+        // Se não há dados do período anterior, o percentual é 0
+        return previous.getCategoryShare(categoryName);
     }
     
-    /**
-     * Classe auxiliar para armazenar dados de uma categoria durante o processamento.
-     */
-    private static class CategoryData {
-        private final String name;
-        private final String icon;
-        private BigDecimal amount;
-        
-        public CategoryData(String name, String icon) {
-            this.name = name;
-            this.icon = icon;
-            this.amount = BigDecimal.ZERO;
-        }
-        
-        public void addAmount(BigDecimal amount) {
-            this.amount = this.amount.add(amount);
+    private PeriodAggregate getPreviousAggregateOrNull(FinancialIntegratorManager financialIntegratorManager,
+                                                       List<String> bankAccountIds,
+                                                       TransactionPeriodDate periodDate) {
+        try {
+            return periodComparisonService.getPreviousAggregate(financialIntegratorManager, bankAccountIds, periodDate);
+        } catch (Exception e) {
+            log.warn("Erro ao buscar despesas do período anterior: {}", e.getMessage());
+            return null;
         }
-        
-        public String getName() { return name; }
-        public String getIcon() { return icon; }
-        public BigDecimal getAmount() { return amount; }
     }
-}
\ No newline at end of file
+}
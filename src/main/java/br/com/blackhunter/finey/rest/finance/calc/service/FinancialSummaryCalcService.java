@@ -5,26 +5,26 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.core.crypto.ResponseEncryption;
 import br.com.blackhunter.finey.rest.core.dto.TransactionPeriodDate;
+import br.com.blackhunter.finey.rest.core.util.MoneyAccumulator;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.financial_summary.IncomeExpenseData;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.financial_summary.InvestmentCategory;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.financial_summary.InvestmentData;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.financial_summary.ReturnRate;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.financial_summary.WalletBalance;
-import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
-import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
-import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegrator;
+import br.com.blackhunter.finey.rest.finance.calc.comparison.PeriodAggregate;
+import br.com.blackhunter.finey.rest.finance.calc.comparison.PeriodComparisonService;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentLedgerService;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentPosition;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.dto.FinancialInstitutionData;
 import br.com.blackhunter.finey.rest.integrations.pluggy.dto.PluggyAccountIds;
@@ -42,6 +42,27 @@ public class FinancialSummaryCalcService {
     @Value("${hunter.secrets.pluggy.crypt-secret}")
     private String PLUGGY_CRYPT_SECRET;
 
+    /**
+     * Tipos de investimento exibidos no resumo financeiro.
+     */
+    private static final List<String> SUMMARY_INVESTMENT_TYPES = List.of(
+        InvestmentClassifier.FIXED_INCOME,
+        InvestmentClassifier.VARIABLE_INCOME,
+        InvestmentClassifier.FUNDS,
+        InvestmentClassifier.SAVINGS,
+        InvestmentClassifier.PENSION,
+        InvestmentClassifier.CRYPTO
+    );
+
+    private final PeriodComparisonService periodComparisonService;
+    private final InvestmentLedgerService investmentLedgerService;
+
+    public FinancialSummaryCalcService(PeriodComparisonService periodComparisonService,
+                                       InvestmentLedgerService investmentLedgerService) {
+        this.periodComparisonService = periodComparisonService;
+        this.investmentLedgerService = investmentLedgerService;
+    }
+
     /**
      * Calcula os dados de receita (entradas) para o período especificado.
      * 
@@ -87,37 +108,18 @@ public class FinancialSummaryCalcService {
      * @throws Exception se houver erro na descriptografia, busca de transações ou criptografia dos resultados
      */
     public IncomeExpenseData calculateIncomeDataEncrypted(FinancialIntegratorManager financialIntegratorManager, List<String> bankAccountIds, TransactionPeriodDate periodDate) throws Exception {
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        int totalTransactions = 0;
-        
-        FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-        
-        for (String accountId : bankAccountIds) {
-            String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-            String originalPluggyAccountId = financialIntegrator.getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-            
-            List<TransactionEntity> transactions = financialIntegrator.getAllTransactionsPeriodByTargetId(
-                    originalPluggyAccountId,
-                    periodDate.getStartDate(),
-                    periodDate.getEndDate()
-            );
-            
-            for (TransactionEntity transaction : transactions) {
-                if (transaction.getType() == TransactionType.CREDIT) {
-                    totalIncome = totalIncome.add(transaction.getAmount());
-                    totalTransactions++;
-                }
-            }
-        }
+        BigDecimal totalIncome = periodComparisonService
+            .getAggregate(financialIntegratorManager, bankAccountIds, periodDate)
+            .getTotalIncome();
         
         // Calcular porcentagem (crescimento em relação ao período anterior)
         double percentage = calculateIncomeGrowthPercentage(totalIncome, financialIntegratorManager, bankAccountIds, periodDate);
         
         return new IncomeExpenseData(
-                CryptUtil.encrypt(totalIncome.toString(), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("active", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(String.valueOf(percentage), PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField(totalIncome.toString(), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("active", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(String.valueOf(percentage), PLUGGY_CRYPT_SECRET)
         );
     }
     
@@ -167,37 +169,18 @@ public class FinancialSummaryCalcService {
      * @throws Exception se houver erro na descriptografia, busca de transações ou criptografia dos resultados
      */
     public IncomeExpenseData calculateExpenseDataEncrypted(FinancialIntegratorManager financialIntegratorManager, List<String> bankAccountIds, TransactionPeriodDate periodDate) throws Exception {
-        BigDecimal totalExpenses = BigDecimal.ZERO;
-        int totalTransactions = 0;
-        
-        FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-        
-        for (String accountId : bankAccountIds) {
-            String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-            String originalPluggyAccountId = financialIntegrator.getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-            
-            List<TransactionEntity> transactions = financialIntegrator.getAllTransactionsPeriodByTargetId(
-                    originalPluggyAccountId,
-                    periodDate.getStartDate(),
-                    periodDate.getEndDate()
-            );
-            
-            for (TransactionEntity transaction : transactions) {
-                if (transaction.getType() == TransactionType.DEBIT) {
-                    totalExpenses = totalExpenses.add(transaction.getAmount().abs());
-                    totalTransactions++;
-                }
-            }
-        }
+        BigDecimal totalExpenses = periodComparisonService
+            .getAggregate(financialIntegratorManager, bankAccountIds, periodDate)
+            .getTotalExpenses();
         
         // Calcular porcentagem de variação das despesas em relação ao período anterior
         double percentage = calculateExpenseVariationPercentage(totalExpenses, bankAccountIds, periodDate,financialIntegratorManager);
         
         return new IncomeExpenseData(
-                CryptUtil.encrypt(totalExpenses.toString(), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("active", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(String.valueOf(percentage), PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField(totalExpenses.toString(), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("active", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(String.valueOf(percentage), PLUGGY_CRYPT_SECRET)
         );
     }
     
@@ -254,73 +237,29 @@ public class FinancialSummaryCalcService {
      * @throws Exception se houver erro na criptografia dos resultados
      */
     public InvestmentData calculateInvestmentDataEncrypted(FinancialIntegratorManager financialIntegratorManager, List<String> bankAccountIds, TransactionPeriodDate periodDate) throws Exception {
-        BigDecimal totalInvestments = BigDecimal.ZERO;
-        Map<String, Boolean> categoriesFound = new HashMap<>();
-        
-        FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-        
-        // Processar transações de cada conta para identificar investimentos
-        for (String accountId : bankAccountIds) {
-            String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-            String originalPluggyAccountId = financialIntegrator
-                .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-            
-            List<TransactionEntity> transactions = financialIntegrator
-                .getAllTransactionsPeriodByTargetId(
-                    originalPluggyAccountId,
-                    periodDate.getStartDate(),
-                    periodDate.getEndDate()
-                );
-            
-            // Analisar transações para identificar investimentos
-            for (TransactionEntity transaction : transactions) {
-                if (isInvestmentTransaction(transaction)) {
-                    String investmentType = categorizeInvestment(transaction);
-                    BigDecimal amount = transaction.getAmount().abs();
-                    
-                    totalInvestments = totalInvestments.add(amount);
-                    categoriesFound.put(investmentType, true);
-                }
-            }
-        }
+        // Investimentos do período, consolidados na mesma passada das demais métricas
+        PeriodAggregate aggregate = periodComparisonService.getAggregate(financialIntegratorManager, bankAccountIds, periodDate);
+        BigDecimal totalInvestments = aggregate.getTotalInvestments();
         
         // Criar lista de categorias baseada nos investimentos encontrados
         List<InvestmentCategory> categories = new ArrayList<>();
-        categories.add(new InvestmentCategory(
-            CryptUtil.encrypt("Renda Fixa", PLUGGY_CRYPT_SECRET), 
-            categoriesFound.getOrDefault("Renda Fixa", false)
-        ));
-        categories.add(new InvestmentCategory(
-            CryptUtil.encrypt("Renda Variável", PLUGGY_CRYPT_SECRET), 
-            categoriesFound.getOrDefault("Renda Variável", false)
-        ));
-        categories.add(new InvestmentCategory(
-            CryptUtil.encrypt("Fundos", PLUGGY_CRYPT_SECRET), 
-            categoriesFound.getOrDefault("Fundos", false)
-        ));
-        categories.add(new InvestmentCategory(
-            CryptUtil.encrypt("Poupança", PLUGGY_CRYPT_SECRET), 
-            categoriesFound.getOrDefault("Poupança", false)
-        ));
-        categories.add(new InvestmentCategory(
-            CryptUtil.encrypt("Previdência", PLUGGY_CRYPT_SECRET), 
-            categoriesFound.getOrDefault("Previdência", false)
-        ));
-        categories.add(new InvestmentCategory(
-            CryptUtil.encrypt("Criptomoedas", PLUGGY_CRYPT_SECRET), 
-            categoriesFound.getOrDefault("Criptomoedas", false)
-        ));
+        for (String type : SUMMARY_INVESTMENT_TYPES) {
+            categories.add(new InvestmentCategory(
+                ResponseEncryption.encryptField(type, PLUGGY_CRYPT_SECRET),
+                aggregate.hasInvestmentType(type)
+            ));
+        }
         
         // Calcular taxa de retorno dos investimentos baseada no valor real
         double returnRate = calculateInvestmentReturnRate(totalInvestments, bankAccountIds, 
                                                          periodDate.getEndDate(), financialIntegratorManager);
         
         return new InvestmentData(
-                CryptUtil.encrypt(totalInvestments.toString(), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(totalInvestments.toString(), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), PLUGGY_CRYPT_SECRET),
                 categories,
-                CryptUtil.encrypt(String.valueOf(returnRate), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("active", PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField(String.valueOf(returnRate), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("active", PLUGGY_CRYPT_SECRET)
         );
     }
     
@@ -370,14 +309,13 @@ public class FinancialSummaryCalcService {
      * @throws Exception se houver erro na criptografia dos resultados
      */
     public WalletBalance calculateWalletBalanceEncrypted(List<FinancialInstitutionData> connectedBanks) throws Exception {
-        BigDecimal totalBalance = BigDecimal.ZERO;
+        MoneyAccumulator totalBalance = new MoneyAccumulator();
         
         for (FinancialInstitutionData bank : connectedBanks) {
             for (PluggyAccountIds account : bank.getAccounts()) {
                 try {
                     // O balance já vem como string, precisa converter
-                    BigDecimal accountBalance = new BigDecimal(account.getBalance());
-                    totalBalance = totalBalance.add(accountBalance);
+                    totalBalance.add(new BigDecimal(account.getBalance()));
                 } catch (NumberFormatException e) {
                     // Log do erro e continua com próxima conta
                     System.err.println("Erro ao converter saldo da conta: " + e.getMessage());
@@ -386,8 +324,8 @@ public class FinancialSummaryCalcService {
         }
         
         return new WalletBalance(
-                CryptUtil.encrypt(totalBalance.toString(), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("active", PLUGGY_CRYPT_SECRET)
+                ResponseEncryption.encryptField(totalBalance.toBigDecimal().toString(), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("active", PLUGGY_CRYPT_SECRET)
         );
     }
     
@@ -445,9 +383,9 @@ public class FinancialSummaryCalcService {
     public ReturnRate calculateTotalReturnRateEncrypted(IncomeExpenseData income, IncomeExpenseData expenses, InvestmentData investments) throws Exception {
         try {
             // Descriptografar dados de entrada para cálculos
-            BigDecimal totalIncome = new BigDecimal(CryptUtil.decrypt(income.getValue(), PLUGGY_CRYPT_SECRET));
-            BigDecimal totalExpenses = new BigDecimal(CryptUtil.decrypt(expenses.getValue(), PLUGGY_CRYPT_SECRET));
-            BigDecimal totalInvestments = new BigDecimal(CryptUtil.decrypt(investments.getValue(), PLUGGY_CRYPT_SECRET));
+            BigDecimal totalIncome = new BigDecimal(ResponseEncryption.decryptField(income.getValue(), PLUGGY_CRYPT_SECRET));
+            BigDecimal totalExpenses = new BigDecimal(ResponseEncryption.decryptField(expenses.getValue(), PLUGGY_CRYPT_SECRET));
+            BigDecimal totalInvestments = new BigDecimal(ResponseEncryption.decryptField(investments.getValue(), PLUGGY_CRYPT_SECRET));
             
             // Calcular fluxo de caixa líquido (receitas - despesas)
             BigDecimal netCashFlow = totalIncome.subtract(totalExpenses);
@@ -479,15 +417,15 @@ public class FinancialSummaryCalcService {
             returnPercentage = Math.max(-50.0, Math.min(50.0, returnPercentage));
             
             return new ReturnRate(
-                    CryptUtil.encrypt(String.format("%.2f", returnPercentage), PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt(status, PLUGGY_CRYPT_SECRET)
+                    ResponseEncryption.encryptField(String.format("%.2f", returnPercentage), PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField(status, PLUGGY_CRYPT_SECRET)
             );
             
         } catch (Exception e) {
             // Em caso de erro, retornar valores padrão seguros
             return new ReturnRate(
-                    CryptUtil.encrypt("0.0", PLUGGY_CRYPT_SECRET),
-                    CryptUtil.encrypt("neutral", PLUGGY_CRYPT_SECRET)
+                    ResponseEncryption.encryptField("0.0", PLUGGY_CRYPT_SECRET),
+                    ResponseEncryption.encryptField("neutral", PLUGGY_CRYPT_SECRET)
             );
         }
     }
@@ -542,7 +480,7 @@ public class FinancialSummaryCalcService {
         LocalDate current = periodDate.getStartDate();
         while (!current.isAfter(periodDate.getEndDate())) {
             String monthYear = current.format(DateTimeFormatter.ofPattern("MM/yyyy"));
-            months.add(CryptUtil.encrypt(monthYear, PLUGGY_CRYPT_SECRET));
+            months.add(ResponseEncryption.encryptField(monthYear, PLUGGY_CRYPT_SECRET));
             current = current.plusMonths(1);
         }
         
@@ -555,8 +493,8 @@ public class FinancialSummaryCalcService {
      * <p><strong>Cálculo realizado com dados reais:</strong></p>
      * <ol>
      *   <li>Define período anterior com mesma duração do período atual</li>
-     *   <li>Busca transações de crédito do período anterior via Pluggy</li>
-     *   <li>Calcula receita total do período anterior</li>
+     *   <li>Obtém o agregado do período anterior (consolidado das colunas em cache)</li>
+     *   <li>Usa a receita total do período anterior consolidada no agregado</li>
      *   <li>Aplica fórmula: ((Receita Atual - Receita Anterior) / Receita Anterior) * 100</li>
      *   <li>Retorna crescimento limitado entre -100% e +500%</li>
      * </ol>
@@ -588,45 +526,13 @@ public class FinancialSummaryCalcService {
      */
     public double calculateIncomeGrowthPercentage(BigDecimal currentIncome, FinancialIntegratorManager financialIntegratorManager, List<String> bankAccountIds, TransactionPeriodDate periodDate) {
         try {
-            // Calcular período anterior com mesma duração
-            LocalDate currentStart = periodDate.getStartDate();
-            LocalDate currentEnd = periodDate.getEndDate();
-            long periodDays = ChronoUnit.DAYS.between(currentStart, currentEnd);
-            
-            LocalDate previousStart = currentStart.minusDays(periodDays + 1);
-            LocalDate previousEnd = currentStart.minusDays(1);
+            // Receitas do período anterior com mesma duração (agregado das colunas em cache)
+            BigDecimal previousIncome = periodComparisonService
+                .getPreviousAggregate(financialIntegratorManager, bankAccountIds, periodDate)
+                .getTotalIncome();
             
-            // Buscar receitas do período anterior
-            BigDecimal previousIncome = BigDecimal.ZERO;
-            FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-            
-            for (String accountId : bankAccountIds) {
-                String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-                String originalPluggyAccountId = financialIntegrator
-                    .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-                
-                List<TransactionEntity> previousTransactions = financialIntegrator
-                    .getAllTransactionsPeriodByTargetId(originalPluggyAccountId, previousStart, previousEnd);
-                
-                for (TransactionEntity transaction : previousTransactions) {
-                    if (transaction.getType() == TransactionType.CREDIT) {
-                        previousIncome = previousIncome.add(transaction.getAmount());
-                    }
-                }
-            }
-            
-            // Calcular crescimento percentual
-            if (previousIncome.compareTo(BigDecimal.ZERO) == 0) {
-                return currentIncome.compareTo(BigDecimal.ZERO) > 0 ? 100.0 : 0.0;
-            }
-            
-            BigDecimal growth = currentIncome.subtract(previousIncome)
-                .divide(previousIncome, 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100));
-            
-            // Limitar crescimento a valores realistas (-100% a +500%)
-            double growthPercentage = growth.doubleValue();
-            return Math.max(-100.0, Math.min(500.0, growthPercentage));
+            // Calcular crescimento percentual limitado a valores realistas (-100% a +500%)
+            return PeriodComparisonService.variationPercentage(currentIncome, previousIncome);
             
         } catch (Exception e) {
             System.err.println("Erro ao calcular crescimento de receita: " + e.getMessage());
@@ -639,8 +545,8 @@ public class FinancialSummaryCalcService {
      * 
      * <p><strong>Cálculo realizado:</strong></p>
      * <ol>
-     *   <li>Busca transações de débito do período atual via Pluggy</li>
-     *   <li>Busca transações de débito do período anterior via Pluggy</li>
+     *   <li>Usa as despesas do período atual já calculadas</li>
+     *   <li>Obtém o agregado do período anterior (consolidado das colunas em cache)</li>
      *   <li>Calcula variação: ((Atual - Anterior) / Anterior) * 100</li>
      *   <li>Valores positivos = aumento nas despesas</li>
      *   <li>Valores negativos = redução nas despesas</li>
@@ -665,7 +571,7 @@ public class FinancialSummaryCalcService {
      *   <li>Comparar resultado calculado com dados reais</li>
      * </ol>
      * 
-     * @param currentExpenses despesa atual do período (não utilizado na nova implementação)
+     * @param currentExpenses despesa atual do período
      * @param bankAccountIds lista de IDs das contas bancárias para busca
      * @param periodDate data do período para comparação
      * @param financialIntegratorManager gerenciador para acesso aos dados da Pluggy
@@ -674,62 +580,13 @@ public class FinancialSummaryCalcService {
     public double calculateExpenseVariationPercentage(BigDecimal currentExpenses, List<String> bankAccountIds, 
                                                      TransactionPeriodDate periodDate, FinancialIntegratorManager financialIntegratorManager) {
         try {
-            // Calcular período anterior com mesma duração
-            LocalDate startOfCurrentPeriod = periodDate.getStartDate();
-            LocalDate endOfCurrentPeriod = periodDate.getEndDate();
-            long periodDuration = ChronoUnit.DAYS.between(startOfCurrentPeriod, endOfCurrentPeriod);
-            
-            LocalDate endOfPreviousPeriod = startOfCurrentPeriod.minusDays(1);
-            LocalDate startOfPreviousPeriod = endOfPreviousPeriod.minusDays(periodDuration);
-            
-            // Buscar transações do período atual
-            BigDecimal currentPeriodExpenses = BigDecimal.ZERO;
-            for (String accountId : bankAccountIds) {
-                String decryptedAccountId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-                FinancialIntegrator integrator = financialIntegratorManager.getFinancialIntegrator();
-                List<TransactionEntity> currentTransactions = integrator.getAllTransactionsPeriodByTargetId(
-                    decryptedAccountId, startOfCurrentPeriod, endOfCurrentPeriod);
-                
-                for (TransactionEntity transaction : currentTransactions) {
-                    if (TransactionType.valueOf("DEBIT").equals(transaction.getType())) {
-                        currentPeriodExpenses = currentPeriodExpenses.add(transaction.getAmount().abs());
-                    }
-                }
-            }
-            
-            // Buscar transações do período anterior
-            BigDecimal previousPeriodExpenses = BigDecimal.ZERO;
-            for (String accountId : bankAccountIds) {
-                String decryptedAccountId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-                FinancialIntegrator integrator = financialIntegratorManager.getFinancialIntegrator();
-                List<TransactionEntity> previousTransactions = integrator.getAllTransactionsPeriodByTargetId(
-                    decryptedAccountId, startOfPreviousPeriod, endOfPreviousPeriod);
-                
-                for (TransactionEntity transaction : previousTransactions) {
-                    if ("DEBIT".equals(transaction.getType())) {
-                        previousPeriodExpenses = previousPeriodExpenses.add(transaction.getAmount().abs());
-                    }
-                }
-            }
-            
-            // Calcular variação percentual
-            if (previousPeriodExpenses.compareTo(BigDecimal.ZERO) == 0) {
-                return currentPeriodExpenses.compareTo(BigDecimal.ZERO) > 0 ? 100.0 : 0.0;
-            }
-            
-            BigDecimal variation = currentPeriodExpenses.subtract(previousPeriodExpenses)
-                .divide(previousPeriodExpenses, 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100));
+            // Despesas do período anterior com mesma duração (agregado das colunas em cache)
+            BigDecimal previousExpenses = periodComparisonService
+                .getPreviousAggregate(financialIntegratorManager, bankAccountIds, periodDate)
+                .getTotalExpenses();
             
-            // Aplicar limites realistas (-100% a +500%)
-            double variationPercentage = variation.doubleValue();
-            if (variationPercentage < -100.0) {
-                variationPercentage = -100.0;
-            } else if (variationPercentage > 500.0) {
-                variationPercentage = 500.0;
-            }
-            
-            return variationPercentage;
+            // Calcular variação percentual limitada a valores realistas (-100% a +500%)
+            return PeriodComparisonService.variationPercentage(currentExpenses, previousExpenses);
             
         } catch (Exception e) {
             System.err.println("Erro ao calcular variação de despesas: " + e.getMessage());
@@ -742,7 +599,7 @@ public class FinancialSummaryCalcService {
      * 
      * <p><strong>Cálculo realizado:</strong></p>
      * <ol>
-     *   <li>Busca transações de investimento dos últimos 12 meses</li>
+     *   <li>Obtém as movimentações de investimento dos últimos 12 meses do livro de investimentos</li>
      *   <li>Calcula valor total investido (débitos em investimentos)</li>
      *   <li>Calcula valor total de retornos (créditos de investimentos)</li>
      *   <li>Aplica fórmula: ((Valor Atual - Valor Investido) / Valor Investido) * 100</li>
@@ -778,40 +635,19 @@ public class FinancialSummaryCalcService {
     public double calculateInvestmentReturnRate(BigDecimal totalInvestments, List<String> bankAccountIds, 
                                                LocalDate periodDate, FinancialIntegratorManager financialIntegratorManager) {
         try {
-            // Definir período de análise (últimos 12 meses para cálculo de retorno anual)
-            LocalDate startDate = periodDate.minusMonths(12);
-            LocalDate endDate = periodDate;
-            
-            BigDecimal totalInvested = BigDecimal.ZERO;
-            BigDecimal totalReturns = BigDecimal.ZERO;
-            
-            FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-            
-            // Buscar transações de investimento para cada conta
-            for (String accountId : bankAccountIds) {
-                try {
-                    String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-                    String originalPluggyAccountId = financialIntegrator
-                        .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-                    
-                    List<TransactionEntity> transactions = financialIntegrator
-                        .getAllTransactionsPeriodByTargetId(originalPluggyAccountId, startDate, endDate);
-                    
-                    for (TransactionEntity transaction : transactions) {
-                        if (isInvestmentTransaction(transaction)) {
-                            if (transaction.getType() == TransactionType.DEBIT) {
-                                // Débitos são investimentos realizados
-                                totalInvested = totalInvested.add(transaction.getAmount().abs());
-                            } else if (transaction.getType() == TransactionType.CREDIT) {
-                                // Créditos são retornos de investimentos
-                                totalReturns = totalReturns.add(transaction.getAmount());
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    System.err.println("Erro ao buscar transações de investimento para conta " + accountId + ": " + e.getMessage());
-                }
+            // Movimentações de investimento dos últimos 12 meses, lidas do livro incremental
+            MoneyAccumulator invested = new MoneyAccumulator();
+            MoneyAccumulator returns = new MoneyAccumulator();
+            Map<String, InvestmentPosition> positions = investmentLedgerService
+                .getPositions(financialIntegratorManager, bankAccountIds, periodDate.minusMonths(12), periodDate);
+            
+            for (InvestmentPosition position : positions.values()) {
+                // Débitos são investimentos realizados; créditos são retornos de investimentos
+                invested.add(position.getContributions());
+                returns.add(position.getRedemptions());
             }
+            BigDecimal totalInvested = invested.toBigDecimal();
+            BigDecimal totalReturns = returns.toBigDecimal();
             
             // Calcular taxa de retorno
             if (totalInvested.compareTo(BigDecimal.ZERO) > 0) {
@@ -834,76 +670,4 @@ public class FinancialSummaryCalcService {
             return 7.8; // Valor padrão em caso de erro
         }
     }
-    
-    /**
-     * Identifica se uma transação é relacionada a investimentos.
-     * 
-     * @param transaction transação a ser analisada
-     * @return true se for transação de investimento
-     */
-    private boolean isInvestmentTransaction(TransactionEntity transaction) {
-        String description = transaction.getDescription().toLowerCase();
-        
-        return containsKeywords(description, 
-            "cdb", "lci", "lca", "tesouro", "selic", "ipca",
-            "acao", "acoes", "fii", "etf", "bovespa", "b3",
-            "fundo", "investimento", "aplicacao", "resgate",
-            "poupanca", "pgbl", "vgbl", "previdencia",
-            "bitcoin", "btc", "ethereum", "crypto", "binance",
-            "xp", "rico", "inter", "nubank invest", "bradesco invest"
-        );
-    }
-    
-    /**
-     * Categoriza o tipo de investimento baseado na descrição da transação.
-     * 
-     * @param transaction transação a ser categorizada
-     * @return tipo de investimento identificado
-     */
-    private String categorizeInvestment(TransactionEntity transaction) {
-        String description = transaction.getDescription().toLowerCase();
-        
-        if (containsKeywords(description, "cdb", "lci", "lca", "tesouro", "selic", "ipca")) {
-            return "Renda Fixa";
-        }
-        
-        if (containsKeywords(description, "acao", "acoes", "fii", "etf", "bovespa", "b3")) {
-            return "Renda Variável";
-        }
-        
-        if (containsKeywords(description, "fundo", "investimento")) {
-            return "Fundos";
-        }
-        
-        if (containsKeywords(description, "pgbl", "vgbl", "previdencia")) {
-            return "Previdência";
-        }
-        
-        if (containsKeywords(description, "poupanca")) {
-            return "Poupança";
-        }
-        
-        if (containsKeywords(description, "bitcoin", "btc", "ethereum", "crypto", "binance")) {
-            return "Criptomoedas";
-        }
-        
-        return "Outros";
-    }
-    
-    /**
-     * Verifica se a descrição contém alguma das palavras-chave especificadas.
-     * 
-     * @param description descrição a ser verificada
-     * @param keywords palavras-chave a serem procuradas
-     * @return true se contém alguma palavra-chave
-     */
-    private boolean containsKeywords(String description, String... keywords) {
-        for (String keyword : keywords) {
-            if (description.contains(keyword)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
 }
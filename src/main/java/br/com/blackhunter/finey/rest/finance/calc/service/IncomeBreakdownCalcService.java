@@ -1,25 +1,21 @@
 package br.com.blackhunter.finey.rest.finance.calc.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.core.crypto.ResponseEncryption;
 import br.com.blackhunter.finey.rest.core.dto.TransactionPeriodDate;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.income.IncomeBreakdown;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.income.IncomeSource;
-import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
-import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
-import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegrator;
+import br.com.blackhunter.finey.rest.finance.calc.category.IncomeSourceClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.comparison.PeriodAggregate;
+import br.com.blackhunter.finey.rest.finance.calc.comparison.PeriodComparisonService;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
 
 /**
@@ -47,6 +43,12 @@ public class IncomeBreakdownCalcService {
     
     @Value("${hunter.secrets.pluggy.crypt-secret}")
     private String PLUGGY_CRYPT_SECRET;
+
+    private final PeriodComparisonService periodComparisonService;
+
+    public IncomeBreakdownCalcService(PeriodComparisonService periodComparisonService) {
+        this.periodComparisonService = periodComparisonService;
+    }
     
     /**
      * Calcula o detalhamento de receitas por fonte para o período especificado.
@@ -140,198 +142,42 @@ public class IncomeBreakdownCalcService {
             List<String> bankAccountIds,
             TransactionPeriodDate periodDate) throws Exception {
         
-        // Mapa para armazenar receitas por categoria
-        Map<String, IncomeSourceData> incomeByCategory = new HashMap<>();
-        BigDecimal totalIncome = BigDecimal.ZERO;
+        // Receitas do período consolidadas na mesma passada das demais métricas
+        PeriodAggregate aggregate = periodComparisonService.getAggregate(financialIntegratorManager, bankAccountIds, periodDate);
         
-        FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-        
-        // Buscar transações de todas as contas
-        for (String accountId : bankAccountIds) {
-            String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-            String originalPluggyAccountId = financialIntegrator.getOriginalFinancialAccountIdByTargetId(
-                UUID.fromString(accountEntityId)
-            );
-            
-            List<TransactionEntity> transactions = financialIntegrator.getAllTransactionsPeriodByTargetId(
-                originalPluggyAccountId,
-                periodDate.getStartDate(),
-                periodDate.getEndDate()
-            );
-            
-            // Processar apenas transações de crédito (receitas)
-            for (TransactionEntity transaction : transactions) {
-                if (transaction.getType() == TransactionType.CREDIT) {
-                    String category = categorizeIncomeTransaction(transaction);
-                    String icon = getIconForCategory(category);
-                    boolean isRecurring = isRecurringIncome(transaction, category);
-                    
-                    IncomeSourceData sourceData = incomeByCategory.getOrDefault(category, 
-                        new IncomeSourceData(category, icon, BigDecimal.ZERO, isRecurring));
-                    
-                    sourceData.amount = sourceData.amount.add(transaction.getAmount());
-                    incomeByCategory.put(category, sourceData);
-                    
-                    totalIncome = totalIncome.add(transaction.getAmount());
-                }
-            }
-        }
+        // Ordenar por valor (maior para menor)
+        List<Map.Entry<String, BigDecimal>> sortedSources = new ArrayList<>(aggregate.getIncomeBySource().entrySet());
+        sortedSources.sort(Map.Entry.<String, BigDecimal>comparingByValue().reversed());
         
-        // Converter para lista de IncomeSource e calcular percentuais
+        // Converter para lista de IncomeSource com percentuais
         List<IncomeSource> incomeSources = new ArrayList<>();
-        BigDecimal recurringTotal = BigDecimal.ZERO;
-        BigDecimal variableTotal = BigDecimal.ZERO;
-        
-        for (IncomeSourceData sourceData : incomeByCategory.values()) {
-            double percentage = totalIncome.compareTo(BigDecimal.ZERO) > 0 ? 
-                sourceData.amount.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                    .multiply(new BigDecimal("100")).doubleValue() : 0.0;
+        for (Map.Entry<String, BigDecimal> sourceEntry : sortedSources) {
+            String category = sourceEntry.getKey();
+            double percentage = aggregate.getSourceShare(category);
+            boolean isRecurring = aggregate.isRecurringSource(category);
             
             // Criptografar todos os campos
-            IncomeSource source = new IncomeSource(
-                CryptUtil.encrypt(sourceData.category, PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(sourceData.amount.toString(), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(String.valueOf(percentage), PLUGGY_CRYPT_SECRET),
-                Boolean.parseBoolean(CryptUtil.encrypt(String.valueOf(sourceData.isRecurring), PLUGGY_CRYPT_SECRET)),
-                CryptUtil.encrypt(sourceData.icon, PLUGGY_CRYPT_SECRET)
-            );
-            
-            incomeSources.add(source);
-            
-            // Somar para totais de recorrente/variável
-            if (sourceData.isRecurring) {
-                recurringTotal = recurringTotal.add(sourceData.amount);
-            } else {
-                variableTotal = variableTotal.add(sourceData.amount);
-            }
+            String[] encrypted = ResponseEncryption.encryptFields(PLUGGY_CRYPT_SECRET,
+                category,
+                sourceEntry.getValue().toString(),
+                String.valueOf(percentage),
+                String.valueOf(isRecurring),
+                IncomeSourceClassifier.getIcon(category));
+            incomeSources.add(new IncomeSource(
+                encrypted[0],
+                encrypted[1],
+                encrypted[2],
+                Boolean.parseBoolean(encrypted[3]),
+                encrypted[4]
+            ));
         }
         
-        // Ordenar por valor (maior para menor)
-        incomeSources.sort((a, b) -> {
-                try {
-                    return Double.compare(
-                       Double.parseDouble(CryptUtil.decrypt(b.getAmount(), PLUGGY_CRYPT_SECRET)),
-                       Double.parseDouble(CryptUtil.decrypt(a.getAmount(), PLUGGY_CRYPT_SECRET))
-                    );
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        );
-        
         // Retornar resultado criptografado
         return new IncomeBreakdown(
             incomeSources,
-            CryptUtil.encrypt(totalIncome.toString(), PLUGGY_CRYPT_SECRET),
-            CryptUtil.encrypt(recurringTotal.toString(), PLUGGY_CRYPT_SECRET),
-            CryptUtil.encrypt(variableTotal.toString(), PLUGGY_CRYPT_SECRET)
+            ResponseEncryption.encryptField(aggregate.getTotalIncome().toString(), PLUGGY_CRYPT_SECRET),
+            ResponseEncryption.encryptField(aggregate.getRecurringIncome().toString(), PLUGGY_CRYPT_SECRET),
+            ResponseEncryption.encryptField(aggregate.getVariableIncome().toString(), PLUGGY_CRYPT_SECRET)
         );
     }
-    
-    /**
-     * Categoriza uma transação de receita baseada na descrição.
-     * 
-     * @param transaction transação a ser categorizada
-     * @return categoria da receita
-     */
-    private String categorizeIncomeTransaction(TransactionEntity transaction) {
-        String description = transaction.getDescription().toLowerCase();
-        
-        // Verificar se já tem categoria definida na transação
-        if (transaction.getCategory() != null && !transaction.getCategory().trim().isEmpty()) {
-            return transaction.getCategory();
-        }
-        
-        // Categorização baseada em palavras-chave na descrição
-        if (description.contains("salario") || description.contains("salário") || 
-            description.contains("ordenado") || description.contains("vencimento")) {
-            return "Salário";
-        }
-        
-        if (description.contains("freelance") || description.contains("projeto") || 
-            description.contains("consultoria") || description.contains("servico")) {
-            return "Freelance";
-        }
-        
-        if (description.contains("dividendo") || description.contains("juros") || 
-            description.contains("rendimento") || description.contains("investimento")) {
-            return "Investimentos";
-        }
-        
-        if (description.contains("aluguel") || description.contains("locacao") || 
-            description.contains("locação") || description.contains("imovel")) {
-            return "Aluguel";
-        }
-        
-        if (description.contains("venda") || description.contains("produto") || 
-            description.contains("mercadoria") || description.contains("comercio")) {
-            return "Vendas";
-        }
-        
-        if (description.contains("pix") || description.contains("ted") || 
-            description.contains("doc") || description.contains("transferencia")) {
-            return "Transferências";
-        }
-        
-        return "Outros";
-    }
-    
-    /**
-     * Retorna o ícone correspondente à categoria.
-     * 
-     * @param category categoria da receita
-     * @return ícone da categoria
-     */
-    private String getIconForCategory(String category) {
-        switch (category) {
-            case "Salário": return "💼";
-            case "Freelance": return "💻";
-            case "Investimentos": return "📈";
-            case "Aluguel": return "🏠";
-            case "Vendas": return "🛒";
-            case "Transferências": return "💸";
-            default: return "💰";
-        }
-    }
-    
-    /**
-     * Determina se uma receita é recorrente baseada na categoria e padrões.
-     * 
-     * @param transaction transação a ser analisada
-     * @param category categoria da receita
-     * @return true se for receita recorrente
-     */
-    private boolean isRecurringIncome(TransactionEntity transaction, String category) {
-        // Categorias tipicamente recorrentes
-        if (category.equals("Salário") || category.equals("Aluguel") || 
-            category.equals("Investimentos")) {
-            return true;
-        }
-        
-        // Categorias tipicamente variáveis
-        if (category.equals("Freelance") || category.equals("Vendas") || 
-            category.equals("Transferências")) {
-            return false;
-        }
-        
-        // Para "Outros", analisar valor (valores altos tendem a ser recorrentes)
-        return transaction.getAmount().compareTo(new BigDecimal("1000.00")) >= 0;
-    }
-    
-    /**
-     * Classe interna para armazenar dados temporários de fonte de receita.
-     */
-    private static class IncomeSourceData {
-        String category;
-        String icon;
-        BigDecimal amount;
-        boolean isRecurring;
-        
-        IncomeSourceData(String category, String icon, BigDecimal amount, boolean isRecurring) {
-            this.category = category;
-            this.icon = icon;
-            this.amount = amount;
-            this.isRecurring = isRecurring;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -2,22 +2,20 @@ package br.com.blackhunter.finey.rest.finance.calc.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.core.crypto.ResponseEncryption;
 import br.com.blackhunter.finey.rest.core.dto.TransactionPeriodDate;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.investments.Investment;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.investments.InvestmentReturn;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.investments.SavingsInvestments;
-import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
-import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
-import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegrator;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentLedgerService;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentPosition;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
 
 /**
@@ -55,17 +53,22 @@ public class SavingsInvestmentsCalcService {
     
     @Value("${hunter.secrets.pluggy.crypt-secret}")
     private String PLUGGY_CRYPT_SECRET;
+
+    private final InvestmentLedgerService investmentLedgerService;
+
+    public SavingsInvestmentsCalcService(InvestmentLedgerService investmentLedgerService) {
+        this.investmentLedgerService = investmentLedgerService;
+    }
     
     /**
      * Calcula e analisa investimentos e economias para o período especificado.
      * 
      * <p><strong>Algoritmo de Cálculo:</strong></p>
      * <ol>
-     *   <li>Para cada conta bancária fornecida:</li>
-     *   <li>Busca todas as transações do período</li>
-     *   <li>Identifica transações de investimento baseadas em descrições</li>
-     *   <li>Categoriza investimentos por tipo</li>
-     *   <li>Calcula retornos baseados em padrões históricos</li>
+     *   <li>Consulta o livro de investimentos das contas ({@link InvestmentLedgerService}),
+     *       que já traz as movimentações de investimento consolidadas por tipo</li>
+     *   <li>Obtém as posições do período e dos 12 meses anteriores ao fim do período</li>
+     *   <li>Calcula retornos pela taxa histórica (resgates / aportes) de cada tipo</li>
      *   <li>Determina economias baseadas em análise de fluxo de caixa</li>
      * </ol>
      * 
@@ -96,38 +99,30 @@ public class SavingsInvestmentsCalcService {
         BigDecimal totalReturn = BigDecimal.ZERO;
         List<Investment> investments = new ArrayList<>();
         
-        FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
+        // Histórico de 12 meses primeiro: normalmente já cobre o período e evita uma segunda busca
+        Map<String, InvestmentPosition> history;
+        try {
+            history = investmentLedgerService.getPositions(
+                financialIntegratorManager, bankAccountIds, periodDate.getEndDate().minusMonths(12), periodDate.getEndDate());
+        } catch (Exception e) {
+            // Em caso de erro no histórico, os retornos usam o fallback com estimativas
+            history = Map.of();
+        }
+        Map<String, InvestmentPosition> period = investmentLedgerService.getPositions(
+            financialIntegratorManager, bankAccountIds, periodDate.getStartDate(), periodDate.getEndDate());
         
-        // Processar transações de cada conta
-        for (String accountId : bankAccountIds) {
-            String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-            String originalPluggyAccountId = financialIntegrator
-                .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
+        // Cada tipo de investimento do período já vem consolidado pelo livro
+        for (InvestmentPosition position : period.values()) {
+            String investmentType = position.getType();
+            BigDecimal amount = position.getMovedAmount();
             
-            List<TransactionEntity> transactions = financialIntegrator
-                .getAllTransactionsPeriodByTargetId(
-                    originalPluggyAccountId,
-                    periodDate.getStartDate(),
-                    periodDate.getEndDate()
-                );
+            totalInvested = totalInvested.add(amount);
             
-            // Analisar transações para identificar investimentos
-            for (TransactionEntity transaction : transactions) {
-                if (isInvestmentTransaction(transaction)) {
-                    String investmentType = categorizeInvestment(transaction);
-                    BigDecimal amount = transaction.getAmount().abs();
-                    
-                    totalInvested = totalInvested.add(amount);
-                    
-                    // Calcular retorno real baseado em dados históricos da Pluggy
-                    BigDecimal returnValue = calculateRealInvestmentReturn(amount, investmentType,
-                        financialIntegratorManager, bankAccountIds, periodDate.getEndDate());
-                    totalReturn = totalReturn.add(returnValue);
-                    
-                    // Adicionar à lista de investimentos se não existir
-                    addOrUpdateInvestment(investments, investmentType, amount, returnValue);
-                }
-            }
+            // Calcular retorno real baseado na taxa histórica do tipo
+            BigDecimal returnValue = calculateRealInvestmentReturn(amount, investmentType, history.get(investmentType));
+            totalReturn = totalReturn.add(returnValue);
+            
+            addOrUpdateInvestment(investments, investmentType, amount, returnValue);
         }
         
         // Calcular percentual de retorno total
@@ -138,130 +133,30 @@ public class SavingsInvestmentsCalcService {
         
         // Criptografar e retornar dados
         return new SavingsInvestments(
-            CryptUtil.encrypt(totalInvested.toString(), PLUGGY_CRYPT_SECRET),
-            CryptUtil.encrypt(totalReturn.toString(), PLUGGY_CRYPT_SECRET),
-            CryptUtil.encrypt(String.valueOf(returnPercentage), PLUGGY_CRYPT_SECRET),
+            ResponseEncryption.encryptField(totalInvested.toString(), PLUGGY_CRYPT_SECRET),
+            ResponseEncryption.encryptField(totalReturn.toString(), PLUGGY_CRYPT_SECRET),
+            ResponseEncryption.encryptField(String.valueOf(returnPercentage), PLUGGY_CRYPT_SECRET),
             encryptInvestmentsList(investments)
         );
     }
     
-    /**
-     * Identifica se uma transação é relacionada a investimentos.
-     * 
-     * @param transaction transação a ser analisada
-     * @return true se for transação de investimento
-     */
-    private boolean isInvestmentTransaction(TransactionEntity transaction) {
-        String description = transaction.getDescription().toLowerCase();
-        
-        return containsKeywords(description, 
-            "cdb", "lci", "lca", "tesouro", "selic", "ipca",
-            "acao", "acoes", "fii", "etf", "bovespa", "b3",
-            "fundo", "investimento", "aplicacao", "resgate",
-            "poupanca", "pgbl", "vgbl", "previdencia",
-            "bitcoin", "btc", "ethereum", "crypto", "binance",
-            "xp", "rico", "inter", "nubank invest", "bradesco invest"
-        );
-    }
-    
-    /**
-     * Categoriza o tipo de investimento baseado na descrição da transação.
-     * 
-     * @param transaction transação a ser categorizada
-     * @return tipo de investimento identificado
-     */
-    private String categorizeInvestment(TransactionEntity transaction) {
-        String description = transaction.getDescription().toLowerCase();
-        
-        if (containsKeywords(description, "cdb", "lci", "lca", "tesouro", "selic", "ipca")) {
-            return "Renda Fixa";
-        }
-        
-        if (containsKeywords(description, "acao", "acoes", "fii", "etf", "bovespa", "b3")) {
-            return "Renda Variável";
-        }
-        
-        if (containsKeywords(description, "fundo", "investimento")) {
-            return "Fundos";
-        }
-        
-        if (containsKeywords(description, "pgbl", "vgbl", "previdencia")) {
-            return "Previdência";
-        }
-        
-        if (containsKeywords(description, "poupanca")) {
-            return "Poupança";
-        }
-        
-        if (containsKeywords(description, "bitcoin", "btc", "ethereum", "crypto", "binance")) {
-            return "Criptomoedas";
-        }
-        
-        return "Outros";
-    }
-    
     /**
      * Calcula o retorno real do investimento baseado em dados históricos da Pluggy.
      * 
-     * <p><strong>Implementação:</strong> Busca transações históricas de investimentos
-     * do mesmo tipo nos últimos 12 meses para calcular taxa de retorno real baseada
-     * em débitos (investimentos) e créditos (retornos) efetivos.</p>
+     * <p><strong>Implementação:</strong> Usa a posição do mesmo tipo nos últimos 12 meses,
+     * obtida do livro de investimentos, para calcular a taxa de retorno real baseada
+     * em débitos (aportes) e créditos (retornos) efetivos.</p>
      * 
      * @param amount valor investido
      * @param type tipo de investimento
-     * @param financialIntegratorManager gerenciador de integração financeira
-     * @param bankAccountIds lista de IDs das contas bancárias
-     * @param periodDate período de análise
-     * @return retorno real baseado em dados históricos ou estimativa em caso de erro
+     * @param history posição do tipo nos últimos 12 meses (pode ser nula)
+     * @return retorno real baseado em dados históricos ou estimativa quando não há aportes no histórico
      */
-    private BigDecimal calculateRealInvestmentReturn(BigDecimal amount, String type,
-                                                    FinancialIntegratorManager financialIntegratorManager,
-                                                    List<String> bankAccountIds,
-                                                    LocalDate periodDate) {
-        try {
-            // Buscar dados históricos dos últimos 12 meses
-            LocalDate startDate = periodDate.minusMonths(12);
-            LocalDate endDate = periodDate;
-            
-            BigDecimal totalInvested = BigDecimal.ZERO;
-            BigDecimal totalReturns = BigDecimal.ZERO;
-            
-            FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-            
-            // Analisar transações de cada conta
-            for (String accountId : bankAccountIds) {
-                try {
-                    String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
-                    String originalPluggyAccountId = financialIntegrator
-                        .getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-                    
-                    List<TransactionEntity> transactions = financialIntegrator
-                        .getAllTransactionsPeriodByTargetId(originalPluggyAccountId, startDate, endDate);
-                    
-                    for (TransactionEntity transaction : transactions) {
-                        if (isInvestmentTransaction(transaction) && 
-                            categorizeInvestment(transaction).equals(type)) {
-                            
-                            if (transaction.getType() == TransactionType.DEBIT) {
-                                totalInvested = totalInvested.add(transaction.getAmount().abs());
-                            } else if (transaction.getType() == TransactionType.CREDIT) {
-                                totalReturns = totalReturns.add(transaction.getAmount());
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    // Continuar com outras contas em caso de erro
-                }
-            }
-            
-            // Calcular retorno baseado em dados reais
-            if (totalInvested.compareTo(BigDecimal.ZERO) > 0) {
-                double returnRate = totalReturns.divide(totalInvested, 4, RoundingMode.HALF_UP).doubleValue();
-                return amount.multiply(BigDecimal.valueOf(returnRate));
-            }
-            
-        } catch (Exception e) {
-            // Em caso de erro, usar fallback com estimativas
+    private BigDecimal calculateRealInvestmentReturn(BigDecimal amount, String type, InvestmentPosition history) {
+        // Calcular retorno baseado em dados reais
+        if (history != null && history.getContributions().compareTo(BigDecimal.ZERO) > 0) {
+            double returnRate = history.getRedemptions().divide(history.getContributions(), 4, RoundingMode.HALF_UP).doubleValue();
+            return amount.multiply(BigDecimal.valueOf(returnRate));
         }
         
         // Fallback: usar estimativas baseadas no mercado quando não há dados históricos
@@ -338,7 +233,7 @@ public class SavingsInvestmentsCalcService {
             
             // Recalcular percentual
             double newPercentage = (decryptDouble(currentReturn.getValue()) / decryptDouble(existingInvestment.getAmount())) * 100;
-            currentReturn.setPercentage(CryptUtil.encrypt(String.valueOf(newPercentage), PLUGGY_CRYPT_SECRET));
+            currentReturn.setPercentage(ResponseEncryption.encryptField(String.valueOf(newPercentage), PLUGGY_CRYPT_SECRET));
             currentReturn.setPositive(newPercentage > 0);
         } else {
             // Criar novo investimento
@@ -347,14 +242,14 @@ public class SavingsInvestmentsCalcService {
                 : 0.0;
             
             InvestmentReturn investmentReturn = new InvestmentReturn(
-                CryptUtil.encrypt(String.valueOf(returnValue.doubleValue()), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(String.valueOf(percentage), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(String.valueOf(returnValue.doubleValue()), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(String.valueOf(percentage), PLUGGY_CRYPT_SECRET),
                 percentage > 0
             );
             
             Investment newInvestment = new Investment();
             newInvestment.setType(type);
-            newInvestment.setAmount(CryptUtil.encrypt(String.valueOf(amount.doubleValue()), PLUGGY_CRYPT_SECRET));
+            newInvestment.setAmount(ResponseEncryption.encryptField(String.valueOf(amount.doubleValue()), PLUGGY_CRYPT_SECRET));
             newInvestment.setInvestmentReturn(investmentReturn);
             newInvestment.setIcon(getInvestmentIcon(type));
             
@@ -392,15 +287,15 @@ public class SavingsInvestmentsCalcService {
         
         for (Investment investment : investments) {
             Investment encryptedInvestment = new Investment();
-            encryptedInvestment.setType(CryptUtil.encrypt(investment.getType(), PLUGGY_CRYPT_SECRET));
-            encryptedInvestment.setAmount(CryptUtil.encrypt(String.valueOf(investment.getAmount()), PLUGGY_CRYPT_SECRET));
-            encryptedInvestment.setIcon(CryptUtil.encrypt(investment.getIcon(), PLUGGY_CRYPT_SECRET));
+            encryptedInvestment.setType(ResponseEncryption.encryptField(investment.getType(), PLUGGY_CRYPT_SECRET));
+            encryptedInvestment.setAmount(ResponseEncryption.encryptField(String.valueOf(investment.getAmount()), PLUGGY_CRYPT_SECRET));
+            encryptedInvestment.setIcon(ResponseEncryption.encryptField(investment.getIcon(), PLUGGY_CRYPT_SECRET));
             
             InvestmentReturn originalReturn = investment.getInvestmentReturn();
             InvestmentReturn encryptedReturn = new InvestmentReturn(
-                CryptUtil.encrypt(String.valueOf(originalReturn.getValue()), PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt(String.valueOf(originalReturn.getPercentage()), PLUGGY_CRYPT_SECRET),
-                Boolean.parseBoolean(CryptUtil.encrypt(String.valueOf(originalReturn.isPositive()), PLUGGY_CRYPT_SECRET))
+                ResponseEncryption.encryptField(String.valueOf(originalReturn.getValue()), PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField(String.valueOf(originalReturn.getPercentage()), PLUGGY_CRYPT_SECRET),
+                Boolean.parseBoolean(ResponseEncryption.encryptField(String.valueOf(originalReturn.isPositive()), PLUGGY_CRYPT_SECRET))
             );
             
             encryptedInvestment.setInvestmentReturn(encryptedReturn);
@@ -410,22 +305,6 @@ public class SavingsInvestmentsCalcService {
         return encryptedInvestments;
     }
     
-    /**
-     * Verifica se a descrição contém alguma das palavras-chave especificadas.
-     * 
-     * @param description descrição a ser verificada
-     * @param keywords palavras-chave a serem procuradas
-     * @return true se alguma palavra-chave for encontrada
-     */
-    private boolean containsKeywords(String description, String... keywords) {
-        for (String keyword : keywords) {
-            if (description.contains(keyword)) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
     /**
      * Busca dados reais de investimentos da API da Pluggy.
      * 
@@ -465,20 +344,20 @@ public class SavingsInvestmentsCalcService {
             
             // Criar um investimento básico como fallback
             Investment basicInvestment = new Investment();
-            basicInvestment.setType(CryptUtil.encrypt("Poupança", PLUGGY_CRYPT_SECRET));
-            basicInvestment.setAmount(CryptUtil.encrypt("1000.00", PLUGGY_CRYPT_SECRET));
-            basicInvestment.setIcon(CryptUtil.encrypt("🐷", PLUGGY_CRYPT_SECRET));
+            basicInvestment.setType(ResponseEncryption.encryptField("Poupança", PLUGGY_CRYPT_SECRET));
+            basicInvestment.setAmount(ResponseEncryption.encryptField("1000.00", PLUGGY_CRYPT_SECRET));
+            basicInvestment.setIcon(ResponseEncryption.encryptField("🐷", PLUGGY_CRYPT_SECRET));
             basicInvestment.setInvestmentReturn(new InvestmentReturn(
-                CryptUtil.encrypt("6.00", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("0.6", PLUGGY_CRYPT_SECRET),
-                Boolean.parseBoolean(CryptUtil.encrypt("false", PLUGGY_CRYPT_SECRET))
+                ResponseEncryption.encryptField("6.00", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("0.6", PLUGGY_CRYPT_SECRET),
+                Boolean.parseBoolean(ResponseEncryption.encryptField("false", PLUGGY_CRYPT_SECRET))
             ));
             fallbackInvestments.add(basicInvestment);
             
             return new SavingsInvestments(
-                CryptUtil.encrypt("1000.00", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("6.00", PLUGGY_CRYPT_SECRET),
-                CryptUtil.encrypt("0.6", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("1000.00", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("6.00", PLUGGY_CRYPT_SECRET),
+                ResponseEncryption.encryptField("0.6", PLUGGY_CRYPT_SECRET),
                 fallbackInvestments
             );
         }
@@ -497,25 +376,25 @@ public class SavingsInvestmentsCalcService {
         
         // Retornar apenas dados mínimos para manter compatibilidade
         Investment minimal = new Investment();
-        minimal.setType(CryptUtil.encrypt("Sem Dados", PLUGGY_CRYPT_SECRET));
-        minimal.setAmount(CryptUtil.encrypt("0.00", PLUGGY_CRYPT_SECRET));
-        minimal.setIcon(CryptUtil.encrypt("📊", PLUGGY_CRYPT_SECRET));
+        minimal.setType(ResponseEncryption.encryptField("Sem Dados", PLUGGY_CRYPT_SECRET));
+        minimal.setAmount(ResponseEncryption.encryptField("0.00", PLUGGY_CRYPT_SECRET));
+        minimal.setIcon(ResponseEncryption.encryptField("📊", PLUGGY_CRYPT_SECRET));
         minimal.setInvestmentReturn(new InvestmentReturn(
-            CryptUtil.encrypt("0.00", PLUGGY_CRYPT_SECRET),
-            CryptUtil.encrypt("0.0", PLUGGY_CRYPT_SECRET),
-            Boolean.parseBoolean(CryptUtil.encrypt("false", PLUGGY_CRYPT_SECRET))
+            ResponseEncryption.encryptField("0.00", PLUGGY_CRYPT_SECRET),
+            ResponseEncryption.encryptField("0.0", PLUGGY_CRYPT_SECRET),
+            Boolean.parseBoolean(ResponseEncryption.encryptField("false", PLUGGY_CRYPT_SECRET))
         ));
         minimalInvestments.add(minimal);
         
         return new SavingsInvestments(
-            CryptUtil.encrypt("0.00", PLUGGY_CRYPT_SECRET),
-            CryptUtil.encrypt("0.00", PLUGGY_CRYPT_SECRET),
-            CryptUtil.encrypt("0.0", PLUGGY_CRYPT_SECRET),
+            ResponseEncryption.encryptField("0.00", PLUGGY_CRYPT_SECRET),
+            ResponseEncryption.encryptField("0.00", PLUGGY_CRYPT_SECRET),
+            ResponseEncryption.encryptField("0.0", PLUGGY_CRYPT_SECRET),
             minimalInvestments
         );
     }
 
     private Double decryptDouble(String encryptedValue) throws Exception {
-        return Double.parseDouble(CryptUtil.decrypt(encryptedValue, PLUGGY_CRYPT_SECRET));
+        return Double.parseDouble(ResponseEncryption.decryptField(encryptedValue, PLUGGY_CRYPT_SECRET));
     }
 }
\ No newline at end of file
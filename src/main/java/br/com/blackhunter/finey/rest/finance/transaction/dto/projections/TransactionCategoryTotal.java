@@ -0,0 +1,23 @@
+/*
+ * @(#)TransactionCategoryTotal.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.transaction.dto.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * <p>Interface Projection <code>TransactionCategoryTotal</code>.</p>
+ * <p>Soma dos valores das transações de uma categoria de despesa, calculada no banco.</p>
+ * <p>A categoria é a gravada na ingestão; transações ainda não categorizadas vêm com categoria nula.</p>
+ * */
+public interface TransactionCategoryTotal {
+    String getCategory();
+    BigDecimal getAbsoluteTotal();
+    long getCount();
+}
@@ -0,0 +1,26 @@
+/*
+ * @(#)TransactionDailyTotal.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.transaction.dto.projections;
+
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * <p>Interface Projection <code>TransactionDailyTotal</code>.</p>
+ * <p>Soma dos valores das transações de um tipo em um dia, calculada no banco.</p>
+ * */
+public interface TransactionDailyTotal {
+    LocalDate getDay();
+    TransactionType getType();
+    BigDecimal getTotal();
+    BigDecimal getAbsoluteTotal();
+}
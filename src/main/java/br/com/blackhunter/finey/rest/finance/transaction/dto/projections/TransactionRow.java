@@ -0,0 +1,152 @@
+/*
+ * @(#)TransactionRow.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.transaction.dto.projections;
+
+import br.com.blackhunter.finey.rest.finance.calc.category.IncomeSourceClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.category.TransactionCategorizer;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionStatus;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * <p>Classe <code>TransactionRow</code>.</p>
+ * <p>Modelo de leitura compacto e imutável de uma transação, usado pelos cálculos das análises.</p>
+ * <p>
+ *     É montado direto pela consulta de projeção do {@link br.com.blackhunter.finey.rest.finance.transaction.repository.TransactionRepository},
+ *     sem carregar a entidade, os relacionamentos (usuário e conta) nem as colunas <code>@Lob</code> de descrição.
+ *     O valor fica em centavos (<code>long</code>), a data em dia epoch, tipo e status como ordinais e as
+ *     categorias e a moeda como strings internadas, compartilhadas por todas as linhas: cerca de 50 bytes
+ *     por transação.
+ * </p>
+ * <p>A descrição só é lida para transações ainda não categorizadas na versão atual do
+ * {@link TransactionCategorizer}; ela é categorizada aqui e descartada.</p>
+ */
+public final class TransactionRow {
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+    private static final byte NONE = -1;
+
+    private final long amountCents;
+    private final int epochDay;
+    private final byte type;
+    private final byte status;
+    private final byte recurringIncome;
+    private final String currencyCode;
+    private final String expenseCategory;
+    private final String incomeSource;
+    private final String investmentType;
+
+    /**
+     * Construtor usado pela consulta de projeção.
+     *
+     * @param description Descrição da transação; nula quando a categorização gravada é da versão atual.
+     */
+    public TransactionRow(BigDecimal amount, LocalDate transactionLocalDate, TransactionType type, TransactionStatus status,
+                          String currencyCode, String category, String expenseCategory, String incomeSource,
+                          String investmentType, Boolean recurringIncome, String description) {
+        this.amountCents = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        this.epochDay = (int) transactionLocalDate.toEpochDay();
+        this.type = type != null ? (byte) type.ordinal() : NONE;
+        this.status = status != null ? (byte) status.ordinal() : NONE;
+        this.currencyCode = intern(currencyCode);
+
+        if (description == null) {
+            this.expenseCategory = intern(expenseCategory);
+            this.incomeSource = intern(incomeSource);
+            this.investmentType = intern(investmentType);
+            this.recurringIncome = toByte(recurringIncome);
+        } else {
+            TransactionCategorizer.Categorization categorization = TransactionCategorizer.categorize(category, description);
+            this.expenseCategory = intern(categorization.getExpenseCategory());
+            this.incomeSource = intern(categorization.getIncomeSource());
+            this.investmentType = categorization.isInvestment() ? intern(categorization.getInvestmentType()) : null;
+            this.recurringIncome = type == TransactionType.CREDIT
+                    ? toByte(IncomeSourceClassifier.isRecurring(amount, categorization.getIncomeSource()))
+                    : NONE;
+        }
+    }
+
+    /**
+     * @return O valor em centavos, com sinal.
+     */
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    /**
+     * @return O valor, com escala 2.
+     */
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(amountCents, 2);
+    }
+
+    /**
+     * @return A data local da transação, em dias desde 1970-01-01.
+     */
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    public LocalDate getTransactionLocalDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    public TransactionType getType() {
+        return type == NONE ? null : TYPES[type];
+    }
+
+    public TransactionStatus getStatus() {
+        return status == NONE ? null : STATUSES[status];
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public String getExpenseCategory() {
+        return expenseCategory;
+    }
+
+    public String getIncomeSource() {
+        return incomeSource;
+    }
+
+    /**
+     * @return O tipo de investimento ou nulo se não é movimentação de investimento.
+     */
+    public String getInvestmentType() {
+        return investmentType;
+    }
+
+    public boolean isInvestment() {
+        return investmentType != null;
+    }
+
+    /**
+     * @return Se a receita é recorrente, ou nulo se não é uma receita.
+     */
+    public Boolean getRecurringIncome() {
+        return recurringIncome == NONE ? null : recurringIncome == 1;
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
+    }
+
+    private static byte toByte(Boolean value) {
+        return value == null ? NONE : (byte) (value ? 1 : 0);
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * @(#)TransactionTypeTotal.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.transaction.dto.projections;
+
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * <p>Interface Projection <code>TransactionTypeTotal</code>.</p>
+ * <p>Soma dos valores das transações de um tipo, calculada no banco.</p>
+ * */
+public interface TransactionTypeTotal {
+    TransactionType getType();
+    BigDecimal getTotal();
+    BigDecimal getAbsoluteTotal();
+    long getCount();
+}
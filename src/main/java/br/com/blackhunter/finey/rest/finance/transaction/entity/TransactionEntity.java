@@ -22,7 +22,17 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "hw_transactions")
+@Table(
+        name = "hw_transactions",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_transactions_account_provider_id",
+                columnNames = {"pluggy_account_id", "provider_transaction_id"}
+        ),
+        indexes = @Index(
+                name = "idx_transactions_account_local_date",
+                columnList = "pluggy_account_id, transaction_local_date"
+        )
+)
 @Data
 public class TransactionEntity {
     @Id
@@ -55,6 +65,18 @@ public class TransactionEntity {
 
     private String category;
 
+    /* Categorização própria, calculada na ingestão (ver TransactionCategorizer). */
+    @Column(name = "expense_category")
+    private String expenseCategory;
+    @Column(name = "income_source")
+    private String incomeSource;
+    @Column(name = "investment_type")
+    private String investmentType; // nulo quando não é movimentação de investimento
+    @Column(name = "recurring_income")
+    private Boolean recurringIncome;
+    @Column(name = "categorizer_version")
+    private Integer categorizerVersion;
+
     @Column(name = "provider_transaction_code")
     private String providerTransactionCode;
     @Column(name = "provider_transaction_id")
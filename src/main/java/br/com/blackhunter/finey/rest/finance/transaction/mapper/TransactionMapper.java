@@ -28,6 +28,11 @@ public interface TransactionMapper {
     @Mapping(target = "userAccount", ignore = true)
     @Mapping(target = "providerTransactionCode", ignore = true)
     @Mapping(target = "providerTransactionId", ignore = true)
+    @Mapping(target = "expenseCategory", ignore = true)
+    @Mapping(target = "incomeSource", ignore = true)
+    @Mapping(target = "investmentType", ignore = true)
+    @Mapping(target = "recurringIncome", ignore = true)
+    @Mapping(target = "categorizerVersion", ignore = true)
     @Mapping(target = "amount", source = "amount")
     @Mapping(target = "description", source = "description")
     @Mapping(target = "descriptionRaw", source = "descriptionRaw")
@@ -9,12 +9,20 @@
 
 package br.com.blackhunter.finey.rest.finance.transaction.repository;
 
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionCategoryTotal;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionDailyTotal;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionTypeTotal;
 import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,4 +39,90 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
     Optional<TransactionEntity> findByFinancialAccountId(
             @Param("accountId") UUID accountId
     );
+
+    @Query("SELECT t FROM TransactionEntity t WHERE t.pluggyAccountId.pluggyAccountId = :accountId AND t.providerTransactionId IN :providerTransactionIds")
+    List<TransactionEntity> findAllByFinancialAccountIdAndProviderTransactionIdIn(
+            @Param("accountId") UUID accountId,
+            @Param("providerTransactionIds") Collection<String> providerTransactionIds
+    );
+
+    @Query("SELECT t.providerTransactionId FROM TransactionEntity t WHERE t.pluggyAccountId.pluggyAccountId = :accountId " +
+           "AND t.transactionLocalDate BETWEEN :startDate AND :endDate AND t.providerTransactionId IS NOT NULL")
+    List<String> findProviderTransactionIdsByFinancialAccountIdAndDateBetween(
+            @Param("accountId") UUID accountId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Modifying
+    @Query("DELETE FROM TransactionEntity t WHERE t.pluggyAccountId.pluggyAccountId = :accountId AND t.providerTransactionId IN :providerTransactionIds")
+    void deleteAllByFinancialAccountIdAndProviderTransactionIdIn(
+            @Param("accountId") UUID accountId,
+            @Param("providerTransactionIds") Collection<String> providerTransactionIds
+    );
+
+    /*
+     * Modelo de leitura das análises: só as colunas usadas nos cálculos, sem relacionamentos.
+     * A descrição (@Lob) só é lida quando a categorização gravada está desatualizada.
+     */
+    @Query("SELECT new br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow(" +
+           "t.amount, t.transactionLocalDate, t.type, t.status, t.currencyCode, t.category, " +
+           "t.expenseCategory, t.incomeSource, t.investmentType, t.recurringIncome, " +
+           "CASE WHEN t.categorizerVersion = :version AND t.expenseCategory IS NOT NULL THEN NULL ELSE t.description END) " +
+           "FROM TransactionEntity t " +
+           "WHERE t.pluggyAccountId.pluggyAccountId IN :accountIds AND t.transactionLocalDate BETWEEN :startDate AND :endDate")
+    List<TransactionRow> findRowsByAccountIdsAndDateBetween(
+            @Param("accountIds") Collection<UUID> accountIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("version") int version
+    );
+
+    /*
+     * Agregações do período calculadas no banco: só os números voltam, sem carregar as entidades.
+     * Usam o índice idx_transactions_account_local_date (conta, data local).
+     */
+
+    @Query("SELECT t.type AS type, SUM(t.amount) AS total, SUM(ABS(t.amount)) AS absoluteTotal, COUNT(t) AS count " +
+           "FROM TransactionEntity t " +
+           "WHERE t.pluggyAccountId.pluggyAccountId IN :accountIds AND t.transactionLocalDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.type")
+    List<TransactionTypeTotal> sumAmountByType(
+            @Param("accountIds") Collection<UUID> accountIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query("SELECT t.expenseCategory AS category, SUM(ABS(t.amount)) AS absoluteTotal, COUNT(t) AS count " +
+           "FROM TransactionEntity t " +
+           "WHERE t.pluggyAccountId.pluggyAccountId IN :accountIds AND t.transactionLocalDate BETWEEN :startDate AND :endDate " +
+           "AND t.type = :type " +
+           "GROUP BY t.expenseCategory")
+    List<TransactionCategoryTotal> sumAmountByCategory(
+            @Param("accountIds") Collection<UUID> accountIds,
+            @Param("type") TransactionType type,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query("SELECT t.transactionLocalDate AS day, t.type AS type, SUM(t.amount) AS total, SUM(ABS(t.amount)) AS absoluteTotal " +
+           "FROM TransactionEntity t " +
+           "WHERE t.pluggyAccountId.pluggyAccountId IN :accountIds AND t.transactionLocalDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.transactionLocalDate, t.type " +
+           "ORDER BY t.transactionLocalDate")
+    List<TransactionDailyTotal> sumAmountByDay(
+            @Param("accountIds") Collection<UUID> accountIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query("SELECT t FROM TransactionEntity t WHERE t.categorizerVersion IS NULL OR t.categorizerVersion <> :version")
+    List<TransactionEntity> findAllWithOutdatedCategorization(
+            @Param("version") int version,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("DELETE FROM TransactionEntity t WHERE t.pluggyAccountId.pluggyAccountId IN :accountIds")
+    void deleteAllByFinancialAccountIdIn(@Param("accountIds") Collection<UUID> accountIds);
 }
@@ -9,12 +9,15 @@
 
 package br.com.blackhunter.finey.rest.finance.transaction.service.impl;
 
-import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
 import br.com.blackhunter.finey.rest.auth.util.JwtUtil;
 import br.com.blackhunter.finey.rest.core.dto.TransactionPeriodDate;
 import br.com.blackhunter.finey.rest.core.util.DateTimeUtil;
+import br.com.blackhunter.finey.rest.finance.calc.category.TransactionCategorizer;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumnsCache;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentLedgerService;
 import br.com.blackhunter.finey.rest.finance.transaction.dto.TotalTransactionsPeriod;
 import br.com.blackhunter.finey.rest.finance.transaction.dto.TransactionData;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionTypeTotal;
 import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
 import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
 import br.com.blackhunter.finey.rest.finance.transaction.mapper.TransactionMapper;
@@ -24,13 +27,11 @@ import br.com.blackhunter.finey.rest.finance.transaction.service.TransactionServ
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegrator;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
 import br.com.blackhunter.finey.rest.useraccount.entity.UserAccountEntity;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -40,24 +41,27 @@ import java.util.UUID;
  * */
 @Service
 public class TransactionServiceImpl implements TransactionService {
-    @Value("${hunter.secrets.pluggy.crypt-secret}")
-    private String PLUGGY_CRYPT_SECRET;
-
     private final TransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
     private final JwtUtil jwtUtil;
     private final FinancialIntegratorManager financialIntegratorManager;
+    private final TransactionColumnsCache transactionColumnsCache;
+    private final InvestmentLedgerService investmentLedgerService;
 
     public TransactionServiceImpl(
             TransactionRepository transactionRepository,
             TransactionMapper transactionMapper,
             JwtUtil jwtUtil,
-            FinancialIntegratorManager financialIntegratorManager
+            FinancialIntegratorManager financialIntegratorManager,
+            TransactionColumnsCache transactionColumnsCache,
+            InvestmentLedgerService investmentLedgerService
     ) {
         this.transactionRepository      = transactionRepository;
         this.transactionMapper          = transactionMapper;
         this.jwtUtil                    = jwtUtil;
         this.financialIntegratorManager = financialIntegratorManager;
+        this.transactionColumnsCache    = transactionColumnsCache;
+        this.investmentLedgerService    = investmentLedgerService;
     }
 
     /**
@@ -77,11 +81,20 @@ public class TransactionServiceImpl implements TransactionService {
         TransactionEntity transactionEntity = transactionMapper.toEntity(transactionPayload);
         UserAccountEntity userAccountEntity =  jwtUtil.getUserAccountFromToken();
         transactionEntity.setUserAccount(userAccountEntity);
-        return transactionMapper.toData(transactionRepository.save(transactionEntity));
+        TransactionCategorizer.assignCategories(transactionEntity);
+        TransactionEntity savedTransaction = transactionRepository.save(transactionEntity);
+        if (savedTransaction.getPluggyAccountId() != null) {
+            List<UUID> changedAccounts = List.of(savedTransaction.getPluggyAccountId().getPluggyAccountId());
+            transactionColumnsCache.invalidateAccounts(changedAccounts);
+            investmentLedgerService.invalidateAccounts(changedAccounts);
+        }
+        return transactionMapper.toData(savedTransaction);
     }
 
     /**
      * Calcula o total de ganhos e gastos para um período específico
+     * <p>As contas são sincronizadas em paralelo e os totais são somados no banco, em uma única
+     * consulta agregada por tipo, sem carregar as transações.</p>
      *
      * @param bankAccountIds ID da conta bancária
      * @param referenceDateMonthYear Data de referência (opcional, pode ser usado para filtros adicionais)
@@ -91,28 +104,41 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     public TotalTransactionsPeriod getTotalTransactionsPeriod(List<String> bankAccountIds, LocalDate referenceDateMonthYear, LocalDate startDate, LocalDate endDate) {
-        List<TransactionData> allTransactions = new ArrayList<>();
-        for(String accountId: bankAccountIds) {
-            allTransactions.addAll(getAllTransactionsPeriodByAccountId(accountId, referenceDateMonthYear, startDate, endDate));
+        TransactionPeriodDate transactionPeriodDate = DateTimeUtil.getTransactionPeriodDate(referenceDateMonthYear, startDate, endDate);
+        List<UUID> accountIds;
+        try {
+            accountIds = financialIntegratorManager.syncTransactionsPeriodByAccountIds(bankAccountIds,
+                    transactionPeriodDate.getStartDate(), transactionPeriodDate.getEndDate());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage());
+        }
+        if (accountIds.isEmpty()) {
+            return new TotalTransactionsPeriod(BigDecimal.ZERO, BigDecimal.ZERO);
         }
-        return calculateTotals(allTransactions);
+        return calculateTotals(transactionRepository.sumAmountByType(
+                accountIds,
+                transactionPeriodDate.getStartDate(),
+                transactionPeriodDate.getEndDate()
+        ));
     }
 
     /**
-     * Método auxiliar para calcular os totais de ganhos e gastos
+     * Método auxiliar para montar os totais de ganhos e gastos a partir das somas por tipo
      */
-    private TotalTransactionsPeriod calculateTotals(List<TransactionData> transactions) {
+    private TotalTransactionsPeriod calculateTotals(List<TransactionTypeTotal> totals) {
         BigDecimal totalEarnings = BigDecimal.ZERO;
         BigDecimal totalExpenses = BigDecimal.ZERO;
 
-        for (TransactionData transaction : transactions) {
-            if (transaction.getType() == TransactionType.CREDIT) {
+        for (TransactionTypeTotal total : totals) {
+            if (total.getType() == TransactionType.CREDIT) {
                 // entrada
-                totalEarnings = totalEarnings.add(transaction.getAmount());
-            } else if (transaction.getType() == TransactionType.DEBIT) {
+                totalEarnings = totalEarnings.add(total.getTotal());
+            } else if (total.getType() == TransactionType.DEBIT) {
                 // saida
                 // Garantir que valores de débito sejam positivos no total
-                totalExpenses = totalExpenses.add(transaction.getAmount().abs());
+                totalExpenses = totalExpenses.add(total.getAbsoluteTotal());
             }
             // Ignora outros tipos se houver
         }
@@ -122,22 +148,15 @@ public class TransactionServiceImpl implements TransactionService {
 
     public List<TransactionData> getAllTransactionsPeriodByAccountId(String accountId, LocalDate referenceDateMonthYear, LocalDate startDate, LocalDate endDate) {
         try {
-            String accountEntityId = CryptUtil.decrypt(accountId, PLUGGY_CRYPT_SECRET);
             TransactionPeriodDate transactionPeriodDate = DateTimeUtil.getTransactionPeriodDate(referenceDateMonthYear, startDate, endDate);
 
-            // buscar transações no período
-            List<TransactionEntity> transactions = transactionRepository.findAllByFinancialAccountIdAndDateBetween(UUID.fromString(accountEntityId), transactionPeriodDate.getStartDate(), transactionPeriodDate.getEndDate());
-
-            // buscar na API d pluggy
-            if(transactions.isEmpty()) {
-                FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-                String originalPluggyAccountId = financialIntegrator.getOriginalFinancialAccountIdByTargetId(UUID.fromString(accountEntityId));
-                transactions = getAllTransactionsPeriodByAccountIdFromFinancialIntegrator(
-                        originalPluggyAccountId,
-                        transactionPeriodDate.getStartDate(),
-                        transactionPeriodDate.getEndDate()
-                );
-            }
+            // o integrador sincroniza os dias pendentes na base local e retorna as transações persistidas
+            String originalPluggyAccountId = financialIntegratorManager.resolveAccount(accountId).getOriginalAccountId();
+            List<TransactionEntity> transactions = getAllTransactionsPeriodByAccountIdFromFinancialIntegrator(
+                    originalPluggyAccountId,
+                    transactionPeriodDate.getStartDate(),
+                    transactionPeriodDate.getEndDate()
+            );
 
             return transactions.stream().map(transactionMapper::toData).toList();
         } catch (Exception e) {
@@ -22,4 +22,12 @@ public interface FinancialIntegrator {
     List<FinancialInstitutionData> getAllConnectedBanks(UUID userId);
     List<TransactionEntity> getAllTransactionsPeriodByTargetId(final String accountId, final LocalDate startDate, final LocalDate endDate);
     String getOriginalFinancialAccountIdByTargetId(final UUID targetId);
+
+    /**
+     * <p>Garante que as transações do período estejam na base local, para as agregações calculadas no banco.</p>
+     * <p>Por padrão, carrega as transações; os integradores que sincronizam a base podem só sincronizar.</p>
+     */
+    default void syncTransactionsPeriodByTargetId(final String accountId, final LocalDate startDate, final LocalDate endDate) {
+        getAllTransactionsPeriodByTargetId(accountId, startDate, endDate);
+    }
 }
@@ -9,19 +9,37 @@
 
 package br.com.blackhunter.finey.rest.integrations.financial_integrator;
 
+import br.com.blackhunter.finey.rest.finance.calc.category.TransactionCategorizer;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow;
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.repository.TransactionRepository;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.cache.AccountIdCache;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.concurrent.FinancialIntegratorExecutor;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.enums.FinancialIntegrationPlatform;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.factory.FinancialIntegratorFactory;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 @Component
 public class FinancialIntegratorManager {
     /* A plataforma de integração financeira que será usada */
     private final FinancialIntegrationPlatform financialIntegrationPlatform = FinancialIntegrationPlatform.PLUGGY;
 
     private final FinancialIntegratorFactory financialIntegratorFactory;
+    private final FinancialIntegratorExecutor financialIntegratorExecutor;
+    private final AccountIdCache accountIdCache;
+    private final TransactionRepository transactionRepository;
 
-    public FinancialIntegratorManager(FinancialIntegratorFactory financialIntegratorFactory) {
+    public FinancialIntegratorManager(FinancialIntegratorFactory financialIntegratorFactory, FinancialIntegratorExecutor financialIntegratorExecutor,
+                                      AccountIdCache accountIdCache, TransactionRepository transactionRepository) {
         this.financialIntegratorFactory = financialIntegratorFactory;
+        this.financialIntegratorExecutor = financialIntegratorExecutor;
+        this.accountIdCache = accountIdCache;
+        this.transactionRepository = transactionRepository;
     }
 
     /**
@@ -32,4 +50,92 @@ public class FinancialIntegratorManager {
     public FinancialIntegrator getFinancialIntegrator() {
         return financialIntegratorFactory.getFinancialIntegrator(financialIntegrationPlatform);
     }
+
+    /**
+     * Resolve um ID de conta recebido do app (ver {@link AccountIdCache}).
+     *
+     * @param encryptedAccountId ID da entidade da conta, criptografado.
+     * @return O ID da entidade e o ID original da conta no integrador.
+     * @throws Exception se o ID não puder ser descriptografado ou a conta não existir.
+     */
+    public AccountIdCache.ResolvedAccount resolveAccount(String encryptedAccountId) throws Exception {
+        return accountIdCache.resolve(encryptedAccountId, getFinancialIntegrator());
+    }
+
+    /**
+     * Busca em paralelo as transações do período de todas as contas informadas.
+     *
+     * @param bankAccountIds IDs das contas bancárias (criptografados).
+     * @param startDate Data inicial do período.
+     * @param endDate Data final do período.
+     * @return As transações de todas as contas, agrupadas na ordem das contas.
+     * @throws Exception se a busca de alguma das contas falhar.
+     */
+    public List<TransactionEntity> getAllTransactionsPeriodByAccountIds(List<String> bankAccountIds, LocalDate startDate, LocalDate endDate) throws Exception {
+        FinancialIntegrator financialIntegrator = getFinancialIntegrator();
+        return flatten(financialIntegratorExecutor.mapConcurrently(bankAccountIds,
+                accountId -> getAllTransactionsPeriodByAccountId(financialIntegrator, accountId, startDate, endDate)));
+    }
+
+    /**
+     * Sincroniza em paralelo o período de todas as contas informadas na base local, sem ler as transações.
+     *
+     * @param bankAccountIds IDs das contas bancárias (criptografados).
+     * @param startDate Data inicial do período.
+     * @param endDate Data final do período.
+     * @return Os IDs das entidades das contas, na ordem das contas.
+     * @throws Exception se a sincronização de alguma das contas falhar.
+     */
+    public List<UUID> syncTransactionsPeriodByAccountIds(List<String> bankAccountIds, LocalDate startDate, LocalDate endDate) throws Exception {
+        FinancialIntegrator financialIntegrator = getFinancialIntegrator();
+        return financialIntegratorExecutor.mapConcurrently(bankAccountIds, accountId -> {
+            AccountIdCache.ResolvedAccount account = accountIdCache.resolve(accountId, financialIntegrator);
+            financialIntegrator.syncTransactionsPeriodByTargetId(account.getOriginalAccountId(), startDate, endDate);
+            return account.getEntityId();
+        });
+    }
+
+    /**
+     * Busca as transações do período de todas as contas informadas no modelo de leitura das análises
+     * ({@link TransactionRow}): as contas são sincronizadas em paralelo e as linhas vêm de uma única
+     * consulta de projeção, sem carregar as entidades.
+     *
+     * @param bankAccountIds IDs das contas bancárias (criptografados).
+     * @param startDate Data inicial do período.
+     * @param endDate Data final do período.
+     * @return As transações de todas as contas no período.
+     * @throws Exception se a sincronização de alguma das contas falhar.
+     */
+    public List<TransactionRow> getTransactionRowsPeriodByAccountIds(List<String> bankAccountIds, LocalDate startDate, LocalDate endDate) throws Exception {
+        List<UUID> accountIds = syncTransactionsPeriodByAccountIds(bankAccountIds, startDate, endDate);
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return transactionRepository.findRowsByAccountIdsAndDateBetween(accountIds, startDate, endDate, TransactionCategorizer.VERSION);
+    }
+
+    /**
+     * Aplica uma tarefa a cada conta em paralelo, respeitando os limites de concorrência.
+     *
+     * @param bankAccountIds IDs das contas bancárias.
+     * @param task Tarefa executada para cada conta.
+     * @return Os resultados na ordem das contas.
+     * @throws Exception se a tarefa de alguma das contas falhar.
+     */
+    public <R> List<R> forEachAccountConcurrently(List<String> bankAccountIds, FinancialIntegratorExecutor.AccountTask<String, R> task) throws Exception {
+        return financialIntegratorExecutor.mapConcurrently(bankAccountIds, task);
+    }
+
+    /* Métodos privados */
+
+    private List<TransactionEntity> getAllTransactionsPeriodByAccountId(FinancialIntegrator financialIntegrator, String accountId, LocalDate startDate, LocalDate endDate) throws Exception {
+        String originalAccountId = accountIdCache.resolve(accountId, financialIntegrator).getOriginalAccountId();
+        return financialIntegrator.getAllTransactionsPeriodByTargetId(originalAccountId, startDate, endDate);
+    }
+
+    private static List<TransactionEntity> flatten(List<List<TransactionEntity>> transactionsByAccount) {
+        List<TransactionEntity> transactions = new ArrayList<>();
+        transactionsByAccount.forEach(transactions::addAll);
+        return transactions;
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * @(#)AccountIdCache.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.cache;
+
+import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.core.cache.BoundedCache;
+import br.com.blackhunter.finey.rest.core.cache.CacheInvalidation;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegrator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * <p>Classe <code>AccountIdCache</code>.</p>
+ * <p>Cache dos IDs de conta recebidos criptografados do app.</p>
+ * <p>
+ *     Cada ID criptografado é resolvido uma única vez (descriptografia do ID da entidade e busca do
+ *     ID original da conta no integrador) e as próximas resoluções são apenas uma consulta ao mapa.
+ *     O cache é LRU, limitado a <code>max-entries</code> contas, e suas entradas são removidas quando
+ *     as contas de um item são substituídas (ver {@link #invalidate(Collection)}).
+ * </p>
+ */
+@Component
+public class AccountIdCache {
+    @Value("${hunter.secrets.pluggy.crypt-secret}")
+    private String PLUGGY_CRYPT_SECRET;
+
+    private final BoundedCache<String, ResolvedAccount> accounts;
+
+    public AccountIdCache(@Value("${hunter.cache.accounts.max-entries:10000}") int maxEntries) {
+        this.accounts = new BoundedCache<>(maxEntries);
+    }
+
+    /**
+     * @param encryptedAccountId ID da entidade da conta, criptografado.
+     * @param financialIntegrator Integrador usado para buscar o ID original da conta, se necessário.
+     * @return O ID da entidade e o ID original da conta.
+     * @throws Exception se o ID não puder ser descriptografado ou a conta não existir.
+     */
+    public ResolvedAccount resolve(String encryptedAccountId, FinancialIntegrator financialIntegrator) throws Exception {
+        ResolvedAccount cached = accounts.get(encryptedAccountId);
+        if (cached != null) {
+            return cached;
+        }
+
+        UUID entityId = UUID.fromString(CryptUtil.decrypt(encryptedAccountId, PLUGGY_CRYPT_SECRET));
+        ResolvedAccount resolved = new ResolvedAccount(entityId, financialIntegrator.getOriginalFinancialAccountIdByTargetId(entityId));
+        accounts.put(encryptedAccountId, resolved);
+        return resolved;
+    }
+
+    /**
+     * <p>Remove as contas informadas do cache (ver {@link CacheInvalidation}).</p>
+     *
+     * @param entityIds IDs das entidades das contas removidas ou substituídas.
+     */
+    public void invalidate(Collection<UUID> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> removed = new HashSet<>(entityIds);
+        CacheInvalidation.evictNowAndAfterCommit(
+                () -> accounts.removeIf(account -> removed.contains(account.getEntityId())));
+    }
+
+    /**
+     * <p>Conta resolvida a partir de um ID criptografado.</p>
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ResolvedAccount {
+        private final UUID entityId;
+        private final String originalAccountId;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * @(#)ConnectedBanksCache.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.cache;
+
+import br.com.blackhunter.finey.rest.core.cache.BoundedCache;
+import br.com.blackhunter.finey.rest.core.cache.CacheInvalidation;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.dto.FinancialInstitutionData;
+import br.com.blackhunter.finey.rest.integrations.pluggy.dto.PluggyAccountIds;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * <p>Classe <code>ConnectedBanksCache</code>.</p>
+ * <p>Cache dos bancos conectados (instituições e contas) de cada usuário.</p>
+ * <p>
+ *     A lista é montada uma vez e guardada em memória (LRU, com TTL curto) e no Redis, compartilhada
+ *     entre as instâncias da API. O TTL da memória limita o tempo em que uma instância pode servir
+ *     uma lista invalidada por outra; o Redis é apagado na hora (ver {@link #invalidate(UUID)}).
+ * </p>
+ * <p>Falhas no Redis nunca interrompem a requisição: o Redis é ignorado por alguns segundos e a
+ * lista é montada diretamente na origem.</p>
+ */
+@Component
+@Slf4j
+public class ConnectedBanksCache {
+    private static final String KEY_PREFIX = "hunter:connected-banks:";
+    private static final long REDIS_RETRY_AFTER_MILLIS = 30_000;
+
+    @Value("${hunter.cache.connected-banks.enabled:true}")
+    private boolean CACHE_ENABLED;
+    @Value("${hunter.cache.connected-banks.memory-ttl-seconds:60}")
+    private long MEMORY_TTL_SECONDS;
+    @Value("${hunter.cache.connected-banks.redis-ttl-minutes:30}")
+    private long REDIS_TTL_MINUTES;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final BoundedCache<UUID, List<FinancialInstitutionData>> banks;
+
+    /* Momento até o qual o Redis é ignorado após uma falha. */
+    private volatile long redisUnavailableUntil = 0;
+
+    public ConnectedBanksCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${hunter.cache.connected-banks.max-entries:10000}") int maxEntries
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.banks = new BoundedCache<>(maxEntries);
+    }
+
+    /**
+     * @param userId ID da conta do usuário.
+     * @param loader Monta a lista na origem quando ela não está em cache.
+     * @return Uma cópia da lista de bancos conectados do usuário.
+     */
+    public List<FinancialInstitutionData> getOrLoad(UUID userId, Supplier<List<FinancialInstitutionData>> loader) {
+        if (!CACHE_ENABLED) {
+            return loader.get();
+        }
+
+        List<FinancialInstitutionData> cached = banks.get(userId);
+        if (cached == null) {
+            cached = read(userId);
+            if (cached == null) {
+                cached = loader.get();
+                write(userId, cached);
+            }
+            banks.put(userId, copy(cached), Duration.ofSeconds(MEMORY_TTL_SECONDS));
+        }
+        return copy(cached);
+    }
+
+    /**
+     * <p>Descarta a lista do usuário, na memória e no Redis (ver {@link CacheInvalidation}).</p>
+     *
+     * @param userId ID da conta do usuário.
+     */
+    public void invalidate(UUID userId) {
+        CacheInvalidation.evictNowAndAfterCommit(() -> remove(userId));
+    }
+
+    /* Métodos/Classes privados. */
+
+    private void remove(UUID userId) {
+        banks.remove(userId);
+        if (!isRedisUsable()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(KEY_PREFIX + userId);
+        } catch (Exception e) {
+            markRedisUnavailable(e);
+        }
+    }
+
+    private boolean isRedisUsable() {
+        return System.currentTimeMillis() >= redisUnavailableUntil;
+    }
+
+    private List<FinancialInstitutionData> read(UUID userId) {
+        if (!isRedisUsable()) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+            if (json == null) {
+                return null;
+            }
+            return objectMapper.readValue(json, new TypeReference<List<FinancialInstitutionData>>() {});
+        } catch (Exception e) {
+            markRedisUnavailable(e);
+            return null;
+        }
+    }
+
+    private void write(UUID userId, List<FinancialInstitutionData> connectedBanks) {
+        if (!isRedisUsable()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, objectMapper.writeValueAsString(connectedBanks),
+                    Duration.ofMinutes(REDIS_TTL_MINUTES));
+        } catch (Exception e) {
+            markRedisUnavailable(e);
+        }
+    }
+
+    private void markRedisUnavailable(Exception e) {
+        log.warn("Cache de bancos conectados indisponível no Redis, usando só a memória: {}", e.getMessage());
+        redisUnavailableUntil = System.currentTimeMillis() + REDIS_RETRY_AFTER_MILLIS;
+    }
+
+    /* Os DTOs são mutáveis; quem chama recebe a sua própria cópia. */
+    private static List<FinancialInstitutionData> copy(List<FinancialInstitutionData> connectedBanks) {
+        return connectedBanks.stream()
+                .map(bank -> new FinancialInstitutionData(
+                        bank.getInstitutionId(),
+                        bank.getInstitutionName(),
+                        bank.getInstitutionImageUrl(),
+                        bank.getAccounts() == null ? null : bank.getAccounts().stream()
+                                .map(account -> new PluggyAccountIds(account.getAccountId(), account.getType(), account.getBalance()))
+                                .toList()))
+                .toList();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * @(#)FinancialIntegratorExecutor.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.concurrent;
+
+import br.com.blackhunter.finey.rest.core.dto.HttpContextData;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * <p>Classe <code>FinancialIntegratorExecutor</code>.</p>
+ * <p>Executa em paralelo, em <i>virtual threads</i>, as consultas ao integrador financeiro
+ * de várias contas, para que a latência seja próxima à da conta mais lenta e não à soma de todas.</p>
+ * <p>
+ *     O paralelismo é limitado por um teto global (protege o provedor e a base) e por um teto
+ *     por usuário (impede que um único usuário com muitas contas ocupe todo o teto global).
+ * </p>
+ * <p>O contexto da requisição (<code>HttpContextData</code> e <code>SecurityContext</code>) é
+ * propagado para as tarefas.</p>
+ */
+@Component
+@Slf4j
+public class FinancialIntegratorExecutor {
+    private static final String ANONYMOUS_USER_KEY = "anonymous";
+
+    /* Indica que a thread atual já é uma tarefa deste executor; chamadas aninhadas rodam em sequência
+       para não disputarem as permissões já ocupadas pela tarefa externa. */
+    private static final ThreadLocal<Boolean> insideTask = ThreadLocal.withInitial(() -> false);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore globalPermits;
+    private final int maxConcurrencyPerUser;
+    private final ConcurrentHashMap<String, UserPermits> userPermits = new ConcurrentHashMap<>();
+
+    public FinancialIntegratorExecutor(
+            @Value("${hunter.integrations.fetch.max-concurrency:32}") int maxConcurrency,
+            @Value("${hunter.integrations.fetch.max-concurrency-per-user:4}") int maxConcurrencyPerUser
+    ) {
+        this.globalPermits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrencyPerUser = maxConcurrencyPerUser;
+    }
+
+    /**
+     * @param items Itens a processar (ex: IDs das contas).
+     * @param task Tarefa executada para cada item.
+     *
+     * <p>Aplica a tarefa a cada item em paralelo, preservando a ordem dos resultados.</p>
+     * <p>Se alguma tarefa falhar, a primeira falha (na ordem dos itens) é relançada.</p>
+     *
+     * @return Os resultados na mesma ordem dos itens.
+     * @throws Exception a exceção lançada pela tarefa que falhou.
+     */
+    public <T, R> List<R> mapConcurrently(List<T> items, AccountTask<T, R> task) throws Exception {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        if (items.size() == 1 || insideTask.get()) {
+            List<R> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(task.apply(item));
+            }
+            return results;
+        }
+
+        String userKey = currentUserKey();
+        HttpServletRequest request = HttpContextData.getCurrentRequest();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executor.submit(() -> runWithContext(userKey, request, securityContext, () -> task.apply(item))));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * <p>Tarefa executada para cada item.</p>
+     */
+    @FunctionalInterface
+    public interface AccountTask<T, R> {
+        R apply(T item) throws Exception;
+    }
+
+    /* Métodos/Classes privados. */
+
+    private <R> R runWithContext(String userKey, HttpServletRequest request, SecurityContext securityContext,
+                                 Callable<R> callable) throws Exception {
+        UserPermits permits = acquireUserPermits(userKey);
+        try {
+            permits.semaphore.acquire();
+            try {
+                globalPermits.acquire();
+                try {
+                    insideTask.set(true);
+                    HttpContextData.setCurrentRequest(request);
+                    SecurityContextHolder.setContext(securityContext);
+                    return callable.call();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    HttpContextData.clear();
+                    insideTask.remove();
+                    globalPermits.release();
+                }
+            } finally {
+                permits.semaphore.release();
+            }
+        } finally {
+            releaseUserPermits(userKey);
+        }
+    }
+
+    private UserPermits acquireUserPermits(String userKey) {
+        return userPermits.compute(userKey, (key, permits) -> {
+            UserPermits current = permits != null ? permits : new UserPermits(maxConcurrencyPerUser);
+            current.references++;
+            return current;
+        });
+    }
+
+    /* Remove o limitador do usuário quando não há mais tarefas dele em andamento. */
+    private void releaseUserPermits(String userKey) {
+        userPermits.computeIfPresent(userKey, (key, permits) -> --permits.references == 0 ? null : permits);
+    }
+
+    private String currentUserKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getName() != null ? authentication.getName() : ANONYMOUS_USER_KEY;
+    }
+
+    private static class UserPermits {
+        private final Semaphore semaphore;
+        private int references;
+
+        UserPermits(int permits) {
+            this.semaphore = new Semaphore(permits, true);
+        }
+    }
+}
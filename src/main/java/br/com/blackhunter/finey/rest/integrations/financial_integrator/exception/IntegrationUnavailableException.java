@@ -0,0 +1,28 @@
+/*
+ * @(#)IntegrationUnavailableException.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.exception;
+
+import br.com.blackhunter.finey.rest.core.exception.BusinessException;
+
+/**
+ * <p>Classe <code>IntegrationUnavailableException</code>.</p>
+ * <p>Lançada quando o circuito do provedor de integração está aberto e a chamada não é feita.</p>
+ *
+ * <p>Extends: {@link BusinessException}</p>
+ * */
+public class IntegrationUnavailableException extends BusinessException {
+    /**
+     * Construtor da classe.
+     * @param provider Nome do provedor indisponível.
+     * */
+    public IntegrationUnavailableException(String provider) {
+        super("Integration provider temporarily unavailable: " + provider);
+    }
+}
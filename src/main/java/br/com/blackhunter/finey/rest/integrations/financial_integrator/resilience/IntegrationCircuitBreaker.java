@@ -0,0 +1,267 @@
+/*
+ * @(#)IntegrationCircuitBreaker.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience;
+
+import br.com.blackhunter.finey.rest.core.exception.BusinessException;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.exception.IntegrationUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * <p>Classe <code>IntegrationCircuitBreaker</code>.</p>
+ * <p>Disjuntor (<i>circuit breaker</i>) das chamadas aos provedores de integração financeira.</p>
+ * <p>
+ *     Cada provedor tem um circuito próprio que observa as últimas <code>window-size</code> chamadas.
+ *     Falhas do provedor e chamadas lentas (acima de <code>slow-call-ms</code>) contam como chamadas ruins; quando
+ *     elas passam de <code>failure-rate-threshold</code>% o circuito abre e as chamadas seguintes
+ *     falham imediatamente com {@link IntegrationUnavailableException}, sem ocupar threads esperando o provedor.
+ * </p>
+ * <p>
+ *     Só são falhas do provedor as respostas 5xx, os <i>timeouts</i> e os erros de I/O. Respostas 4xx e
+ *     {@link BusinessException} indicam erro da própria requisição e não afetam o circuito.
+ * </p>
+ * <p>
+ *     Após <code>open-seconds</code> o circuito fica meio aberto e deixa passar algumas chamadas de teste.
+ *     Se todas tiverem sucesso, ele fecha e os ouvintes registrados em {@link #addCloseListener}
+ *     são executados em segundo plano.
+ * </p>
+ */
+@Component
+@Slf4j
+public class IntegrationCircuitBreaker {
+    /**
+     * <p>Estados do circuito.</p>
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+    private final Map<String, List<Runnable>> closeListeners = new ConcurrentHashMap<>();
+
+    public IntegrationCircuitBreaker(
+            @Value("${hunter.integrations.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${hunter.integrations.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${hunter.integrations.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${hunter.integrations.circuit-breaker.slow-call-ms:10000}") long slowCallMillis,
+            @Value("${hunter.integrations.circuit-breaker.open-seconds:30}") long openSeconds,
+            @Value("${hunter.integrations.circuit-breaker.half-open-calls:3}") int halfOpenCalls
+    ) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = Duration.ofMillis(slowCallMillis).toNanos();
+        this.openNanos = Duration.ofSeconds(openSeconds).toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * @param name Nome do circuito (ex: a plataforma de integração).
+     * @param call A chamada ao provedor.
+     *
+     * <p>Executa a chamada se o circuito permitir, registrando o resultado e a latência.</p>
+     *
+     * @return O resultado da chamada.
+     * @throws IntegrationUnavailableException se o circuito estiver aberto.
+     */
+    public <T> T execute(String name, Supplier<T> call) {
+        Circuit circuit = circuits.computeIfAbsent(name, Circuit::new);
+        if (!circuit.tryAcquirePermission()) {
+            throw new IntegrationUnavailableException(name);
+        }
+
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            failed = isProviderFailure(e);
+            throw e;
+        } finally {
+            circuit.onResult(failed, System.nanoTime() - start >= slowCallNanos);
+        }
+    }
+
+    /**
+     * @param name Nome do circuito.
+     * @param listener Tarefa executada, em segundo plano, sempre que o circuito voltar a fechar.
+     */
+    public void addCloseListener(String name, Runnable listener) {
+        closeListeners.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * @param name Nome do circuito.
+     * @return O estado atual do circuito.
+     */
+    public State getState(String name) {
+        Circuit circuit = circuits.get(name);
+        return circuit != null ? circuit.currentState() : State.CLOSED;
+    }
+
+    /**
+     * @param error O erro lançado pela chamada.
+     * @return true se o erro indica falha do provedor: resposta 5xx, <i>timeout</i> ou erro de I/O,
+     * procurados também nas causas (os clientes costumam encapsular a exceção original).
+     */
+    public static boolean isProviderFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestClientResponseException response) {
+                return response.getStatusCode().is5xxServerError();
+            }
+            if (cause instanceof BusinessException) {
+                return false;
+            }
+            if (cause instanceof ResourceAccessException
+                    || cause instanceof IOException
+                    || cause instanceof UncheckedIOException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* Métodos/Classes privados. */
+
+    private void notifyClosed(String name) {
+        List<Runnable> listeners = closeListeners.getOrDefault(name, List.of());
+        for (Runnable listener : listeners) {
+            Thread.ofVirtual().name("circuit-closed-" + name).start(() -> {
+                try {
+                    listener.run();
+                } catch (Exception e) {
+                    log.warn("Falha ao executar tarefa após o fechamento do circuito {}: {}", name, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /* Usa ReentrantLock em vez de synchronized para não fixar a virtual thread. */
+    private class Circuit {
+        private final String name;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final boolean[] outcomes = new boolean[windowSize];
+        private int next;
+        private int recorded;
+        private int badCalls;
+        private State state = State.CLOSED;
+        private long openedAt;
+        private int halfOpenPermits;
+        private int halfOpenSuccesses;
+
+        Circuit(String name) {
+            this.name = name;
+        }
+
+        State currentState() {
+            lock.lock();
+            try {
+                return state;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean tryAcquirePermission() {
+            lock.lock();
+            try {
+                if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                    state = State.HALF_OPEN;
+                    halfOpenPermits = halfOpenCalls;
+                    halfOpenSuccesses = 0;
+                    log.info("Circuito {} meio aberto, testando o provedor", name);
+                }
+                return switch (state) {
+                    case CLOSED -> true;
+                    case OPEN -> false;
+                    case HALF_OPEN -> halfOpenPermits-- > 0;
+                };
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void onResult(boolean failed, boolean slow) {
+            boolean bad = failed || slow;
+            boolean closed = false;
+            lock.lock();
+            try {
+                if (state == State.HALF_OPEN) {
+                    if (bad) {
+                        open();
+                    } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                        reset();
+                        closed = true;
+                    }
+                } else if (state == State.CLOSED) {
+                    record(bad);
+                    if (recorded >= minimumCalls && badCalls * 100 >= failureRateThreshold * recorded) {
+                        open();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (closed) {
+                log.info("Circuito {} fechado, provedor normalizado", name);
+                notifyClosed(name);
+            }
+        }
+
+        private void record(boolean bad) {
+            if (recorded == windowSize) {
+                badCalls -= outcomes[next] ? 1 : 0;
+            } else {
+                recorded++;
+            }
+            outcomes[next] = bad;
+            badCalls += bad ? 1 : 0;
+            next = (next + 1) % windowSize;
+        }
+
+        private void open() {
+            log.warn("Circuito {} aberto, chamadas ao provedor suspensas por {} s", name, openNanos / 1_000_000_000);
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+
+        private void reset() {
+            state = State.CLOSED;
+            next = 0;
+            recorded = 0;
+            badCalls = 0;
+        }
+    }
+}
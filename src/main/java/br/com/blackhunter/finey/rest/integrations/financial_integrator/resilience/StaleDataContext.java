@@ -0,0 +1,43 @@
+/*
+ * @(#)StaleDataContext.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience;
+
+import br.com.blackhunter.finey.rest.core.dto.HttpContextData;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Classe <code>StaleDataContext</code>.
+ * <p>Registra que dados desatualizados (última versão conhecida) foram servidos porque o
+ * provedor estava indisponível.</p>
+ * <p>A marcação vale para a requisição HTTP atual, que passa a responder com o header
+ * {@link #STALE_HEADER}.</p>
+ */
+public class StaleDataContext {
+    public static final String STALE_HEADER = "X-Data-Stale";
+    private static final String REQUEST_ATTRIBUTE = StaleDataContext.class.getName() + ".stale";
+
+    /**
+     * Marca que dados desatualizados foram servidos.
+     */
+    public static void markStale() {
+        HttpServletRequest request = HttpContextData.getCurrentRequest();
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @param request A requisição HTTP.
+     * @return true se a requisição serviu dados desatualizados.
+     */
+    public static boolean isStale(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(REQUEST_ATTRIBUTE));
+    }
+}
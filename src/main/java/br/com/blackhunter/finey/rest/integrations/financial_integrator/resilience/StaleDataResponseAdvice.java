@@ -0,0 +1,43 @@
+/*
+ * @(#)StaleDataResponseAdvice.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * <p>Classe <code>StaleDataResponseAdvice</code>.</p>
+ * <p>Adiciona o header {@link StaleDataContext#STALE_HEADER} às respostas que usaram dados
+ * desatualizados do provedor, para que o cliente possa sinalizar isso ao usuário.</p>
+ */
+@RestControllerAdvice
+public class StaleDataResponseAdvice implements ResponseBodyAdvice<Object> {
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && StaleDataContext.isStale(servletRequest.getServletRequest())) {
+            response.getHeaders().set(StaleDataContext.STALE_HEADER, "true");
+        }
+        return body;
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * @(#)StaleTransactionWindowEvent.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * <p>Classe <code>StaleTransactionWindowEvent</code>.</p>
+ * <p>Publicado quando as transações de uma conta foram servidas desatualizadas por indisponibilidade
+ * do provedor; a janela deve ser revalidada assim que o provedor voltar.</p>
+ */
+@Data
+@AllArgsConstructor
+public class StaleTransactionWindowEvent {
+    private UUID accountId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
@@ -52,6 +52,11 @@ public class PluggyFinancialIntegrator implements FinancialIntegrator {
         return pluggyAccessService.getAllTransactionsPeriodByOriginalAccountId(originalAccountId, startDate, endDate);
     }
 
+    @Override
+    public void syncTransactionsPeriodByTargetId(final String originalAccountId, final LocalDate startDate, final LocalDate endDate) {
+        pluggyAccessService.syncTransactionsPeriodByOriginalAccountId(originalAccountId, startDate, endDate);
+    }
+
     @Override
     public String getOriginalFinancialAccountIdByTargetId(final UUID targetId) {
         return pluggyAccessService.getOriginalPluggyAccountIdByEntityId(targetId);
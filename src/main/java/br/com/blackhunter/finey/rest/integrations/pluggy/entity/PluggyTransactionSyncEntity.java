@@ -0,0 +1,46 @@
+/*
+ * @(#)PluggyTransactionSyncEntity.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * <p>Classe <code>PluggyTransactionSyncEntity</code>.</p>
+ * <p>Estado de sincronização das transações de uma conta da Pluggy com a base local.</p>
+ * <p>O intervalo <code>syncedFrom</code> a <code>syncedUntil</code> já está persistido em
+ * <code>hw_transactions</code>; <code>syncedUntil</code> é a marca d'água usada para buscar
+ * somente os dias novos na próxima sincronização.</p>
+ */
+@Entity
+@Table(name = "hw_pluggy_transaction_sync")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PluggyTransactionSyncEntity {
+    @Id
+    @Column(name = "pluggy_account_id", nullable = false, updatable = false)
+    private UUID pluggyAccountId;
+
+    @Column(name = "synced_from", nullable = false)
+    private LocalDate syncedFrom;
+
+    @Column(name = "synced_until", nullable = false)
+    private LocalDate syncedUntil;
+
+    @Column(name = "last_synced_at", nullable = false)
+    private LocalDateTime lastSyncedAt;
+}
@@ -15,4 +15,15 @@ public interface PluggyItemRepository extends JpaRepository<PluggyItemEntity, UU
 
     @Query("SELECT p FROM PluggyItemEntity p WHERE p.userAccount.accountId = :userId")
     List<PluggyItemEntity> findAllItemsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Busca os itens do usuário junto com as suas contas em uma única consulta.
+     *
+     * @param userId ID da conta do usuário.
+     * @return Pares [item, conta]; itens sem contas vêm uma vez, com a conta nula.
+     */
+    @Query("SELECT p, pad FROM PluggyItemEntity p JOIN FETCH p.userAccount u "
+            + "LEFT JOIN PluggyAccountDataEntity pad ON pad.itemId = p "
+            + "WHERE u.accountId = :userId ORDER BY p.createdAt, p.itemId, pad.createdAt")
+    List<Object[]> findAllItemsWithAccountsByUserId(@Param("userId") UUID userId);
 }
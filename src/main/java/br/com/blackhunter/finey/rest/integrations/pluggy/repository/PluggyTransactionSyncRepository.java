@@ -0,0 +1,18 @@
+/*
+ * @(#)PluggyTransactionSyncRepository.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.repository;
+
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyTransactionSyncEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface PluggyTransactionSyncRepository extends JpaRepository<PluggyTransactionSyncEntity, UUID> {
+}
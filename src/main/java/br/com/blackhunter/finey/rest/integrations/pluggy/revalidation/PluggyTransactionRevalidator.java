@@ -0,0 +1,139 @@
+/*
+ * @(#)PluggyTransactionRevalidator.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.revalidation;
+
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.enums.FinancialIntegrationPlatform;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.IntegrationCircuitBreaker;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.StaleTransactionWindowEvent;
+import br.com.blackhunter.finey.rest.integrations.pluggy.repository.PluggyAccountDataRepository;
+import br.com.blackhunter.finey.rest.integrations.pluggy.service.PluggyTransactionSyncService;
+import br.com.blackhunter.finey.rest.integrations.pluggy.token.PluggyApiKeyHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Classe <code>PluggyTransactionRevalidator</code>.</p>
+ * <p>Revalida em segundo plano as janelas de transações servidas desatualizadas durante uma
+ * indisponibilidade da Pluggy.</p>
+ * <p>As janelas pendentes são acumuladas por conta (unindo os períodos) e sincronizadas assim que
+ * o circuito da Pluggy volta a fechar, para que a próxima requisição já encontre os dados atualizados.
+ * Falhas que não chegam a abrir o circuito são tentadas novamente <code>retry-delay-seconds</code> após
+ * o evento, se o circuito ainda estiver fechado.</p>
+ */
+@Component
+@Slf4j
+public class PluggyTransactionRevalidator {
+    @Value("${hunter.pluggy.revalidation.retry-delay-seconds:60}")
+    private long RETRY_DELAY_SECONDS;
+
+    private final PluggyTransactionSyncService pluggyTransactionSyncService;
+    private final PluggyAccountDataRepository pluggyAccountDataRepository;
+    private final PluggyApiKeyHolder pluggyApiKeyHolder;
+    private final IntegrationCircuitBreaker circuitBreaker;
+
+    private final Map<UUID, PendingWindow> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean retryScheduled = new AtomicBoolean(false);
+
+    public PluggyTransactionRevalidator(
+            PluggyTransactionSyncService pluggyTransactionSyncService,
+            PluggyAccountDataRepository pluggyAccountDataRepository,
+            PluggyApiKeyHolder pluggyApiKeyHolder,
+            IntegrationCircuitBreaker circuitBreaker
+    ) {
+        this.pluggyTransactionSyncService = pluggyTransactionSyncService;
+        this.pluggyAccountDataRepository = pluggyAccountDataRepository;
+        this.pluggyApiKeyHolder = pluggyApiKeyHolder;
+        this.circuitBreaker = circuitBreaker;
+        circuitBreaker.addCloseListener(FinancialIntegrationPlatform.PLUGGY.name(), this::revalidatePending);
+    }
+
+    /**
+     * @param event A janela servida desatualizada.
+     */
+    @EventListener
+    public void onStaleTransactionWindow(StaleTransactionWindowEvent event) {
+        pending.merge(event.getAccountId(), new PendingWindow(event.getStartDate(), event.getEndDate()), PendingWindow::union);
+        scheduleRetry();
+    }
+
+    /**
+     * <p>Sincroniza as janelas pendentes. Janelas que falharem novamente voltam a ser publicadas pela
+     * própria sincronização e aguardam a próxima tentativa ou o próximo fechamento do circuito.</p>
+     */
+    public void revalidatePending() {
+        for (UUID accountId : new ArrayList<>(pending.keySet())) {
+            PendingWindow window = pending.remove(accountId);
+            if (window == null) {
+                continue;
+            }
+            try {
+                pluggyAccountDataRepository.findById(accountId).ifPresent(account -> {
+                    log.debug("Revalidando transações da conta {} entre {} e {}", accountId, window.startDate, window.endDate);
+                    pluggyTransactionSyncService.sync(account, window.startDate, window.endDate, pluggyApiKeyHolder::getApiKey);
+                });
+            } catch (Exception e) {
+                log.warn("Falha ao revalidar as transações da conta {}: {}", accountId, e.getMessage());
+                pending.merge(accountId, window, PendingWindow::union);
+            }
+        }
+    }
+
+    /* Métodos/Classes privados. */
+
+    /**
+     * Agenda uma única tentativa por vez. Com o circuito aberto ou meio-aberto a tentativa não faz nada:
+     * as janelas ficam para o ouvinte de fechamento do circuito.
+     */
+    private void scheduleRetry() {
+        if (!retryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("pluggy-transaction-revalidation").start(() -> {
+            try {
+                Thread.sleep(Duration.ofSeconds(RETRY_DELAY_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                retryScheduled.set(false);
+            }
+            if (circuitBreaker.getState(FinancialIntegrationPlatform.PLUGGY.name()) == IntegrationCircuitBreaker.State.CLOSED) {
+                revalidatePending();
+            }
+        });
+    }
+
+    private static class PendingWindow {
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+
+        PendingWindow(LocalDate startDate, LocalDate endDate) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        PendingWindow union(PendingWindow other) {
+            return new PendingWindow(
+                    startDate.isBefore(other.startDate) ? startDate : other.startDate,
+                    endDate.isAfter(other.endDate) ? endDate : other.endDate
+            );
+        }
+    }
+}
@@ -25,4 +25,5 @@ public interface PluggyAccessService {
     List<FinancialInstitutionData> getAllItemsByUserId(UUID userId);
     String getOriginalPluggyAccountIdByEntityId(UUID entityId);
     List<TransactionEntity> getAllTransactionsPeriodByOriginalAccountId(final String originalAccountId, final LocalDate startDate, final LocalDate endDate);
+    void syncTransactionsPeriodByOriginalAccountId(final String originalAccountId, final LocalDate startDate, final LocalDate endDate);
 }
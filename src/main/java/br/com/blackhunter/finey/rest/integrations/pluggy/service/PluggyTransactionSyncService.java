@@ -0,0 +1,22 @@
+/*
+ * @(#)PluggyTransactionSyncService.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.service;
+
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccountDataEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface PluggyTransactionSyncService {
+    void sync(final PluggyAccountDataEntity account, final LocalDate startDate, final LocalDate endDate, final Supplier<String> accessTokenSupplier);
+    List<TransactionEntity> syncAndGetTransactions(final PluggyAccountDataEntity account, final LocalDate startDate, final LocalDate endDate, final Supplier<String> accessTokenSupplier);
+}
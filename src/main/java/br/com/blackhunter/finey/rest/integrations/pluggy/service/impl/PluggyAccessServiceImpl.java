@@ -15,6 +15,9 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.repository.TransactionRepository;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.cache.AccountIdCache;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.cache.ConnectedBanksCache;
 import br.com.blackhunter.finey.rest.integrations.financial_integrator.dto.FinancialInstitutionData;
 import br.com.blackhunter.finey.rest.integrations.pluggy.dto.PluggyAccountIds;
 import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccountDataEntity;
@@ -29,47 +32,60 @@ import br.com.blackhunter.finey.rest.client.PluggyWebClient;
 import br.com.blackhunter.finey.rest.core.exception.BusinessException;
 import br.com.blackhunter.finey.rest.integrations.pluggy.dto.PluggyItemIdPayload;
 import br.com.blackhunter.finey.rest.integrations.pluggy.dto.PluggyItemIdResponse;
-import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccessDataEntity;
 import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyItemEntity;
-import br.com.blackhunter.finey.rest.integrations.pluggy.repository.PluggyAccessDataRepository;
 import br.com.blackhunter.finey.rest.integrations.pluggy.repository.PluggyItemRepository;
+import br.com.blackhunter.finey.rest.integrations.pluggy.repository.PluggyTransactionSyncRepository;
 import br.com.blackhunter.finey.rest.integrations.pluggy.service.PluggyAccessService;
+import br.com.blackhunter.finey.rest.integrations.pluggy.service.PluggyTransactionSyncService;
+import br.com.blackhunter.finey.rest.integrations.pluggy.token.PluggyApiKeyHolder;
 import br.com.blackhunter.finey.rest.useraccount.entity.UserAccountEntity;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
 public class PluggyAccessServiceImpl implements PluggyAccessService {
-    @Value("${hunter.secrets.pluggy.client-id}")
-    private String PLUGGY_CLIENT_ID;
-    @Value("${hunter.secrets.pluggy.client-secret}")
-    private String PLUGGY_CLIENT_SECRET;
     @Value("${hunter.secrets.pluggy.crypt-secret}")
     private String PLUGGY_CRYPT_SECRET;
 
     private final JwtUtil jwtUtil;
     private final PluggyWebClient pluggyWebClient;
-    private final PluggyAccessDataRepository pluggyAccessDataRepository;
+    private final PluggyApiKeyHolder pluggyApiKeyHolder;
     private final PluggyItemRepository pluggyItemRepository;
     private final PluggyAccountDataRepository pluggyAccountDataRepository;
+    private final TransactionRepository transactionRepository;
+    private final PluggyTransactionSyncService pluggyTransactionSyncService;
+    private final PluggyTransactionSyncRepository pluggyTransactionSyncRepository;
+    private final AccountIdCache accountIdCache;
+    private final ConnectedBanksCache connectedBanksCache;
 
     public PluggyAccessServiceImpl(
             JwtUtil jwtUtil,
             PluggyWebClient pluggyWebClient,
-            PluggyAccessDataRepository pluggyAccessDataRepository,
+            PluggyApiKeyHolder pluggyApiKeyHolder,
             PluggyItemRepository pluggyItemRepository,
-            PluggyAccountDataRepository pluggyAccountDataRepository
+            PluggyAccountDataRepository pluggyAccountDataRepository,
+            TransactionRepository transactionRepository,
+            PluggyTransactionSyncService pluggyTransactionSyncService,
+            PluggyTransactionSyncRepository pluggyTransactionSyncRepository,
+            AccountIdCache accountIdCache,
+            ConnectedBanksCache connectedBanksCache
     ) {
         this.jwtUtil = jwtUtil;
         this.pluggyWebClient = pluggyWebClient;
-        this.pluggyAccessDataRepository = pluggyAccessDataRepository;
+        this.pluggyApiKeyHolder = pluggyApiKeyHolder;
         this.pluggyItemRepository = pluggyItemRepository;
         this.pluggyAccountDataRepository = pluggyAccountDataRepository;
+        this.transactionRepository = transactionRepository;
+        this.pluggyTransactionSyncService = pluggyTransactionSyncService;
+        this.pluggyTransactionSyncRepository = pluggyTransactionSyncRepository;
+        this.accountIdCache = accountIdCache;
+        this.connectedBanksCache = connectedBanksCache;
     }
 
     /**
      * <p>Pega o token de acesso a API da pluggy e se necessário ele gera outro token e persiste no banco de dados.</p>
      * <p>O token é salvo criptografado.</p>
+     * <p>O token fica em memória e é renovado antes de expirar (ver {@link PluggyApiKeyHolder}).</p>
      *
      * @return O token de acesso a API da pluggy criptografado.
      * @since 1.0.0
@@ -77,23 +93,7 @@ public class PluggyAccessServiceImpl implements PluggyAccessService {
      * */
     @Override
     public String getAndSaveAccessTokenEncryptedIfNecessary() {
-        String accessToken = null;
-        System.out.println("Condicao: " + isTokenNotExistsOrIsTokenExpired());
-        log.info("Condicao: {}", isTokenNotExistsOrIsTokenExpired());
-        if(isTokenNotExistsOrIsTokenExpired()) {
-            try {
-                String rawtoken = pluggyWebClient.getAccessToken(PLUGGY_CLIENT_ID, PLUGGY_CLIENT_SECRET);
-                accessToken = CryptUtil.encrypt(rawtoken, PLUGGY_CRYPT_SECRET);
-                pluggyAccessDataRepository.deleteAll(); // limpo a tabela novamente.
-                pluggyAccessDataRepository.save(new PluggyAccessDataEntity(accessToken));
-            }
-            catch (Exception e) {
-                throw new BusinessException("Error getting access token: " + e.getMessage());
-            }
-        }
-        else accessToken = Objects.requireNonNull(getAccessTokenEncrypted()).getAccessToken();
-
-        return accessToken;
+        return pluggyApiKeyHolder.getEncryptedApiKey();
     }
 
     /**
@@ -153,17 +153,29 @@ public class PluggyAccessServiceImpl implements PluggyAccessService {
             if(optionalPluggyItemEntity.isPresent()) {
                 itemToSave = optionalPluggyItemEntity.get();
                 itemToSave.setOriginalPluggyItemId(payload.getItemId());
+                if (itemToSave.getUserAccount() != null) {
+                    connectedBanksCache.invalidate(itemToSave.getUserAccount().getAccountId());
+                }
 
-                // limpa todas as contas que estão associadas a esse item, para atualizar novamente
-                pluggyAccountDataRepository.deleteAllByOriginalPluggyItemId(CryptUtil.decrypt(payload.getItemId(), PLUGGY_CRYPT_SECRET));
+                // limpa todas as contas (e suas transações e estados de sincronização) que estão associadas a esse item, para atualizar novamente.
+                // a busca é pelo ID do item: o ID original gravado está criptografado e acabou de ser substituído.
+                List<UUID> replacedAccountIds = pluggyAccountDataRepository.findAllByItemId(itemToSave.getItemId())
+                        .stream().map(PluggyAccountDataEntity::getPluggyAccountId).toList();
+                accountIdCache.invalidate(replacedAccountIds);
+                if (!replacedAccountIds.isEmpty()) {
+                    transactionRepository.deleteAllByFinancialAccountIdIn(replacedAccountIds);
+                    pluggyTransactionSyncRepository.deleteAllByIdInBatch(replacedAccountIds);
+                    pluggyAccountDataRepository.deleteAllByIdInBatch(replacedAccountIds);
+                }
             }
 
             PluggyItemEntity itemSaved = pluggyItemRepository.save(itemToSave);
+            connectedBanksCache.invalidate(user.getAccountId());
 
             // hora de buscar os ids das contas
             List<PluggyAccountDataEntity> accountIds = new ArrayList<>();
 
-            for(PluggyWebClient.PluggyAccount ac : pluggyWebClient.getAccountIdsByItemId(CryptUtil.decrypt(payload.getItemId(), PLUGGY_CRYPT_SECRET), CryptUtil.decrypt(getAndSaveAccessTokenEncryptedIfNecessary(), PLUGGY_CRYPT_SECRET))) {
+            for(PluggyWebClient.PluggyAccount ac : pluggyWebClient.getAccountIdsByItemId(CryptUtil.decrypt(payload.getItemId(), PLUGGY_CRYPT_SECRET), pluggyApiKeyHolder.getApiKey())) {
                 PluggyAccountDataEntity pad = new PluggyAccountDataEntity(
                         null,
                         itemToSave,
@@ -193,30 +205,14 @@ public class PluggyAccessServiceImpl implements PluggyAccessService {
         }
     }
 
+    /**
+     * <p>Lista os bancos conectados do usuário, com os IDs das contas criptografados.</p>
+     * <p>Itens e contas vêm de uma única consulta e a lista fica em cache até o usuário conectar
+     * ou atualizar um item (ver {@link ConnectedBanksCache}).</p>
+     * */
     @Override
     public List<FinancialInstitutionData> getAllItemsByUserId(UUID userId) {
-        return pluggyItemRepository.findAllItemsByUserId(userId)
-            .stream()
-            .map(item -> {
-                try {
-                    return new FinancialInstitutionData(
-                            item.getItemId().toString(),
-                            item.getName(),
-                            item.getImageUrl(),
-                            pluggyAccountDataRepository.findAllByItemId(item.getItemId())
-                                    .stream().map(pa -> {
-                                        try {
-                                            return PluggyAccountIds.fromEntity(pa, PLUGGY_CRYPT_SECRET);
-                                        } catch (Exception e) {
-                                            throw new BusinessException(e.getMessage());
-                                        }
-                                    }).toList()
-                    );
-                } catch (Exception e) {
-                    throw new BusinessException(e.getMessage());
-                }
-            })
-            .toList();
+        return connectedBanksCache.getOrLoad(userId, () -> loadConnectedBanks(userId));
     }
 
     @Override
@@ -227,57 +223,76 @@ public class PluggyAccessServiceImpl implements PluggyAccessService {
     }
 
     /**
-     * Esse método busca as transações de um período específico DIRETO da API da pluggy.
+     * Esse método busca as transações de um período específico da base local.
+     * <p>Antes da leitura, os dias do período que ainda não foram sincronizados são buscados na API da Pluggy
+     * e persistidos (ver {@link PluggyTransactionSyncService}).</p>
      * */
     @Override
     public List<TransactionEntity> getAllTransactionsPeriodByOriginalAccountId(final String originalAccountId, final LocalDate startDate, final LocalDate endDate) {
-        UserAccountEntity user = jwtUtil.getUserAccountFromToken();
         PluggyAccountDataEntity pluggyAccountData = pluggyAccountDataRepository.findByPluggyOriginalAccountId(originalAccountId)
                 .orElseThrow(() -> new BusinessException("Pluggy account not found for original account ID: " + originalAccountId));
 
         try {
-            return pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId(
-                    CryptUtil.decrypt(getAndSaveAccessTokenEncryptedIfNecessary(), PLUGGY_CRYPT_SECRET),
-                    CryptUtil.decrypt(originalAccountId, PLUGGY_CRYPT_SECRET),
-                            startDate,
-                            endDate)
-                    .stream()
-                    .map(t -> {
-                        TransactionEntity entity = t.toTransactionEntity();
-                        entity.setUserAccount(user);
-                        entity.setPluggyAccountId(pluggyAccountData);
-                        return entity;
-                    }).toList();
+            return pluggyTransactionSyncService.syncAndGetTransactions(
+                    pluggyAccountData,
+                    startDate,
+                    endDate,
+                    pluggyApiKeyHolder::getApiKey
+            );
         } catch (Exception e) {
             throw new BusinessException("Error fetching transactions from pluggy API:" + e.getMessage());
         }
     }
 
-    /* Métodos privados */
+    /**
+     * Sincroniza os dias pendentes do período na base local, sem ler as transações.
+     * */
+    @Override
+    public void syncTransactionsPeriodByOriginalAccountId(final String originalAccountId, final LocalDate startDate, final LocalDate endDate) {
+        PluggyAccountDataEntity pluggyAccountData = pluggyAccountDataRepository.findByPluggyOriginalAccountId(originalAccountId)
+                .orElseThrow(() -> new BusinessException("Pluggy account not found for original account ID: " + originalAccountId));
 
-    private PluggyAccessDataEntity getAccessTokenEncrypted() {
-        PluggyAccessDataEntity accessData = pluggyAccessDataRepository.findAll().stream().findFirst().orElse(null);
-        return accessData != null ? accessData : null;
+        try {
+            pluggyTransactionSyncService.sync(pluggyAccountData, startDate, endDate, pluggyApiKeyHolder::getApiKey);
+        } catch (Exception e) {
+            throw new BusinessException("Error fetching transactions from pluggy API:" + e.getMessage());
+        }
     }
 
-    private Optional<PluggyItemEntity> getPluggyItemByConnectorId(String connectorId) {
-        return pluggyItemRepository.findByConnectorId(connectorId);
-    }
+    /* Métodos privados */
 
-    private boolean isTokenNotExistsOrIsTokenExpired() {
+    private List<FinancialInstitutionData> loadConnectedBanks(UUID userId) {
+        Map<UUID, FinancialInstitutionData> banks = new LinkedHashMap<>();
+        List<String> accountIds = new ArrayList<>();
+        List<PluggyAccountDataEntity> accounts = new ArrayList<>();
+        for (Object[] row : pluggyItemRepository.findAllItemsWithAccountsByUserId(userId)) {
+            PluggyItemEntity item = (PluggyItemEntity) row[0];
+            FinancialInstitutionData bank = banks.computeIfAbsent(item.getItemId(), id -> new FinancialInstitutionData(
+                    id.toString(), item.getName(), item.getImageUrl(), new ArrayList<>()));
+            if (row[1] instanceof PluggyAccountDataEntity account) {
+                accountIds.add(String.valueOf(account.getPluggyAccountId()));
+                accounts.add(account);
+            }
+        }
+
+        // os IDs de todas as contas são criptografados de uma vez
         try {
-            return !pluggyAccessDataRepository.alreadyHasRegistration() || isTokenExpired(getAccessTokenEncrypted());
+            List<String> encryptedIds = CryptUtil.encryptAll(accountIds, PLUGGY_CRYPT_SECRET);
+            for (int i = 0; i < accounts.size(); i++) {
+                PluggyAccountDataEntity account = accounts.get(i);
+                banks.get(account.getItemId().getItemId()).getAccounts().add(new PluggyAccountIds(
+                        encryptedIds.get(i),
+                        account.getPluggyAccountType(),
+                        account.getPluggyAccountBalance()
+                ));
+            }
         } catch (Exception e) {
-            throw new BusinessException("Error verifying access token: " + e.getMessage());
+            throw new BusinessException(e.getMessage());
         }
+        return List.copyOf(banks.values());
     }
 
-    private boolean isTokenExpired(PluggyAccessDataEntity accessData) throws Exception {
-        if (accessData == null || accessData.getAccessToken() == null || accessData.getAccessToken().isEmpty()) {
-            return true;
-        }
-
-        LocalDateTime tokenExpirationTime = accessData.getObtainedAt().plusHours(1).plusMinutes(30);
-        return tokenExpirationTime.isBefore(LocalDateTime.now());
+    private Optional<PluggyItemEntity> getPluggyItemByConnectorId(String connectorId) {
+        return pluggyItemRepository.findByConnectorId(connectorId);
     }
 }
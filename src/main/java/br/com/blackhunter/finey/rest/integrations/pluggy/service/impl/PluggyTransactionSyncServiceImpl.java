@@ -0,0 +1,375 @@
+/*
+ * @(#)PluggyTransactionSyncServiceImpl.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.service.impl;
+
+import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.client.PluggyWebClient;
+import br.com.blackhunter.finey.rest.core.exception.BusinessException;
+import br.com.blackhunter.finey.rest.finance.calc.category.TransactionCategorizer;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumnsCache;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentLedgerService;
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.repository.TransactionRepository;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.enums.FinancialIntegrationPlatform;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.exception.IntegrationUnavailableException;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.IntegrationCircuitBreaker;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.StaleDataContext;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.StaleTransactionWindowEvent;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccountDataEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyTransactionSyncEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.repository.PluggyTransactionSyncRepository;
+import br.com.blackhunter.finey.rest.integrations.pluggy.service.PluggyTransactionSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * <p>Classe <code>PluggyTransactionSyncServiceImpl</code>.</p>
+ * <p>Mantém a tabela <code>hw_transactions</code> sincronizada com a API da Pluggy de forma incremental.</p>
+ * <p>
+ *     Para cada conta guardamos o intervalo já sincronizado. Uma consulta só vai à Pluggy
+ *     para buscar os dias anteriores a esse intervalo (backfill) ou os dias novos após a marca
+ *     d'água. Os últimos dias são sempre buscados novamente, pois transações pendentes
+ *     podem ser confirmadas ou alteradas pelo banco.
+ * </p>
+ * <p>
+ *     Cada janela buscada substitui a da base: as transações são gravadas por upsert usando o
+ *     <code>providerTransactionId</code> como chave, e as da conta na janela que a Pluggy não devolveu mais
+ *     (canceladas ou estornadas) são removidas.
+ * </p>
+ * <p>
+ *     A busca na Pluggy acontece fora de transação de banco; só a gravação da janela e do estado da
+ *     sincronização roda em uma transação curta. As sincronizações da mesma conta são serializadas,
+ *     para que duas requisições simultâneas não busquem e insiram a mesma janela.
+ * </p>
+ * <p>
+ *     As chamadas à Pluggy passam pelo {@link IntegrationCircuitBreaker}. Se a Pluggy falhar (ou o circuito
+ *     estiver aberto) e a conta já tiver dados sincronizados, a última versão local é servida marcada como
+ *     desatualizada e a janela é publicada em {@link StaleTransactionWindowEvent} para revalidação.
+ * </p>
+ */
+@Service
+@Slf4j
+public class PluggyTransactionSyncServiceImpl implements PluggyTransactionSyncService {
+    @Value("${hunter.secrets.pluggy.crypt-secret}")
+    private String PLUGGY_CRYPT_SECRET;
+    @Value("${hunter.pluggy.sync.overlap-days:3}")
+    private int SYNC_OVERLAP_DAYS;
+    @Value("${hunter.pluggy.sync.min-interval-minutes:5}")
+    private long SYNC_MIN_INTERVAL_MINUTES;
+
+    /* Limite de parâmetros por consulta IN ao buscar ou remover transações existentes. */
+    private static final int UPSERT_LOOKUP_CHUNK_SIZE = 500;
+    /* Quantidade de locks das contas; contas diferentes raramente disputam o mesmo. */
+    private static final int SYNC_LOCK_STRIPES = 64;
+
+    private final PluggyWebClient pluggyWebClient;
+    private final TransactionRepository transactionRepository;
+    private final PluggyTransactionSyncRepository pluggyTransactionSyncRepository;
+    private final IntegrationCircuitBreaker circuitBreaker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionColumnsCache transactionColumnsCache;
+    private final InvestmentLedgerService investmentLedgerService;
+
+    /* Usa ReentrantLock em vez de synchronized para não fixar a virtual thread durante a busca na Pluggy. */
+    private final ReentrantLock[] syncLocks = new ReentrantLock[SYNC_LOCK_STRIPES];
+
+    public PluggyTransactionSyncServiceImpl(
+            PluggyWebClient pluggyWebClient,
+            TransactionRepository transactionRepository,
+            PluggyTransactionSyncRepository pluggyTransactionSyncRepository,
+            IntegrationCircuitBreaker circuitBreaker,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            TransactionColumnsCache transactionColumnsCache,
+            InvestmentLedgerService investmentLedgerService
+    ) {
+        this.pluggyWebClient = pluggyWebClient;
+        this.transactionRepository = transactionRepository;
+        this.pluggyTransactionSyncRepository = pluggyTransactionSyncRepository;
+        this.circuitBreaker = circuitBreaker;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionColumnsCache = transactionColumnsCache;
+        this.investmentLedgerService = investmentLedgerService;
+        for (int i = 0; i < syncLocks.length; i++) {
+            syncLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @param account A conta da Pluggy.
+     * @param startDate Data inicial do período (inclusiva).
+     * @param endDate Data final do período (inclusiva).
+     * @param accessTokenSupplier Fornece o token de acesso descriptografado, consultado somente se houver busca na Pluggy.
+     *
+     * <p>Sincroniza os dias do período que ainda não estão na base e retorna as transações persistidas.</p>
+     *
+     * @return As transações da conta no período, lidas da base local.
+     */
+    @Override
+    public List<TransactionEntity> syncAndGetTransactions(final PluggyAccountDataEntity account, final LocalDate startDate, final LocalDate endDate, final Supplier<String> accessTokenSupplier) {
+        sync(account, startDate, endDate, accessTokenSupplier);
+        return transactionRepository.findAllByFinancialAccountIdAndDateBetween(account.getPluggyAccountId(), startDate, endDate);
+    }
+
+    /**
+     * @param account A conta da Pluggy.
+     * @param startDate Data inicial do período (inclusiva).
+     * @param endDate Data final do período (inclusiva).
+     * @param accessTokenSupplier Fornece o token de acesso descriptografado, consultado somente se houver busca na Pluggy.
+     *
+     * <p>Sincroniza os dias do período que ainda não estão na base, sem ler as transações; usado antes
+     * das agregações calculadas no banco.</p>
+     */
+    @Override
+    public void sync(final PluggyAccountDataEntity account, final LocalDate startDate, final LocalDate endDate, final Supplier<String> accessTokenSupplier) {
+        ReentrantLock lock = syncLocks[Math.floorMod(account.getPluggyAccountId().hashCode(), syncLocks.length)];
+        lock.lock();
+        try {
+            syncAccount(account, startDate, endDate, accessTokenSupplier);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Métodos/Classes privados. */
+
+    /*
+     * Roda com o lock da conta: busca as janelas pendentes e grava tudo em uma única transação curta,
+     * descartando as colunas e o livro de investimentos em cache da conta após o commit.
+     */
+    private void syncAccount(PluggyAccountDataEntity account, LocalDate startDate, LocalDate endDate, Supplier<String> accessTokenSupplier) {
+        UUID accountId = account.getPluggyAccountId();
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        SyncContext context = new SyncContext(account, accessTokenSupplier);
+        List<FetchedWindow> windows = new ArrayList<>();
+
+        PluggyTransactionSyncEntity syncState = pluggyTransactionSyncRepository.findById(accountId).orElse(null);
+        if (syncState == null) {
+            windows.add(new FetchedWindow(startDate, endDate, fetch(context, startDate, endDate)));
+            syncState = new PluggyTransactionSyncEntity(accountId, startDate, min(endDate, today), now);
+        } else {
+            boolean available = true;
+            if (startDate.isBefore(syncState.getSyncedFrom())) {
+                LocalDate backfillEnd = syncState.getSyncedFrom().minusDays(1);
+                List<PluggyWebClient.PluggyTransaction> fetched = fetchOrServeStale(context, startDate, backfillEnd, startDate, endDate);
+                available = fetched != null;
+                if (available) {
+                    windows.add(new FetchedWindow(startDate, backfillEnd, fetched));
+                    syncState.setSyncedFrom(startDate);
+                }
+            }
+
+            if (available && needsForwardSync(syncState, min(endDate, today), now)) {
+                LocalDate from = max(syncState.getSyncedUntil().minusDays(SYNC_OVERLAP_DAYS), syncState.getSyncedFrom());
+                LocalDate until = max(endDate, syncState.getSyncedUntil());
+                List<PluggyWebClient.PluggyTransaction> fetched = fetchOrServeStale(context, from, until, startDate, endDate);
+                if (fetched != null) {
+                    windows.add(new FetchedWindow(from, until, fetched));
+                    syncState.setSyncedUntil(max(syncState.getSyncedUntil(), min(endDate, today)));
+                    syncState.setLastSyncedAt(now);
+                }
+            }
+        }
+
+        if (windows.isEmpty()) {
+            return;
+        }
+        PluggyTransactionSyncEntity stateToSave = syncState;
+        transactionTemplate.executeWithoutResult(status -> {
+            for (FetchedWindow window : windows) {
+                replaceWindow(context, window);
+            }
+            pluggyTransactionSyncRepository.save(stateToSave);
+            transactionColumnsCache.invalidateAccounts(List.of(accountId));
+            investmentLedgerService.invalidateAccounts(List.of(accountId));
+        });
+    }
+
+    /**
+     * Há dias novos quando o período, limitado a hoje, passa da marca d'água, ou quando ele alcança
+     * a marca d'água (dia ainda aberto) e a última sincronização já não é recente. Sem o limite, um período
+     * que termina no futuro sempre passaria da marca d'água, que nunca avança além de hoje.
+     */
+    private boolean needsForwardSync(PluggyTransactionSyncEntity syncState, LocalDate effectiveEnd, LocalDateTime now) {
+        if (effectiveEnd.isAfter(syncState.getSyncedUntil())) {
+            return true;
+        }
+        return !effectiveEnd.isBefore(syncState.getSyncedUntil())
+                && syncState.getLastSyncedAt().plusMinutes(SYNC_MIN_INTERVAL_MINUTES).isBefore(now);
+    }
+
+    /**
+     * A conta já tem dados locais: se a Pluggy estiver indisponível, serve a última versão conhecida em vez
+     * de falhar a requisição. Somente as chamadas remotas (inclusive o <code>/auth</code> feito ao resolver o token)
+     * são protegidas; erros de persistência seguem adiante.
+     *
+     * @return As transações buscadas, ou null se a Pluggy estiver indisponível.
+     */
+    private List<PluggyWebClient.PluggyTransaction> fetchOrServeStale(SyncContext context, LocalDate startDate, LocalDate endDate,
+                                                                      LocalDate requestedStart, LocalDate requestedEnd) {
+        try {
+            return fetch(context, startDate, endDate);
+        } catch (IntegrationUnavailableException | RestClientException e) {
+            UUID accountId = context.account.getPluggyAccountId();
+            log.warn("Pluggy indisponível, servindo transações locais desatualizadas da conta {}: {}", accountId, e.getMessage());
+            StaleDataContext.markStale();
+            eventPublisher.publishEvent(new StaleTransactionWindowEvent(accountId, requestedStart, requestedEnd));
+            return null;
+        }
+    }
+
+    /* Token e ID original são resolvidos fora deste disjuntor, que mede apenas a listagem; o /auth tem a sua própria chamada protegida. */
+    private List<PluggyWebClient.PluggyTransaction> fetch(SyncContext context, LocalDate startDate, LocalDate endDate) {
+        String accessToken = context.getAccessToken();
+        String originalAccountId = context.getOriginalAccountId();
+        List<PluggyWebClient.PluggyTransaction> fetched = circuitBreaker.execute(
+                FinancialIntegrationPlatform.PLUGGY.name(),
+                () -> pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId(accessToken, originalAccountId, startDate, endDate)
+        );
+        log.debug("Sincronizando {} transações da conta {} entre {} e {}",
+                fetched.size(), context.account.getPluggyAccountId(), startDate, endDate);
+        return fetched;
+    }
+
+    /* Remove as transações da janela que a Pluggy não devolveu mais e faz o upsert das devolvidas. */
+    private void replaceWindow(SyncContext context, FetchedWindow window) {
+        UUID accountId = context.account.getPluggyAccountId();
+        Set<String> fetchedIds = new HashSet<>();
+        window.transactions.forEach(t -> fetchedIds.add(t.getId()));
+        List<String> missing = new ArrayList<>();
+        for (String providerId : transactionRepository.findProviderTransactionIdsByFinancialAccountIdAndDateBetween(accountId, window.startDate, window.endDate)) {
+            if (!fetchedIds.contains(providerId)) {
+                missing.add(providerId);
+            }
+        }
+        for (int i = 0; i < missing.size(); i += UPSERT_LOOKUP_CHUNK_SIZE) {
+            transactionRepository.deleteAllByFinancialAccountIdAndProviderTransactionIdIn(
+                    accountId, missing.subList(i, Math.min(i + UPSERT_LOOKUP_CHUNK_SIZE, missing.size())));
+        }
+        if (!missing.isEmpty()) {
+            log.debug("Removidas {} transações da conta {} que não constam mais na Pluggy entre {} e {}",
+                    missing.size(), accountId, window.startDate, window.endDate);
+        }
+
+        List<PluggyWebClient.PluggyTransaction> fetched = window.transactions;
+        if (fetched.isEmpty()) {
+            return;
+        }
+
+        Map<String, TransactionEntity> existing = findExistingByProviderTransactionId(context.account, fetched);
+        Map<String, TransactionEntity> toSave = new LinkedHashMap<>();
+        for (PluggyWebClient.PluggyTransaction transaction : fetched) {
+            TransactionEntity incoming = transaction.toTransactionEntity();
+            TransactionEntity current = existing.get(incoming.getProviderTransactionId());
+            if (current == null) {
+                incoming.setUserAccount(context.account.getItemId().getUserAccount());
+                incoming.setPluggyAccountId(context.account);
+                TransactionCategorizer.assignCategories(incoming);
+                toSave.put(incoming.getProviderTransactionId(), incoming);
+            } else {
+                copyMutableFields(incoming, current);
+                TransactionCategorizer.assignCategories(current);
+                toSave.put(current.getProviderTransactionId(), current);
+            }
+        }
+        transactionRepository.saveAll(toSave.values());
+    }
+
+    private Map<String, TransactionEntity> findExistingByProviderTransactionId(PluggyAccountDataEntity account, List<PluggyWebClient.PluggyTransaction> fetched) {
+        List<String> providerIds = fetched.stream().map(PluggyWebClient.PluggyTransaction::getId).distinct().toList();
+        Map<String, TransactionEntity> existing = new HashMap<>();
+        for (int i = 0; i < providerIds.size(); i += UPSERT_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = providerIds.subList(i, Math.min(i + UPSERT_LOOKUP_CHUNK_SIZE, providerIds.size()));
+            transactionRepository.findAllByFinancialAccountIdAndProviderTransactionIdIn(account.getPluggyAccountId(), chunk)
+                    .forEach(t -> existing.putIfAbsent(t.getProviderTransactionId(), t));
+        }
+        return existing;
+    }
+
+    /* Data, tipo e vínculos não são atualizáveis; o restante reflete o estado atual na Pluggy. */
+    private void copyMutableFields(TransactionEntity source, TransactionEntity target) {
+        target.setAmount(source.getAmount());
+        target.setBalance(source.getBalance());
+        target.setDescription(source.getDescription());
+        target.setDescriptionRaw(source.getDescriptionRaw());
+        target.setCurrencyCode(source.getCurrencyCode());
+        target.setCategory(source.getCategory());
+        target.setProviderTransactionCode(source.getProviderTransactionCode());
+        target.setStatus(source.getStatus());
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /* Transações buscadas na Pluggy para uma janela, ainda não gravadas. */
+    private static class FetchedWindow {
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final List<PluggyWebClient.PluggyTransaction> transactions;
+
+        FetchedWindow(LocalDate startDate, LocalDate endDate, List<PluggyWebClient.PluggyTransaction> transactions) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.transactions = transactions;
+        }
+    }
+
+    /**
+     * Resolve token e ID original da conta sob demanda, uma única vez por sincronização.
+     */
+    private class SyncContext {
+        private final PluggyAccountDataEntity account;
+        private final Supplier<String> accessTokenSupplier;
+        private String accessToken;
+        private String originalAccountId;
+
+        SyncContext(PluggyAccountDataEntity account, Supplier<String> accessTokenSupplier) {
+            this.account = account;
+            this.accessTokenSupplier = accessTokenSupplier;
+        }
+
+        String getAccessToken() {
+            if (accessToken == null) {
+                accessToken = accessTokenSupplier.get();
+            }
+            return accessToken;
+        }
+
+        String getOriginalAccountId() {
+            if (originalAccountId == null) {
+                try {
+                    originalAccountId = CryptUtil.decrypt(account.getPluggyOriginalAccountId(), PLUGGY_CRYPT_SECRET);
+                } catch (Exception e) {
+                    throw new BusinessException("Error decrypting pluggy account ID: " + e.getMessage());
+                }
+            }
+            return originalAccountId;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * @(#)PluggyApiKeyHolder.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.token;
+
+import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.client.PluggyWebClient;
+import br.com.blackhunter.finey.rest.core.exception.BusinessException;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.enums.FinancialIntegrationPlatform;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.exception.IntegrationUnavailableException;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.IntegrationCircuitBreaker;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccessDataEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.repository.PluggyAccessDataRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Classe <code>PluggyApiKeyHolder</code>.</p>
+ * <p>Mantém em memória a API key da Pluggy, já criptografada e descriptografada, evitando
+ * consultas à base e descriptografia a cada chamada.</p>
+ * <p>
+ *     Quando a chave entra na janela de renovação (<code>refresh-before-minutes</code> antes de expirar),
+ *     ela continua sendo servida enquanto uma única renovação roda em segundo plano. Se a chave
+ *     já expirou, apenas uma thread renova (<i>single-flight</i>) e as demais aguardam o resultado.
+ * </p>
+ * <p>
+ *     A tabela <code>hw_pluggy_access_data</code> é usada apenas para compartilhar a chave entre
+ *     instâncias: antes de chamar o <code>/auth</code>, a renovação verifica se outra instância
+ *     já gravou uma chave válida. A troca da chave gravada (remoção da anterior e gravação da nova) roda
+ *     em uma transação própria, independente de qualquer transação de quem pediu a chave.
+ * </p>
+ * <p>
+ *     O <code>/auth</code> passa pelo mesmo disjuntor das demais chamadas à Pluggy. Falhas do provedor
+ *     ({@link IntegrationUnavailableException} e {@link RestClientException}) chegam sem embrulho a quem
+ *     pediu a chave, para que possam ser tratadas como indisponibilidade da Pluggy.
+ * </p>
+ */
+@Component
+@Slf4j
+public class PluggyApiKeyHolder {
+    @Value("${hunter.secrets.pluggy.client-id}")
+    private String PLUGGY_CLIENT_ID;
+    @Value("${hunter.secrets.pluggy.client-secret}")
+    private String PLUGGY_CLIENT_SECRET;
+    @Value("${hunter.secrets.pluggy.crypt-secret}")
+    private String PLUGGY_CRYPT_SECRET;
+    @Value("${hunter.pluggy.api-key.ttl-minutes:90}")
+    private long API_KEY_TTL_MINUTES;
+    @Value("${hunter.pluggy.api-key.refresh-before-minutes:10}")
+    private long REFRESH_BEFORE_MINUTES;
+
+    private final PluggyWebClient pluggyWebClient;
+    private final PluggyAccessDataRepository pluggyAccessDataRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IntegrationCircuitBreaker circuitBreaker;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean backgroundRefreshRunning = new AtomicBoolean(false);
+    private volatile ApiKey current;
+
+    public PluggyApiKeyHolder(
+            PluggyWebClient pluggyWebClient,
+            PluggyAccessDataRepository pluggyAccessDataRepository,
+            PlatformTransactionManager transactionManager,
+            IntegrationCircuitBreaker circuitBreaker
+    ) {
+        this.pluggyWebClient = pluggyWebClient;
+        this.pluggyAccessDataRepository = pluggyAccessDataRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * @return A API key da Pluggy criptografada.
+     */
+    public String getEncryptedApiKey() {
+        return getValidApiKey().encrypted;
+    }
+
+    /**
+     * @return A API key da Pluggy descriptografada, pronta para uso no header <code>X-API-KEY</code>.
+     */
+    public String getApiKey() {
+        return getValidApiKey().decrypted;
+    }
+
+    /* Métodos/Classes privados. */
+
+    private ApiKey getValidApiKey() {
+        LocalDateTime now = LocalDateTime.now();
+        ApiKey apiKey = current;
+        if (apiKey != null && !apiKey.isExpired(now)) {
+            if (apiKey.needsRefresh(now)) {
+                refreshInBackground(apiKey);
+            }
+            return apiKey;
+        }
+        return refresh(apiKey, false);
+    }
+
+    /**
+     * Renova a chave sob o lock. Se outra thread já trocou a chave enquanto esperávamos,
+     * a nova chave é aproveitada sem ir à base nem à Pluggy.
+     */
+    private ApiKey refresh(ApiKey stale, boolean proactive) {
+        refreshLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            ApiKey apiKey = current;
+            if (apiKey != null && apiKey != stale && !apiKey.isExpired(now)) {
+                return apiKey;
+            }
+
+            apiKey = loadFromDatabase();
+            if (apiKey == null || apiKey.isExpired(now) || (proactive && apiKey.needsRefresh(now))) {
+                apiKey = requestNewApiKey();
+            }
+            current = apiKey;
+            return apiKey;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshInBackground(ApiKey stale) {
+        if (!backgroundRefreshRunning.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("pluggy-api-key-refresh").start(() -> {
+            try {
+                refresh(stale, true);
+            } catch (Exception e) {
+                log.warn("Falha ao renovar antecipadamente a API key da Pluggy: {}", e.getMessage());
+            } finally {
+                backgroundRefreshRunning.set(false);
+            }
+        });
+    }
+
+    private ApiKey loadFromDatabase() {
+        PluggyAccessDataEntity accessData = pluggyAccessDataRepository.findAll().stream().findFirst().orElse(null);
+        if (accessData == null || accessData.getAccessToken() == null || accessData.getAccessToken().isEmpty()
+                || accessData.getObtainedAt() == null) {
+            return null;
+        }
+        try {
+            String decrypted = CryptUtil.decrypt(accessData.getAccessToken(), PLUGGY_CRYPT_SECRET);
+            return new ApiKey(accessData.getAccessToken(), decrypted, accessData.getObtainedAt());
+        } catch (Exception e) {
+            log.warn("API key da Pluggy gravada na base é inválida, solicitando uma nova: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private ApiKey requestNewApiKey() {
+        try {
+            log.info("Solicitando nova API key à Pluggy");
+            String rawApiKey = circuitBreaker.execute(
+                    FinancialIntegrationPlatform.PLUGGY.name(),
+                    () -> pluggyWebClient.getAccessToken(PLUGGY_CLIENT_ID, PLUGGY_CLIENT_SECRET)
+            );
+            PluggyAccessDataEntity accessData = new PluggyAccessDataEntity(CryptUtil.encrypt(rawApiKey, PLUGGY_CRYPT_SECRET));
+            transactionTemplate.executeWithoutResult(status -> {
+                pluggyAccessDataRepository.deleteAll(); // limpo a tabela novamente.
+                pluggyAccessDataRepository.save(accessData);
+            });
+            return new ApiKey(accessData.getAccessToken(), rawApiKey, accessData.getObtainedAt());
+        } catch (IntegrationUnavailableException | RestClientException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException("Error getting access token: " + e.getMessage());
+        }
+    }
+
+    private class ApiKey {
+        private final String encrypted;
+        private final String decrypted;
+        private final LocalDateTime expiresAt;
+
+        ApiKey(String encrypted, String decrypted, LocalDateTime obtainedAt) {
+            this.encrypted = encrypted;
+            this.decrypted = decrypted;
+            this.expiresAt = obtainedAt.plusMinutes(API_KEY_TTL_MINUTES);
+        }
+
+        boolean isExpired(LocalDateTime now) {
+            return !expiresAt.isAfter(now);
+        }
+
+        boolean needsRefresh(LocalDateTime now) {
+            return !expiresAt.minusMinutes(REFRESH_BEFORE_MINUTES).isAfter(now);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.blackhunter.finey.rest.screens_mobile.controller;
 
+import br.com.blackhunter.finey.rest.core.annotations.EnvelopeEncryptable;
 import br.com.blackhunter.finey.rest.core.dto.ApiResponse;
 import br.com.blackhunter.finey.rest.finance.analysis.dto.payload.AnalysisPayload;
 import br.com.blackhunter.finey.rest.screens_mobile.dto.HomeScreenAnalysisData;
@@ -17,6 +18,7 @@ public class HomeScreenController {
     }
 
     @PostMapping("/analysis")
+    @EnvelopeEncryptable
     public ResponseEntity<ApiResponse<HomeScreenAnalysisData>> getHomeScreenAnalysisFromReferenceDate(
             @RequestBody AnalysisPayload payload
     ) {
@@ -94,11 +94,11 @@ public class UserAccountServiceImpl implements UserAccountService {
 
     @Override
     public UserInfoDataProjected getUserInfoByAuthToken() {
-        UserAccountEntity user = jwtUtil.getUserAccountFromToken();
+        UUID userId = jwtUtil.getPrincipal().getAccountId();
 
         FinancialIntegrator financialIntegrator = financialIntegratorManager.getFinancialIntegrator();
-        List<FinancialInstitutionData> userConnectedBanks = financialIntegrator.getAllConnectedBanks(user.getAccountId());
-        return new UserInfoDataProjected(repository.getUserInfoById(user.getAccountId()), userConnectedBanks);
+        List<FinancialInstitutionData> userConnectedBanks = financialIntegrator.getAllConnectedBanks(userId);
+        return new UserInfoDataProjected(repository.getUserInfoById(userId), userConnectedBanks);
     }
 
     @Override
@@ -0,0 +1,89 @@
+/*
+ * @(#)CachingJwtDecoderBenchmark.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.auth.util;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+
+/**
+ * <p>Classe <code>CachingJwtDecoderBenchmark</code>.</p>
+ * <p>Compara o custo de autenticação por requisição com o <code>NimbusJwtDecoder</code> puro (verificação
+ * RSA-2048 a cada chamada) e com o {@link CachingJwtDecoder}, para um mesmo token reutilizado pelo app.</p>
+ * <p>Não roda no <code>mvn test</code>; execute a classe diretamente a partir do classpath de testes:</p>
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *   br.com.blackhunter.finey.rest.auth.util.CachingJwtDecoderBenchmark [requisicoes] [rodadas]
+ * </pre>
+ */
+public class CachingJwtDecoderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        RSAKey jwk = new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+
+        Instant now = Instant.now();
+        String token = encoder.encode(JwtEncoderParameters.from(JwtClaimsSet.builder()
+                .issuer("https://blakchunter.com")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .subject("usuario@finey.com.br")
+                .claim("scope", "ROLE_USER")
+                .build())).getTokenValue();
+
+        JwtDecoder nimbus = NimbusJwtDecoder.withPublicKey(publicKey).build();
+        JwtDecoder cached = new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(publicKey).build(), 10_000, () -> null);
+
+        for (int round = 1; round <= rounds; round++) {
+            long verified = measure(nimbus, token, requests);
+            long fromCache = measure(cached, token, requests);
+            System.out.printf("rodada %d: verificação RSA %s | cache %s%n",
+                    round, format(verified, requests), format(fromCache, requests));
+        }
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static long measure(JwtDecoder decoder, String token, int requests) {
+        long start = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < requests; i++) {
+            sink += decoder.decode(token).getSubject().length();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed;
+    }
+
+    private static String format(long nanos, int requests) {
+        return String.format("%.1f µs/requisição", nanos / 1_000.0 / requests);
+    }
+}
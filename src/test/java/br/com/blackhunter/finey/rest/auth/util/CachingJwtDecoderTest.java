@@ -0,0 +1,104 @@
+/*
+ * @(#)CachingJwtDecoderTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.auth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>CachingJwtDecoderTest</code>.</p>
+ * <p>Testes unitários do cache de tokens JWT já verificados.</p>
+ * */
+public class CachingJwtDecoderTest {
+    private static final String TOKEN = "header.payload.signature";
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Test
+    @DisplayName("Deve verificar o token uma única vez enquanto ele não expirar")
+    void decode_WithSameTokenBeforeExpiry_ShouldVerifyOnce() {
+        // Arrange
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        when(delegate.decode(TOKEN)).thenReturn(jwt(NOW.plusSeconds(3600)));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, () -> null, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act
+        Jwt first = decoder.decode(TOKEN);
+        Jwt second = decoder.decode(TOKEN);
+
+        // Assert
+        verify(delegate, times(1)).decode(TOKEN);
+        assertEquals(TOKEN, second.getTokenValue());
+        assertEquals(first.getSubject(), second.getSubject());
+        assertEquals(first.getExpiresAt(), second.getExpiresAt());
+        assertEquals("ROLE_USER", second.getClaimAsString("scope"));
+    }
+
+    @Test
+    @DisplayName("Deve verificar o token novamente depois do exp")
+    void decode_AfterExpiry_ShouldDelegateAgain() {
+        // Arrange
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        when(delegate.decode(TOKEN)).thenReturn(jwt(NOW.plusSeconds(60)));
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW.plusSeconds(30), NOW.plusSeconds(61));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, () -> null, clock);
+        decoder.decode(TOKEN);
+        decoder.decode(TOKEN);
+
+        // Act
+        decoder.decode(TOKEN);
+
+        // Assert
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar um token em cache depois de revogado")
+    void decode_WithRevokedToken_ShouldThrowBadJwtException() {
+        // Arrange
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        when(delegate.decode(TOKEN)).thenReturn(jwt(NOW.plusSeconds(3600)));
+        AtomicBoolean revoked = new AtomicBoolean(false);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10,
+                () -> jwt -> revoked.get(), Clock.fixed(NOW, ZoneOffset.UTC));
+        decoder.decode(TOKEN);
+
+        // Act
+        revoked.set(true);
+
+        // Assert
+        assertThrows(BadJwtException.class, () -> decoder.decode(TOKEN));
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue(TOKEN)
+                .header("alg", "RS256")
+                .issuer("https://blakchunter.com")
+                .subject("usuario@finey.com.br")
+                .issuedAt(NOW)
+                .expiresAt(expiresAt)
+                .claim("scope", "ROLE_USER")
+                .claim("jti", "nao-guardado")
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * @(#)CryptUtilBenchmark.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.auth.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * <p>Classe <code>CryptUtilBenchmark</code>.</p>
+ * <p>Compara a vazão do {@link CryptUtil} com a criptografia anterior, que criava a chave e o
+ * <code>Cipher</code> a cada chamada, em campos por segundo e milissegundos por milhão de campos.</p>
+ * <p>Não roda no <code>mvn test</code>; execute a classe diretamente a partir do classpath de testes:</p>
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/classes:target/test-classes \
+ *   br.com.blackhunter.finey.rest.auth.util.CryptUtilBenchmark [campos] [rodadas]
+ * </pre>
+ */
+public class CryptUtilBenchmark {
+    private static final String SECRET = "benchmark-secret-0123456789";
+    /* Campos típicos de uma resposta dos widgets: valores, percentuais, rótulos e constantes. */
+    private static final String[] FIELDS = {
+        "1250.75", "-320.10", "12.5", "0.9", "Alimentação", "Renda Fixa", "active", "Janeiro", "💼", "4580.00"
+    };
+
+    public static void main(String[] args) throws Exception {
+        int fields = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        for (int round = 1; round <= rounds; round++) {
+            long legacy = measure(() -> {
+                long sink = 0;
+                for (int i = 0; i < fields; i++) {
+                    sink += LegacyCrypt.encrypt(FIELDS[i % FIELDS.length], SECRET).length();
+                }
+                return sink;
+            });
+            long pooled = measure(() -> {
+                long sink = 0;
+                for (int i = 0; i < fields; i++) {
+                    sink += CryptUtil.encrypt(FIELDS[i % FIELDS.length], SECRET).length();
+                }
+                return sink;
+            });
+            long batch = measure(() -> {
+                long sink = 0;
+                for (int i = 0; i < fields; i += FIELDS.length) {
+                    for (String encrypted : CryptUtil.encryptAll(FIELDS, SECRET)) {
+                        sink += encrypted.length();
+                    }
+                }
+                return sink;
+            });
+            System.out.printf("rodada %d: por chamada %s | pool %s | lote %s%n",
+                    round, format(legacy, fields), format(pooled, fields), format(batch, fields));
+        }
+    }
+
+    /* Métodos/Classes privados. */
+
+    private interface Task {
+        long run() throws Exception;
+    }
+
+    private static long measure(Task task) throws Exception {
+        long start = System.nanoTime();
+        long sink = task.run();
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed;
+    }
+
+    private static String format(long nanos, int fields) {
+        double perMillion = nanos / 1_000_000.0 / fields * 1_000_000;
+        double perSecond = fields / (nanos / 1_000_000_000.0);
+        return String.format("%.0f ms/milhão (%.0f campos/s)", perMillion, perSecond);
+    }
+
+    /* Implementação anterior do CryptUtil.encrypt (linha de base). */
+    private static class LegacyCrypt {
+        static String encrypt(String data, String secretKey) throws Exception {
+            byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
+            SecretKey key = new SecretKeySpec(keyBytes, 0, 16, "AES");
+            Cipher cipher = Cipher.getInstance("AES");
+            cipher.init(Cipher.ENCRYPT_MODE, key);
+            return Base64.getEncoder().encodeToString(cipher.doFinal(data.getBytes()));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * @(#)CryptUtilTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.auth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>CryptUtilTest</code>.</p>
+ * <p>Testes unitários da criptografia com chave derivada uma vez e <code>Cipher</code> reaproveitados.</p>
+ * */
+public class CryptUtilTest {
+    private static final String SECRET = "0123456789abcdef-segredo-de-teste";
+
+    @Test
+    @DisplayName("Deve gerar o mesmo texto cifrado que um Cipher criado a cada chamada")
+    void encrypt_WithPooledCipher_ShouldMatchPerCallCipher() throws Exception {
+        // Arrange
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), 0, 16, "AES"));
+        String expected = Base64.getEncoder().encodeToString(cipher.doFinal("Renda Fixa".getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        String first = CryptUtil.encrypt("Renda Fixa", SECRET);
+        String second = CryptUtil.encrypt("Renda Fixa", SECRET);
+
+        // Assert
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+        assertEquals("Renda Fixa", CryptUtil.decrypt(first, SECRET));
+    }
+
+    @Test
+    @DisplayName("Deve criptografar em lote na ordem recebida e descriptografar de volta")
+    void encryptAll_WithSeveralValues_ShouldKeepOrder() throws Exception {
+        // Arrange
+        List<String> values = List.of("active", "1250.75", "Alimentação", "🍽️");
+
+        // Act
+        String[] encrypted = CryptUtil.encryptAll(values.toArray(new String[0]), SECRET);
+        List<String> decrypted = CryptUtil.decryptAll(List.of(encrypted), SECRET);
+
+        // Assert
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(CryptUtil.encrypt(values.get(i), SECRET), encrypted[i]);
+        }
+        assertEquals(values, decrypted);
+    }
+
+    @Test
+    @DisplayName("Deve continuar utilizável após uma falha de descriptografia e entre threads concorrentes")
+    void decrypt_WithInvalidDataAndConcurrentCalls_ShouldNotCorruptPool() throws Exception {
+        // Arrange
+        assertFalse(CryptUtil.isEncrypted("texto-puro", SECRET));
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                String value = "valor-" + i;
+                results.add(executor.submit(() -> value.equals(CryptUtil.decrypt(CryptUtil.encrypt(value, SECRET), SECRET))));
+            }
+        }
+
+        // Assert
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+    }
+}
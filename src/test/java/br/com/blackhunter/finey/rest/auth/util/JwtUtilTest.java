@@ -0,0 +1,111 @@
+/*
+ * @(#)JwtUtilTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.auth.util;
+
+import br.com.blackhunter.finey.rest.auth.RequestPrincipal;
+import br.com.blackhunter.finey.rest.core.dto.HttpContextData;
+import br.com.blackhunter.finey.rest.useraccount.entity.UserAccountEntity;
+import br.com.blackhunter.finey.rest.useraccount.service.UserAccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>JwtUtilTest</code>.</p>
+ * <p>Testes unitários da resolução do usuário autenticado uma vez por requisição.</p>
+ * */
+@ExtendWith(MockitoExtension.class)
+public class JwtUtilTest {
+    private static final String EMAIL = "usuario@finey.com.br";
+
+    @Mock
+    private UserAccountService userAccountService;
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    @InjectMocks
+    private JwtUtil jwtUtil;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        HttpContextData.setCurrentRequest(new MockHttpServletRequest());
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(EMAIL)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void tearDown() {
+        HttpContextData.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve resolver o usuário uma única vez por requisição, sem decodificar o token novamente")
+    void getPrincipal_CalledTwiceInSameRequest_ShouldLookUpUserOnce() {
+        // Arrange
+        when(userAccountService.findUserIdByEmail(EMAIL)).thenReturn(accountId);
+
+        // Act
+        RequestPrincipal first = jwtUtil.getPrincipal();
+        RequestPrincipal second = jwtUtil.getPrincipal();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(accountId, first.getAccountId());
+        assertEquals(EMAIL, first.getSubject());
+        verify(userAccountService, times(1)).findUserIdByEmail(EMAIL);
+        verify(jwtDecoder, never()).decode(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve buscar a conta do usuário uma única vez por requisição")
+    void getUserAccountFromToken_CalledTwiceInSameRequest_ShouldLoadEntityOnce() {
+        // Arrange
+        UserAccountEntity userAccount = new UserAccountEntity();
+        userAccount.setAccountId(accountId);
+        when(userAccountService.findUserIdByEmail(EMAIL)).thenReturn(accountId);
+        when(userAccountService.findEntityById(accountId)).thenReturn(userAccount);
+
+        // Act
+        UserAccountEntity first = jwtUtil.getUserAccountFromToken();
+        UserAccountEntity second = jwtUtil.getUserAccountFromToken();
+
+        // Assert
+        assertSame(userAccount, first);
+        assertSame(userAccount, second);
+        verify(userAccountService, times(1)).findEntityById(any(UUID.class));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * @(#)PluggyRateLimiterTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.client;
+
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.exception.IntegrationUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>PluggyRateLimiterTest</code>.</p>
+ * <p>Testes unitários do limitador de requisições da Pluggy.</p>
+ * */
+public class PluggyRateLimiterTest {
+
+    @Test
+    @DisplayName("Deve liberar o burst sem espera e fazer a chamada seguinte aguardar a próxima ficha")
+    void acquire_WhenBurstIsExhausted_ShouldWaitForNextToken() {
+        // Arrange
+        PluggyRateLimiter rateLimiter = new PluggyRateLimiter(null, true, PluggyRateLimiter.MODE_LOCAL, 20, 2, 2000);
+
+        // Act
+        rateLimiter.acquire("test");
+        rateLimiter.acquire("test");
+        long start = System.nanoTime();
+        rateLimiter.acquire("test");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        PluggyRateLimiter.RateLimiterMetrics metrics = rateLimiter.getMetrics();
+        assertEquals(3, metrics.getAcquisitions());
+        assertEquals(1, metrics.getThrottledAcquisitions());
+        assertTrue(metrics.getMaxWaitMillis() > 0 && metrics.getMaxWaitMillis() <= 50);
+        assertTrue(elapsedMillis >= 30, "Expected to wait for the next token, waited " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Deve falhar na hora, sem reservar ficha, quando a espera passar do máximo configurado")
+    void acquire_WhenWaitExceedsMaximum_ShouldFailFastWithoutReserving() {
+        // Arrange
+        PluggyRateLimiter rateLimiter = new PluggyRateLimiter(null, true, PluggyRateLimiter.MODE_LOCAL, 1, 1, 100);
+        rateLimiter.acquire("test");
+
+        // Act
+        long start = System.nanoTime();
+        assertThrows(IntegrationUnavailableException.class, () -> rateLimiter.acquire("test"));
+        assertThrows(IntegrationUnavailableException.class, () -> rateLimiter.acquire("test"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        PluggyRateLimiter.RateLimiterMetrics metrics = rateLimiter.getMetrics();
+        assertEquals(1, metrics.getAcquisitions());
+        assertEquals(2, metrics.getRejectedAcquisitions());
+        assertTrue(elapsedMillis < 100, "Expected to fail fast, waited " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Deve usar o balde compartilhado no Redis quando o modo distribuído estiver ativo")
+    @SuppressWarnings("unchecked")
+    void acquire_WithRedisMode_ShouldReserveOnRedis() {
+        // Arrange
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+        PluggyRateLimiter rateLimiter = new PluggyRateLimiter(redisTemplate, true, PluggyRateLimiter.MODE_REDIS, 1, 1, 2000);
+
+        // Act
+        rateLimiter.acquire("test");
+        rateLimiter.acquire("test");
+
+        // Assert
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), eq(List.of("hunter:pluggy:rate-limit")), any(Object[].class));
+        assertEquals(0, rateLimiter.getMetrics().getThrottledAcquisitions());
+    }
+
+    @Test
+    @DisplayName("Deve cair para o balde local quando o Redis estiver indisponível")
+    @SuppressWarnings("unchecked")
+    void acquire_WhenRedisFails_ShouldFallBackToLocalBucket() {
+        // Arrange
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        PluggyRateLimiter rateLimiter = new PluggyRateLimiter(redisTemplate, true, PluggyRateLimiter.MODE_REDIS, 10, 5, 2000);
+
+        // Act
+        rateLimiter.acquire("test");
+        rateLimiter.acquire("test");
+
+        // Assert
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertEquals(2, rateLimiter.getMetrics().getAcquisitions());
+    }
+}
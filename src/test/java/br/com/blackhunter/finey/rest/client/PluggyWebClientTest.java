@@ -0,0 +1,118 @@
+/*
+ * @(#)PluggyWebClientTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * <p>Classe <code>PluggyWebClientTest</code>.</p>
+ * <p>Testes unitários da paginação de transações do cliente da Pluggy.</p>
+ * */
+public class PluggyWebClientTest {
+
+    private MockRestServiceServer server;
+    private PluggyWebClient pluggyWebClient;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        pluggyWebClient = new PluggyWebClient(restTemplate, new ObjectMapper(), new PluggyRateLimiter(null, false, PluggyRateLimiter.MODE_LOCAL, 10, 10, 2000));
+        ReflectionTestUtils.setField(pluggyWebClient, "PARALLEL_PAGINATION", true);
+        ReflectionTestUtils.setField(pluggyWebClient, "MAX_PARALLEL_PAGES", 4);
+    }
+
+    @Test
+    @DisplayName("Deve buscar todas as páginas e remontar as transações na ordem das páginas")
+    void getAllTransactionsPeriodByOriginalAccountId_WithManyPages_ShouldKeepPageOrder() {
+        // Arrange
+        for (int page = 1; page <= 3; page++) {
+            server.expect(requestTo(org.hamcrest.Matchers.containsString("page=" + page + "&")))
+                    .andExpect(method(HttpMethod.GET))
+                    .andExpect(header("X-API-KEY", "token"))
+                    .andRespond(withSuccess(pageJson(page, 3), MediaType.APPLICATION_JSON));
+        }
+
+        // Act
+        List<PluggyWebClient.PluggyTransaction> transactions = pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId(
+                "token", "account", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+        // Assert
+        server.verify();
+        assertEquals(List.of("tx-1", "tx-2", "tx-3"), transactions.stream().map(PluggyWebClient.PluggyTransaction::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma única requisição quando houver apenas uma página")
+    void getAllTransactionsPeriodByOriginalAccountId_WithSinglePage_ShouldRequestOnce() {
+        // Arrange
+        server.expect(requestTo(org.hamcrest.Matchers.containsString("page=1&")))
+                .andRespond(withSuccess(pageJson(1, 1), MediaType.APPLICATION_JSON));
+
+        // Act
+        List<PluggyWebClient.PluggyTransaction> transactions = pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId(
+                "token", "account", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        // Assert
+        server.verify();
+        assertEquals(1, transactions.size());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar campos desconhecidos e calcular as páginas pelo total quando totalPages não vier")
+    void getAllTransactionsPeriodByOriginalAccountId_WithUnknownFields_ShouldReadKnownFieldsOnly() {
+        // Arrange
+        server.expect(requestTo(org.hamcrest.Matchers.containsString("page=1&")))
+                .andRespond(withSuccess("""
+                        {"page": 1, "total": 1,
+                         "results": [{"id": "tx-1", "description": "Mercado", "amount": -25.9, "type": "DEBIT",
+                                      "status": "PENDING", "date": "2025-01-05T10:00:00.000Z",
+                                      "creditCardMetadata": {"installmentNumber": 1, "totalInstallments": [1, 2]},
+                                      "merchant": {"name": "Mercado", "cnpj": "00"}, "tags": null}],
+                         "extra": {"nested": [{"a": 1}]}}
+                        """, MediaType.APPLICATION_JSON));
+
+        // Act
+        List<PluggyWebClient.PluggyTransaction> transactions = pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId(
+                "token", "account", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        // Assert
+        server.verify();
+        assertEquals(1, transactions.size());
+        PluggyWebClient.PluggyTransaction transaction = transactions.get(0);
+        assertEquals("tx-1", transaction.getId());
+        assertEquals(-25.9, transaction.getAmount());
+        assertEquals("PENDING", transaction.getStatus());
+        assertNotNull(transaction.getDate());
+    }
+
+    private String pageJson(int page, int totalPages) {
+        return """
+                {"total": %d, "totalPages": %d, "page": %d,
+                 "results": [{"id": "tx-%d", "description": "Compra", "amount": -10.5, "type": "DEBIT",
+                              "status": "POSTED", "date": "2025-01-0%dT10:00:00.000Z"}]}
+                """.formatted(totalPages, totalPages, page, page, page);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * @(#)RouteLimitingInterceptorTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>RouteLimitingInterceptorTest</code>.</p>
+ * <p>Testes unitários do limite de requisições simultâneas por rota.</p>
+ * */
+public class RouteLimitingInterceptorTest {
+    private static final ClientHttpRequestExecution OK_EXECUTION =
+            (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+    @Test
+    @DisplayName("Deve ocupar a vaga da rota até a resposta ser fechada")
+    void intercept_WhenResponseIsClosed_ShouldReleaseRoute() throws IOException {
+        // Arrange
+        RouteLimitingInterceptor interceptor = new RouteLimitingInterceptor(1, Duration.ofMillis(10));
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://api.pluggy.ai/accounts"));
+
+        // Act
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], OK_EXECUTION);
+        int inUseBeforeClose = interceptor.getMetrics().get("https://api.pluggy.ai:443").getInUse();
+        response.close();
+        response.close();
+
+        // Assert
+        RouteLimitingInterceptor.RouteMetrics metrics = interceptor.getMetrics().get("https://api.pluggy.ai:443");
+        assertEquals(1, inUseBeforeClose);
+        assertEquals(0, metrics.getInUse());
+        assertEquals(1, metrics.getRequests());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a requisição quando a rota continuar cheia após o tempo de espera")
+    void intercept_WhenRouteIsFull_ShouldFailAfterTimeout() throws IOException {
+        // Arrange
+        RouteLimitingInterceptor interceptor = new RouteLimitingInterceptor(1, Duration.ofMillis(10));
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://api.pluggy.ai/transactions"));
+        interceptor.intercept(request, new byte[0], OK_EXECUTION);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> interceptor.intercept(request, new byte[0], OK_EXECUTION));
+        assertEquals(1, interceptor.getMetrics().get("https://api.pluggy.ai:443").getRejected());
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga quando a execução falhar")
+    void intercept_WhenExecutionFails_ShouldReleaseRoute() {
+        // Arrange
+        RouteLimitingInterceptor interceptor = new RouteLimitingInterceptor(1, Duration.ofMillis(10));
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost:8080/auth"));
+
+        // Act
+        assertThrows(IOException.class, () -> interceptor.intercept(request, new byte[0], (r, b) -> {
+            throw new IOException("connection reset");
+        }));
+
+        // Assert
+        RouteLimitingInterceptor.RouteMetrics metrics = interceptor.getMetrics().get("http://localhost:8080");
+        assertEquals(0, metrics.getInUse());
+        assertEquals(1, metrics.getFailures());
+    }
+}
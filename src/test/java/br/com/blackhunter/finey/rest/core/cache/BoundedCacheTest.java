@@ -0,0 +1,66 @@
+/*
+ * @(#)BoundedCacheTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>BoundedCacheTest</code>.</p>
+ * <p>Testes unitários do mapa LRU limitado com validade por entrada.</p>
+ * */
+public class BoundedCacheTest {
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Test
+    @DisplayName("Deve descartar a entrada usada há mais tempo ao passar do limite")
+    void put_OverMaxEntries_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        // Act
+        cache.put("c", 3);
+
+        // Assert
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    @DisplayName("Deve deixar de retornar a entrada vencida e só substituir uma válida quando a condição aceitar")
+    void get_AfterTtl_ShouldReturnNull() {
+        // Arrange
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, clock);
+        cache.put("a", 1, Duration.ofSeconds(60));
+
+        // Act
+        cache.put("a", 2, Duration.ofSeconds(60), current -> current > 1);
+        Integer beforeExpiry = cache.get("a");
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+        Integer afterExpiry = cache.get("a");
+
+        // Assert
+        assertEquals(1, beforeExpiry);
+        assertNull(afterExpiry);
+    }
+}
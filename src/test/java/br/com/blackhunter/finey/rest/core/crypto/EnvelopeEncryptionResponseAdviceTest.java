@@ -0,0 +1,164 @@
+/*
+ * @(#)EnvelopeEncryptionResponseAdviceTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.crypto;
+
+import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.core.annotations.EnvelopeEncryptable;
+import br.com.blackhunter.finey.rest.core.dto.ApiResponse;
+import br.com.blackhunter.finey.rest.core.dto.HttpContextData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.security.GeneralSecurityException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>EnvelopeEncryptionResponseAdviceTest</code>.</p>
+ * <p>Testes unitários do modo de resposta com envelope criptografado.</p>
+ * */
+public class EnvelopeEncryptionResponseAdviceTest {
+    private static final String CRYPT_SECRET = "test-crypt-secret";
+    private static final String ENVELOPE_KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private EnvelopeEncryptionResponseAdvice advice;
+    private EnvelopeCipher envelopeCipher;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        envelopeCipher = new EnvelopeCipher(ENVELOPE_KEY);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("envelopeCipher", envelopeCipher);
+        advice = new EnvelopeEncryptionResponseAdvice(objectMapper, beanFactory.getBeanProvider(EnvelopeCipher.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        HttpContextData.clear();
+    }
+
+    @Test
+    @DisplayName("Deve deixar os campos em texto puro e criptografar a resposta inteira no modo envelope")
+    void beforeBodyWrite_WithEnvelopeHeader_ShouldEncryptWholeBodyOnce() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("envelope");
+        HttpContextData.setCurrentRequest(request);
+        String field = ResponseEncryption.encryptField("1250.75", CRYPT_SECRET);
+        ApiResponse<String> body = ApiResponse.<String>builder().status("success").data(field).build();
+        ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+
+        // Act
+        Object written = writeBody(body, request, response);
+
+        // Assert
+        assertEquals("1250.75", field);
+        EncryptedEnvelope envelope = assertInstanceOf(EncryptedEnvelope.class, written);
+        assertTrue(envelope.getEnvelope().startsWith(EnvelopeCipher.VERSION + "."));
+        String json = envelopeCipher.decrypt(envelope.getEnvelope());
+        assertEquals("1250.75", objectMapper.readTree(json).get("data").asText());
+        assertEquals(ResponseEncryption.ENVELOPE, response.getHeaders().getFirst(ResponseEncryption.HEADER));
+    }
+
+    @Test
+    @DisplayName("Deve usar um IV aleatório por envelope e rejeitar envelopes alterados")
+    void encrypt_WithSameContent_ShouldUseRandomIvAndDetectTampering() throws Exception {
+        // Arrange
+        String json = "{\"status\":\"success\"}";
+
+        // Act
+        String first = envelopeCipher.encrypt(json);
+        String second = envelopeCipher.encrypt(json);
+
+        // Assert
+        assertNotEquals(first, second);
+        assertEquals(json, envelopeCipher.decrypt(second));
+        char last = first.charAt(first.length() - 2);
+        String tampered = first.substring(0, first.length() - 2) + (last == 'A' ? 'B' : 'A') + first.charAt(first.length() - 1);
+        assertThrows(GeneralSecurityException.class, () -> envelopeCipher.decrypt(tampered));
+        assertThrows(GeneralSecurityException.class, () -> new EnvelopeCipher("ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=").decrypt(first));
+    }
+
+    @Test
+    @DisplayName("Deve manter a criptografia por campo quando o cliente não pedir o envelope")
+    void beforeBodyWrite_WithoutEnvelopeHeader_ShouldKeepFieldEncryption() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request(null);
+        HttpContextData.setCurrentRequest(request);
+        String field = ResponseEncryption.encryptField("1250.75", CRYPT_SECRET);
+        ApiResponse<String> body = ApiResponse.<String>builder().status("success").data(field).build();
+        ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+
+        // Act
+        Object written = writeBody(body, request, response);
+
+        // Assert
+        assertEquals(CryptUtil.encrypt("1250.75", CRYPT_SECRET), field);
+        assertSame(body, written);
+        assertNull(response.getHeaders().getFirst(ResponseEncryption.HEADER));
+    }
+
+    @Test
+    @DisplayName("Deve falhar em vez de responder em texto puro quando não houver cifra de envelope")
+    void beforeBodyWrite_WithoutEnvelopeCipher_ShouldFail() throws Exception {
+        // Arrange
+        advice = new EnvelopeEncryptionResponseAdvice(objectMapper,
+                new DefaultListableBeanFactory().getBeanProvider(EnvelopeCipher.class));
+        MockHttpServletRequest request = request("envelope");
+        HttpContextData.setCurrentRequest(request);
+        ApiResponse<String> body = ApiResponse.<String>builder().status("success").data("1250.75").build();
+        ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> writeBody(body, request, response));
+    }
+
+    /* Métodos/Classes privados. */
+
+    private MockHttpServletRequest request(String encryptionHeader) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/screens-mobile/home/analysis");
+        if (encryptionHeader != null) {
+            request.addHeader(ResponseEncryption.HEADER, encryptionHeader);
+        }
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new SampleController(), SampleController.class.getMethod("analysis")));
+        return request;
+    }
+
+    private Object writeBody(Object body, MockHttpServletRequest request, ServletServerHttpResponse response) throws Exception {
+        Method method = SampleController.class.getMethod("analysis");
+        MethodParameter returnType = new MethodParameter(method, -1);
+        assertTrue(advice.supports(returnType, MappingJackson2HttpMessageConverter.class));
+        return advice.beforeBodyWrite(body, returnType, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), response);
+    }
+
+    static class SampleController {
+        @EnvelopeEncryptable
+        public ApiResponse<String> analysis() {
+            return null;
+        }
+    }
+}
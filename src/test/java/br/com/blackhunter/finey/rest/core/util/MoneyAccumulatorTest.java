@@ -0,0 +1,84 @@
+/*
+ * @(#)MoneyAccumulatorTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>MoneyAccumulatorTest</code>.</p>
+ * <p>Testes unitários da soma monetária em centavos e das conversões de {@link MoneyUtil}.</p>
+ * */
+public class MoneyAccumulatorTest {
+
+    @Test
+    @DisplayName("Deve somar em centavos e criar o BigDecimal apenas no resultado")
+    void add_WithCentsAndTwoDecimalAmounts_ShouldKeepExactCents() {
+        // Arrange
+        MoneyAccumulator accumulator = new MoneyAccumulator();
+
+        // Act
+        accumulator.add(new BigDecimal("1234.56"))
+                .addAbs(new BigDecimal("-100.10"))
+                .add(new BigDecimal("10"))
+                .add(new BigDecimal("0.500"))
+                .add(-66L);
+
+        // Assert
+        assertTrue(accumulator.isExactCents());
+        assertEquals(134_450L, accumulator.getCents());
+        assertEquals(new BigDecimal("1344.50"), accumulator.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Deve passar a somar em BigDecimal, sem perder exatidão, ao estourar o long ou receber frações de centavo")
+    void add_WithOverflowOrFractionOfCent_ShouldFallBackToBigDecimal() {
+        // Arrange
+        MoneyAccumulator overflow = new MoneyAccumulator();
+        MoneyAccumulator fraction = new MoneyAccumulator();
+
+        // Act
+        overflow.add(Long.MAX_VALUE).add(1L).add(-2L);
+        fraction.add(new BigDecimal("10.00")).add(new BigDecimal("0.005")).add(150L);
+
+        // Assert
+        assertFalse(overflow.isExactCents());
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE).subtract(BigDecimal.ONE).movePointLeft(2), overflow.toBigDecimal());
+        assertThrows(ArithmeticException.class, overflow::getCents);
+        assertFalse(fraction.isExactCents());
+        assertEquals(0, new BigDecimal("11.505").compareTo(fraction.toBigDecimal()));
+    }
+
+    @Test
+    @DisplayName("Deve converter double para escala 2 com o mesmo arredondamento de BigDecimal.valueOf(...).setScale(2, HALF_UP)")
+    void fromDouble_ShouldMatchDecimalRounding() {
+        // Arrange
+        Random random = new Random(42);
+        double[] samples = new double[10_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = i % 2 == 0
+                    ? (random.nextInt(2_000_000) - 1_000_000) / 100.0
+                    : (random.nextDouble() - 0.5) * 1e7;
+        }
+
+        // Act & Assert
+        for (double value : samples) {
+            assertEquals(BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP), MoneyUtil.fromDouble(value));
+        }
+        assertEquals(new BigDecimal("1.01"), MoneyUtil.fromDouble(1.005));
+        assertEquals(new BigDecimal("-0.10"), MoneyUtil.fromDouble(-0.1));
+    }
+}
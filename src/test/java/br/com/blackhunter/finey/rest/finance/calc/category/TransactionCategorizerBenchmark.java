@@ -0,0 +1,136 @@
+/*
+ * @(#)TransactionCategorizerBenchmark.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.category;
+
+import java.util.Random;
+
+/**
+ * <p>Classe <code>TransactionCategorizerBenchmark</code>.</p>
+ * <p>Compara a vazão da categorização por autômato com a cadeia de <code>contains</code>
+ * usada anteriormente, em descrições por segundo e milissegundos por milhão de descrições.</p>
+ * <p>Não roda no <code>mvn test</code>; execute a classe diretamente a partir do classpath de testes:</p>
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/classes:target/test-classes \
+ *   br.com.blackhunter.finey.rest.finance.calc.category.TransactionCategorizerBenchmark [descrições] [rodadas]
+ * </pre>
+ */
+public class TransactionCategorizerBenchmark {
+    private static final String[] SAMPLES = {
+        "PAG*SUPERMERCADO EXTRA 1234", "POSTO SHELL COMBUSTIVEL", "UBER *TRIP HELP.UBER.COM",
+        "FARMÁCIA DROGASIL 0042", "NETFLIX.COM ASSINATURA", "TRANSFERENCIA PIX RECEBIDA JOAO",
+        "SALÁRIO EMPRESA LTDA", "APLICACAO CDB BANCO INTER", "RESGATE TESOURO SELIC 2029",
+        "COMPRA CARTAO LOJA CENTRO", "PAGAMENTO BOLETO CONDOMINIO", "TED RECEBIDA CLIENTE",
+        "DEBITO AUT. ENERGIA ELETRICA", "MENSALIDADE FACULDADE", "PADARIA PAO QUENTE", "PAGTO DIVERSOS 998877"
+    };
+
+    public static void main(String[] args) {
+        int descriptions = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        String[] input = new String[descriptions];
+        Random random = new Random(42);
+        for (int i = 0; i < descriptions; i++) {
+            input[i] = SAMPLES[random.nextInt(SAMPLES.length)] + " " + random.nextInt(10_000);
+        }
+
+        for (int round = 1; round <= rounds; round++) {
+            long legacy = measure(() -> {
+                long sink = 0;
+                for (String description : input) {
+                    sink += LegacyChain.expense(description).length() + LegacyChain.income(description).length()
+                            + (LegacyChain.isInvestment(description) ? LegacyChain.investmentType(description).length() : 0);
+                }
+                return sink;
+            });
+            long automaton = measure(() -> {
+                long sink = 0;
+                for (String description : input) {
+                    TransactionCategorizer.Categorization categorization = TransactionCategorizer.categorize(description);
+                    sink += categorization.getExpenseCategory().length() + categorization.getIncomeSource().length()
+                            + (categorization.isInvestment() ? categorization.getInvestmentType().length() : 0);
+                }
+                return sink;
+            });
+            System.out.printf("rodada %d: cadeia contains %s | autômato %s%n",
+                    round, format(legacy, descriptions), format(automaton, descriptions));
+        }
+    }
+
+    /* Métodos/Classes privados. */
+
+    private static long measure(java.util.function.LongSupplier task) {
+        long start = System.nanoTime();
+        long sink = task.getAsLong();
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed;
+    }
+
+    private static String format(long nanos, int descriptions) {
+        double perMillion = nanos / 1_000_000.0 / descriptions * 1_000_000;
+        double perSecond = descriptions / (nanos / 1_000_000_000.0);
+        return String.format("%.0f ms/milhão (%.0f descrições/s)", perMillion, perSecond);
+    }
+
+    /* Cadeia de contains equivalente aos classificadores antes do autômato (linha de base). */
+    private static class LegacyChain {
+        static String expense(String description) {
+            String d = description.toLowerCase();
+            if (any(d, "supermercado", "mercado", "padaria", "restaurante", "lanchonete", "delivery", "ifood", "uber eats", "food", "alimentacao")) return "Alimentação";
+            if (any(d, "posto", "combustivel", "gasolina", "etanol", "uber", "99", "taxi", "metro", "onibus", "transporte", "estacionamento")) return "Transporte";
+            if (any(d, "aluguel", "condominio", "energia", "luz", "agua", "internet", "telefone", "gas", "iptu", "moradia")) return "Moradia";
+            if (any(d, "farmacia", "drogaria", "medico", "hospital", "clinica", "laboratorio", "plano saude", "unimed", "saude")) return "Saúde";
+            if (any(d, "escola", "faculdade", "curso", "livro", "material escolar", "educacao", "universidade", "colegio")) return "Educação";
+            if (any(d, "cinema", "netflix", "spotify", "streaming", "jogo", "viagem", "hotel", "lazer", "entretenimento")) return "Lazer";
+            if (any(d, "roupa", "calcado", "sapato", "tenis", "vestuario", "moda", "loja", "shopping")) return "Vestuário";
+            return "Outros";
+        }
+
+        static String income(String description) {
+            String d = description.toLowerCase();
+            if (any(d, "salario", "salário", "ordenado", "vencimento")) return "Salário";
+            if (any(d, "freelance", "projeto", "consultoria", "servico")) return "Freelance";
+            if (any(d, "dividendo", "juros", "rendimento", "investimento")) return "Investimentos";
+            if (any(d, "aluguel", "locacao", "locação", "imovel")) return "Aluguel";
+            if (any(d, "venda", "produto", "mercadoria", "comercio")) return "Vendas";
+            if (any(d, "pix", "ted", "doc", "transferencia")) return "Transferências";
+            return "Outros";
+        }
+
+        static boolean isInvestment(String description) {
+            return any(description.toLowerCase(), "cdb", "lci", "lca", "tesouro", "selic", "ipca", "acao", "acoes", "fii", "etf",
+                    "bovespa", "b3", "fundo", "investimento", "aplicacao", "resgate", "poupanca", "pgbl", "vgbl", "previdencia",
+                    "bitcoin", "btc", "ethereum", "crypto", "binance", "xp", "rico", "inter", "nubank invest", "bradesco invest");
+        }
+
+        static String investmentType(String description) {
+            String d = description.toLowerCase();
+            if (any(d, "cdb", "lci", "lca", "tesouro", "selic", "ipca")) return "Renda Fixa";
+            if (any(d, "acao", "acoes", "fii", "etf", "bovespa", "b3")) return "Renda Variável";
+            if (any(d, "fundo", "investimento")) return "Fundos";
+            if (any(d, "pgbl", "vgbl", "previdencia")) return "Previdência";
+            if (any(d, "poupanca")) return "Poupança";
+            if (any(d, "bitcoin", "btc", "ethereum", "crypto", "binance")) return "Criptomoedas";
+            return "Outros";
+        }
+
+        private static boolean any(String description, String... keywords) {
+            for (String keyword : keywords) {
+                if (description.contains(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * @(#)TransactionCategorizerTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.category;
+
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentClassifier;
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>TransactionCategorizerTest</code>.</p>
+ * <p>Testes unitários do motor de categorização por autômato.</p>
+ * */
+public class TransactionCategorizerTest {
+
+    @Test
+    @DisplayName("Deve ignorar acentos e maiúsculas na descrição")
+    void categorize_WithAccentsAndUppercase_ShouldMatchFoldedKeywords() {
+        // Act
+        TransactionCategorizer.Categorization pharmacy = TransactionCategorizer.categorize("FARMÁCIA São João");
+        TransactionCategorizer.Categorization salary = TransactionCategorizer.categorize("Salário Março");
+
+        // Assert
+        assertEquals(ExpenseCategoryClassifier.HEALTH, pharmacy.getExpenseCategory());
+        assertEquals(IncomeSourceClassifier.SALARY, salary.getIncomeSource());
+    }
+
+    @Test
+    @DisplayName("Deve manter a precedência do primeiro grupo de cada dicionário")
+    void categorize_WithKeywordsFromSeveralGroups_ShouldPickFirstGroup() {
+        // Act
+        TransactionCategorizer.Categorization categorization = TransactionCategorizer.categorize("UBER EATS pedido");
+
+        // Assert
+        assertEquals(ExpenseCategoryClassifier.FOOD, categorization.getExpenseCategory());
+    }
+
+    @Test
+    @DisplayName("Deve preencher todos os dicionários na mesma leitura e priorizar a categoria do provedor")
+    void categorize_WithTransaction_ShouldFillAllDictionaries() {
+        // Arrange
+        TransactionEntity transaction = new TransactionEntity();
+        transaction.setDescription("Resgate Tesouro Selic");
+        TransactionEntity categorized = new TransactionEntity();
+        categorized.setDescription("Mercado");
+        categorized.setCategory("Supermercado");
+
+        // Act
+        TransactionCategorizer.Categorization categorization = TransactionCategorizer.categorize(transaction);
+
+        // Assert
+        assertTrue(categorization.isInvestment());
+        assertEquals(InvestmentClassifier.FIXED_INCOME, categorization.getInvestmentType());
+        assertEquals(ExpenseCategoryClassifier.OTHERS, categorization.getExpenseCategory());
+        assertEquals("Supermercado", TransactionCategorizer.categorize(categorized).getExpenseCategory());
+    }
+
+    @Test
+    @DisplayName("Deve gravar a categorização na transação e reaproveitá-la na leitura")
+    void assignCategories_WithCreditTransaction_ShouldPersistAndReuseCategorization() {
+        // Arrange
+        TransactionEntity transaction = new TransactionEntity();
+        transaction.setDescription("Salário Março");
+        transaction.setType(TransactionType.CREDIT);
+        transaction.setAmount(new BigDecimal("5000.00"));
+
+        // Act
+        TransactionCategorizer.assignCategories(transaction);
+        transaction.setDescription("descrição alterada sem recategorizar");
+
+        // Assert
+        assertEquals(IncomeSourceClassifier.SALARY, transaction.getIncomeSource());
+        assertEquals(Boolean.TRUE, transaction.getRecurringIncome());
+        assertNull(transaction.getInvestmentType());
+        assertEquals(TransactionCategorizer.VERSION, transaction.getCategorizerVersion());
+        assertEquals(IncomeSourceClassifier.SALARY, TransactionCategorizer.categorize(transaction).getIncomeSource());
+    }
+
+    @Test
+    @DisplayName("Deve recategorizar na leitura quando a versão gravada estiver desatualizada")
+    void categorize_WithOutdatedVersion_ShouldScanDescription() {
+        // Arrange
+        TransactionEntity transaction = new TransactionEntity();
+        transaction.setDescription("Farmácia");
+        transaction.setExpenseCategory(ExpenseCategoryClassifier.LEISURE);
+        transaction.setCategorizerVersion(TransactionCategorizer.VERSION - 1);
+
+        // Act
+        TransactionCategorizer.Categorization categorization = TransactionCategorizer.categorize(transaction);
+
+        // Assert
+        assertEquals(ExpenseCategoryClassifier.HEALTH, categorization.getExpenseCategory());
+    }
+
+    @Test
+    @DisplayName("Deve encontrar palavras-chave sobrepostas pelas ligações de falha")
+    void match_WithOverlappingKeywords_ShouldReportAllLabels() {
+        // Arrange
+        KeywordAutomaton automaton = KeywordAutomaton.compile(Map.of("he", 1L, "she", 2L, "hers", 4L, "xyz", 8L));
+
+        // Act & Assert
+        assertEquals(7L, automaton.match("USHERS"));
+        assertEquals(0L, automaton.match(null));
+        assertEquals(0L, automaton.match("abc"));
+    }
+}
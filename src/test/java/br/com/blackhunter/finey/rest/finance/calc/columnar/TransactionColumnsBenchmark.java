@@ -0,0 +1,95 @@
+/*
+ * @(#)TransactionColumnsBenchmark.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.columnar;
+
+import br.com.blackhunter.finey.rest.finance.calc.comparison.PeriodAggregate;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Classe <code>TransactionColumnsBenchmark</code>.</p>
+ * <p>Mede a montagem das {@link TransactionColumns} e a consolidação de um {@link PeriodAggregate} a partir
+ * delas, para uma janela de um ano inteiro e para o recorte de um mês dentro dela.</p>
+ * <p>Não roda no <code>mvn test</code>; execute a classe diretamente a partir do classpath de testes:</p>
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *   br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumnsBenchmark [transações] [rodadas]
+ * </pre>
+ */
+public class TransactionColumnsBenchmark {
+    private static final String[] SAMPLES = {
+        "PAG*SUPERMERCADO EXTRA", "POSTO SHELL COMBUSTIVEL", "UBER *TRIP", "FARMACIA DROGASIL",
+        "NETFLIX.COM ASSINATURA", "TRANSFERENCIA PIX RECEBIDA", "SALARIO EMPRESA LTDA", "APLICACAO CDB BANCO",
+        "COMPRA CARTAO LOJA CENTRO", "PAGAMENTO BOLETO CONDOMINIO", "MENSALIDADE FACULDADE", "PAGTO DIVERSOS"
+    };
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        int transactions = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 12, 31);
+        LocalDate monthStart = LocalDate.of(2025, 6, 1);
+        LocalDate monthEnd = LocalDate.of(2025, 6, 30);
+
+        List<TransactionRow> rows = new ArrayList<>(transactions);
+        Random random = new Random(42);
+        for (int i = 0; i < transactions; i++) {
+            boolean credit = random.nextInt(5) == 0;
+            rows.add(new TransactionRow(
+                    BigDecimal.valueOf((credit ? 1 : -1) * (100 + random.nextInt(500_000)), 2),
+                    start.plusDays(random.nextInt(365)),
+                    credit ? TransactionType.CREDIT : TransactionType.DEBIT, null, "BRL", null, null, null, null, null,
+                    SAMPLES[random.nextInt(SAMPLES.length)] + " " + random.nextInt(10_000)));
+        }
+        TransactionColumns columns = TransactionColumns.of(rows);
+
+        for (int round = 1; round <= rounds; round++) {
+            long build = measure(() -> TransactionColumns.of(rows).size());
+            long year = measure(() -> sink(PeriodAggregate.ofColumns(start, end, columns)));
+            long month = measure(() -> sink(PeriodAggregate.ofColumns(monthStart, monthEnd, columns)));
+            System.out.printf("rodada %d (%d transações): montagem das colunas %s | ano %s | mês %s%n",
+                    round, transactions, format(build), format(year), format(month));
+        }
+    }
+
+    /* Métodos/Classes privados. */
+
+    /* Tempo médio de uma execução, em nanossegundos, após ITERATIONS repetições. */
+    private static long measure(LongSupplier task) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += task.getAsLong();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed / ITERATIONS;
+    }
+
+    private static long sink(PeriodAggregate aggregate) {
+        return aggregate.getTotalIncome().unscaledValue().longValue() + aggregate.getExpensesByCategory().size();
+    }
+
+    private static String format(long nanos) {
+        return String.format("%.0f µs", nanos / 1_000.0);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * @(#)TransactionColumnsTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.columnar;
+
+import br.com.blackhunter.finey.rest.core.util.MoneyAccumulator;
+import br.com.blackhunter.finey.rest.finance.calc.category.ExpenseCategoryClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.category.IncomeSourceClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentClassifier;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>TransactionColumnsTest</code>.</p>
+ * <p>Testes unitários dos operadores das colunas de transações.</p>
+ * */
+public class TransactionColumnsTest {
+
+    @Test
+    @DisplayName("Deve recortar o período pela data, com os dois extremos inclusivos")
+    void between_ShouldSelectOnlyTransactionsInsidePeriod() {
+        // Arrange
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                row(LocalDate.of(2025, 3, 1), TransactionType.DEBIT, "-10.00", "Supermercado"),
+                row(LocalDate.of(2025, 1, 31), TransactionType.DEBIT, "-20.00", "Supermercado"),
+                row(LocalDate.of(2025, 2, 1), TransactionType.DEBIT, "-30.00", "Supermercado"),
+                row(LocalDate.of(2025, 2, 28), TransactionType.DEBIT, "-40.00", "Supermercado"),
+                row(LocalDate.of(2025, 2, 1), TransactionType.DEBIT, "-50.00", "Supermercado")
+        ));
+
+        // Act
+        TransactionColumns.Selection february = columns.between(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+        TransactionColumns.Selection april = columns.between(LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30));
+
+        // Assert
+        assertEquals(3, february.count());
+        assertEquals(-12_000L, columns.sumCents(february).getCents());
+        assertEquals(12_000L, columns.sumAbsCents(february).getCents());
+        assertEquals(0, april.count());
+        assertEquals(0L, columns.sumCents(april).getCents());
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por tipo e agrupar os valores pelo dicionário de categorias")
+    void groupAbsCents_ShouldSumFilteredTransactionsByCategory() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 2, 10);
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                row(day, TransactionType.CREDIT, "5000.00", "Salario empresa"),
+                row(day, TransactionType.DEBIT, "-300.00", "Supermercado Extra"),
+                row(day, TransactionType.DEBIT, "-100.00", "Posto combustivel"),
+                row(day, TransactionType.DEBIT, "-50.25", "Padaria"),
+                row(day, TransactionType.DEBIT, "-1000.00", "Aplicacao CDB")
+        ));
+        TransactionColumns.Selection period = columns.all();
+
+        // Act
+        Map<String, MoneyAccumulator> expenses = columns.groupAbsCents(
+                columns.ofType(period, TransactionType.DEBIT), TransactionColumns.Dimension.EXPENSE_CATEGORY);
+        Map<String, MoneyAccumulator> investments = columns.groupAbsCents(
+                columns.investments(period), TransactionColumns.Dimension.INVESTMENT_TYPE);
+        Map<String, Boolean> recurring = columns.recurringBySource(columns.ofType(period, TransactionType.CREDIT));
+
+        // Assert
+        assertEquals(35_025L, expenses.get(ExpenseCategoryClassifier.FOOD).getCents());
+        assertEquals(10_000L, expenses.get(ExpenseCategoryClassifier.TRANSPORT).getCents());
+        assertFalse(expenses.containsKey(IncomeSourceClassifier.SALARY));
+        assertEquals(1, investments.size());
+        assertEquals(100_000L, investments.get(InvestmentClassifier.FIXED_INCOME).getCents());
+        assertEquals(Map.of(IncomeSourceClassifier.SALARY, true), recurring);
+    }
+
+    private TransactionRow row(LocalDate date, TransactionType type, String amount, String description) {
+        return new TransactionRow(new BigDecimal(amount), date, type, null,
+                "BRL", null, null, null, null, null, description);
+    }
+}
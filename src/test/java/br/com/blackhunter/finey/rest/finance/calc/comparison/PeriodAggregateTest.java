@@ -0,0 +1,89 @@
+/*
+ * @(#)PeriodAggregateTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.comparison;
+
+import br.com.blackhunter.finey.rest.finance.calc.category.ExpenseCategoryClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.category.IncomeSourceClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumns;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentClassifier;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>PeriodAggregateTest</code>.</p>
+ * <p>Testes unitários da agregação de métricas do período a partir das colunas.</p>
+ * */
+public class PeriodAggregateTest {
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+    @Test
+    @DisplayName("Deve preencher totais, categorias, fontes de receita e investimentos")
+    void ofColumns_WithMixedTransactions_ShouldFillAllAccumulators() {
+        // Arrange
+        TransactionColumns columns = columns(
+                transaction("Salario janeiro", TransactionType.CREDIT, "4000.00"),
+                transaction("Projeto freelance", TransactionType.CREDIT, "1000.00"),
+                transaction("Ifood pedido", TransactionType.DEBIT, "-60.00"),
+                transaction("Aplicacao CDB", TransactionType.DEBIT, "-500.00"),
+                transaction("Resgate fundo", TransactionType.CREDIT, "200.00")
+        );
+
+        // Act
+        PeriodAggregate aggregate = PeriodAggregate.ofColumns(START, END, columns);
+
+        // Assert
+        assertEquals(0, new BigDecimal("5200.00").compareTo(aggregate.getTotalIncome()));
+        assertEquals(0, new BigDecimal("560.00").compareTo(aggregate.getTotalExpenses()));
+        assertEquals(0, new BigDecimal("60.00").compareTo(aggregate.getCategoryExpenses(ExpenseCategoryClassifier.FOOD)));
+        assertEquals(0, new BigDecimal("4000.00").compareTo(aggregate.getSourceIncome(IncomeSourceClassifier.SALARY)));
+        assertEquals(0, new BigDecimal("700.00").compareTo(aggregate.getTotalInvestments()));
+        assertTrue(aggregate.hasInvestmentType(InvestmentClassifier.FIXED_INCOME));
+        assertTrue(aggregate.hasInvestmentType(InvestmentClassifier.FUNDS));
+        assertFalse(aggregate.hasInvestmentType(InvestmentClassifier.CRYPTO));
+    }
+
+    @Test
+    @DisplayName("Deve separar receitas recorrentes e variáveis pela fonte")
+    void ofColumns_WithRecurringAndVariableSources_ShouldSplitIncome() {
+        // Arrange
+        TransactionColumns columns = columns(
+                transaction("Salario janeiro", TransactionType.CREDIT, "4000.00"),
+                transaction("Venda produto", TransactionType.CREDIT, "300.00"),
+                transaction("Credito diverso", TransactionType.CREDIT, "1500.00")
+        );
+
+        // Act
+        PeriodAggregate aggregate = PeriodAggregate.ofColumns(START, END, columns);
+
+        // Assert
+        assertTrue(aggregate.isRecurringSource(IncomeSourceClassifier.SALARY));
+        assertFalse(aggregate.isRecurringSource(IncomeSourceClassifier.SALES));
+        assertEquals(0, new BigDecimal("5500.00").compareTo(aggregate.getRecurringIncome()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(aggregate.getVariableIncome()));
+    }
+
+    private TransactionColumns columns(TransactionRow... rows) {
+        return TransactionColumns.of(List.of(rows));
+    }
+
+    private TransactionRow transaction(String description, TransactionType type, String amount) {
+        return new TransactionRow(new BigDecimal(amount), START, type, null,
+                "BRL", null, null, null, null, null, description);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * @(#)PeriodComparisonServiceTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.comparison;
+
+import br.com.blackhunter.finey.rest.core.dto.TransactionPeriodDate;
+import br.com.blackhunter.finey.rest.finance.calc.category.ExpenseCategoryClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.category.IncomeSourceClassifier;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumnsCache;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.cache.AccountIdCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>PeriodComparisonServiceTest</code>.</p>
+ * <p>Testes unitários do motor de comparação entre períodos.</p>
+ * */
+@ExtendWith(MockitoExtension.class)
+public class PeriodComparisonServiceTest {
+    private static final List<String> ACCOUNTS = List.of("account-2", "account-1");
+
+    @Mock
+    private FinancialIntegratorManager financialIntegratorManager;
+
+    private TransactionColumnsCache transactionColumnsCache;
+    private PeriodComparisonService comparisonService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        transactionColumnsCache = new TransactionColumnsCache(100);
+        ReflectionTestUtils.setField(transactionColumnsCache, "TTL_SECONDS", 60L);
+        comparisonService = new PeriodComparisonService(transactionColumnsCache);
+        lenient().when(financialIntegratorManager.resolveAccount(anyString()))
+                .thenAnswer(invocation -> new AccountIdCache.ResolvedAccount(entityId(invocation.getArgument(0)), "original-id"));
+    }
+
+    @Test
+    @DisplayName("Deve buscar as transações do período uma única vez e reaproveitá-las nas comparações seguintes")
+    void getAggregate_CalledTwice_ShouldFetchTransactionsOnce() throws Exception {
+        // Arrange
+        TransactionPeriodDate period = new TransactionPeriodDate(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+        when(financialIntegratorManager.getTransactionRowsPeriodByAccountIds(anyList(), any(), any())).thenReturn(List.of(
+                transaction("Salario empresa", TransactionType.CREDIT, "5000.00"),
+                transaction("Supermercado Extra", TransactionType.DEBIT, "-300.00"),
+                transaction("Posto combustivel", TransactionType.DEBIT, "-100.00")
+        ));
+
+        // Act
+        PeriodAggregate first = comparisonService.getAggregate(financialIntegratorManager, ACCOUNTS, period);
+        PeriodAggregate second = comparisonService.getAggregate(financialIntegratorManager, List.of("account-1", "account-2"), period);
+
+        // Assert
+        assertEquals(first.getExpensesByCategory(), second.getExpensesByCategory());
+        assertEquals(0, new BigDecimal("5000.00").compareTo(first.getTotalIncome()));
+        assertEquals(0, new BigDecimal("400.00").compareTo(first.getTotalExpenses()));
+        assertEquals(75.0, first.getCategoryShare(ExpenseCategoryClassifier.FOOD));
+        assertEquals(100.0, first.getSourceShare(IncomeSourceClassifier.SALARY));
+        assertEquals(0.0, first.getCategoryShare(ExpenseCategoryClassifier.HEALTH));
+        verify(financialIntegratorManager, times(1)).getTransactionRowsPeriodByAccountIds(anyList(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar o período anterior de mesma duração")
+    void getPreviousAggregate_ShouldUsePreviousPeriodWithSameLength() throws Exception {
+        // Arrange
+        TransactionPeriodDate period = new TransactionPeriodDate(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10));
+        when(financialIntegratorManager.getTransactionRowsPeriodByAccountIds(anyList(), any(), any())).thenReturn(List.of());
+
+        // Act
+        PeriodAggregate previous = comparisonService.getPreviousAggregate(financialIntegratorManager, ACCOUNTS, period);
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 2, 19), previous.getStartDate());
+        assertEquals(LocalDate.of(2025, 2, 28), previous.getEndDate());
+        verify(financialIntegratorManager).getTransactionRowsPeriodByAccountIds(ACCOUNTS, LocalDate.of(2025, 2, 19), LocalDate.of(2025, 2, 28));
+    }
+
+    @Test
+    @DisplayName("Deve atender um período contido em uma janela já carregada sem buscar as transações novamente")
+    void getAggregate_WithPeriodInsideLoadedWindow_ShouldReuseColumns() throws Exception {
+        // Arrange
+        when(financialIntegratorManager.getTransactionRowsPeriodByAccountIds(anyList(), any(), any())).thenReturn(List.of(
+                transaction("Salario empresa", TransactionType.CREDIT, "5000.00"),
+                transaction("Supermercado Extra", TransactionType.DEBIT, "-300.00")
+        ));
+        comparisonService.getAggregate(financialIntegratorManager, ACCOUNTS, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+
+        // Act
+        PeriodAggregate february = comparisonService.getAggregate(financialIntegratorManager, ACCOUNTS,
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+        PeriodAggregate march = comparisonService.getAggregate(financialIntegratorManager, ACCOUNTS,
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+
+        // Assert
+        assertEquals(0, new BigDecimal("5000.00").compareTo(february.getTotalIncome()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(march.getTotalIncome()));
+        assertTrue(march.getExpensesByCategory().isEmpty());
+        verify(financialIntegratorManager, times(1)).getTransactionRowsPeriodByAccountIds(anyList(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar as transações novamente depois que as de uma das contas forem gravadas")
+    void getAggregate_AfterAccountInvalidated_ShouldFetchTransactionsAgain() throws Exception {
+        // Arrange
+        TransactionPeriodDate period = new TransactionPeriodDate(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+        when(financialIntegratorManager.getTransactionRowsPeriodByAccountIds(anyList(), any(), any())).thenReturn(
+                List.of(transaction("Supermercado Extra", TransactionType.DEBIT, "-300.00")),
+                List.of(transaction("Supermercado Extra", TransactionType.DEBIT, "-300.00"),
+                        transaction("Posto combustivel", TransactionType.DEBIT, "-100.00")));
+        comparisonService.getAggregate(financialIntegratorManager, ACCOUNTS, period);
+
+        // Act
+        transactionColumnsCache.invalidateAccounts(List.of(entityId("account-2")));
+        PeriodAggregate refreshed = comparisonService.getAggregate(financialIntegratorManager, ACCOUNTS, period);
+        transactionColumnsCache.invalidateAccounts(List.of(entityId("account-3")));
+        comparisonService.getAggregate(financialIntegratorManager, ACCOUNTS, period);
+
+        // Assert
+        assertEquals(0, new BigDecimal("400.00").compareTo(refreshed.getTotalExpenses()));
+        verify(financialIntegratorManager, times(2)).getTransactionRowsPeriodByAccountIds(anyList(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve calcular a variação percentual limitada entre -100% e +500%")
+    void variationPercentage_ShouldApplyFormulaAndLimits() {
+        // Act & Assert
+        assertEquals(12.5, PeriodComparisonService.variationPercentage(new BigDecimal("1125"), new BigDecimal("1000")));
+        assertEquals(100.0, PeriodComparisonService.variationPercentage(new BigDecimal("10"), BigDecimal.ZERO));
+        assertEquals(0.0, PeriodComparisonService.variationPercentage(BigDecimal.ZERO, BigDecimal.ZERO));
+        assertEquals(500.0, PeriodComparisonService.variationPercentage(new BigDecimal("100"), new BigDecimal("1")));
+    }
+
+    private static UUID entityId(String accountId) {
+        return UUID.nameUUIDFromBytes(accountId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TransactionRow transaction(String description, TransactionType type, String amount) {
+        return new TransactionRow(new BigDecimal(amount), LocalDate.of(2025, 2, 1), type, null,
+                "BRL", null, null, null, null, null, description);
+    }
+}
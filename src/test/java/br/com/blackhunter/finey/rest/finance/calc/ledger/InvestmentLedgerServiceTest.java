@@ -0,0 +1,155 @@
+/*
+ * @(#)InvestmentLedgerServiceTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.calc.ledger;
+
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegratorManager;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.cache.AccountIdCache;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.concurrent.FinancialIntegratorExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>InvestmentLedgerServiceTest</code>.</p>
+ * <p>Testes unitários do livro de investimentos incremental.</p>
+ * */
+@ExtendWith(MockitoExtension.class)
+public class InvestmentLedgerServiceTest {
+    private static final List<String> ACCOUNTS = List.of("account-1");
+    private static final UUID ACCOUNT_ENTITY_ID = UUID.randomUUID();
+
+    @Mock
+    private FinancialIntegratorManager financialIntegratorManager;
+
+    private InvestmentLedgerService ledgerService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        ledgerService = new InvestmentLedgerService(100);
+        ReflectionTestUtils.setField(ledgerService, "OVERLAP_DAYS", 0);
+        ReflectionTestUtils.setField(ledgerService, "REFRESH_MINUTES", 60L);
+        lenient().when(financialIntegratorManager.resolveAccount("account-1"))
+                .thenReturn(new AccountIdCache.ResolvedAccount(ACCOUNT_ENTITY_ID, "original-id"));
+        when(financialIntegratorManager.forEachAccountConcurrently(anyList(), any())).thenAnswer(invocation -> {
+            List<String> ids = invocation.getArgument(0);
+            FinancialIntegratorExecutor.AccountTask<String, Object> task = invocation.getArgument(1);
+            List<Object> results = new ArrayList<>();
+            for (String id : ids) {
+                results.add(task.apply(id));
+            }
+            return results;
+        });
+    }
+
+    @Test
+    @DisplayName("Deve consolidar aportes e resgates por tipo e responder da memória dentro da janela coberta")
+    void getPositions_WithinCoveredWindow_ShouldNotReloadTransactions() throws Exception {
+        // Arrange
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        when(financialIntegratorManager.getAllTransactionsPeriodByAccountIds(ACCOUNTS, start, end)).thenReturn(List.of(
+                transaction("tx-1", "Aplicacao CDB", TransactionType.DEBIT, "-1000.00", LocalDate.of(2025, 1, 5)),
+                transaction("tx-2", "Resgate CDB", TransactionType.CREDIT, "1050.00", LocalDate.of(2025, 1, 20)),
+                transaction("tx-3", "Mercado", TransactionType.DEBIT, "-80.00", LocalDate.of(2025, 1, 21))
+        ));
+
+        // Act
+        Map<String, InvestmentPosition> month = ledgerService.getPositions(financialIntegratorManager, ACCOUNTS, start, end);
+        Map<String, InvestmentPosition> firstHalf = ledgerService.getPositions(financialIntegratorManager, ACCOUNTS, start, LocalDate.of(2025, 1, 15));
+
+        // Assert
+        InvestmentPosition fixedIncome = month.get(InvestmentClassifier.FIXED_INCOME);
+        assertEquals(1, month.size());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(fixedIncome.getContributions()));
+        assertEquals(0, new BigDecimal("1050.00").compareTo(fixedIncome.getRedemptions()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(fixedIncome.getRealizedReturn()));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(firstHalf.get(InvestmentClassifier.FIXED_INCOME).getMovedAmount()));
+        verify(financialIntegratorManager, times(1)).getAllTransactionsPeriodByAccountIds(anyList(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar apenas os dias novos e substituir movimentações alteradas na janela recarregada")
+    void getPositions_WithLaterEndDate_ShouldLoadOnlyNewDays() throws Exception {
+        // Arrange
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        LocalDate newEnd = LocalDate.of(2025, 2, 28);
+        when(financialIntegratorManager.getAllTransactionsPeriodByAccountIds(ACCOUNTS, start, end)).thenReturn(List.of(
+                transaction("tx-1", "Compra acoes", TransactionType.DEBIT, "-500.00", LocalDate.of(2025, 1, 31))
+        ));
+        when(financialIntegratorManager.getAllTransactionsPeriodByAccountIds(ACCOUNTS, end, newEnd)).thenReturn(List.of(
+                transaction("tx-1", "Compra acoes", TransactionType.DEBIT, "-400.00", LocalDate.of(2025, 1, 31)),
+                transaction("tx-2", "Aporte previdencia", TransactionType.DEBIT, "-200.00", LocalDate.of(2025, 2, 10))
+        ));
+
+        // Act
+        ledgerService.getPositions(financialIntegratorManager, ACCOUNTS, start, end);
+        Map<String, InvestmentPosition> positions = ledgerService.getPositions(financialIntegratorManager, ACCOUNTS, start, newEnd);
+
+        // Assert
+        assertEquals(0, new BigDecimal("400.00").compareTo(positions.get(InvestmentClassifier.VARIABLE_INCOME).getContributions()));
+        assertEquals(1, positions.get(InvestmentClassifier.VARIABLE_INCOME).getTransactionCount());
+        assertEquals(0, new BigDecimal("200.00").compareTo(positions.get(InvestmentClassifier.PENSION).getCostBasis()));
+        verify(financialIntegratorManager).getAllTransactionsPeriodByAccountIds(ACCOUNTS, end, newEnd);
+        verify(financialIntegratorManager, times(2)).getAllTransactionsPeriodByAccountIds(anyList(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o livro da conta depois que as suas transações forem gravadas")
+    void getPositions_AfterAccountInvalidated_ShouldReloadTransactions() throws Exception {
+        // Arrange
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        when(financialIntegratorManager.getAllTransactionsPeriodByAccountIds(ACCOUNTS, start, end))
+                .thenReturn(List.of(transaction("tx-1", "Aplicacao CDB", TransactionType.DEBIT, "-1000.00", LocalDate.of(2025, 1, 5))))
+                .thenReturn(List.of(
+                        transaction("tx-1", "Aplicacao CDB", TransactionType.DEBIT, "-1000.00", LocalDate.of(2025, 1, 5)),
+                        transaction("tx-2", "Aplicacao CDB", TransactionType.DEBIT, "-300.00", LocalDate.of(2025, 1, 6))
+                ));
+
+        // Act
+        ledgerService.getPositions(financialIntegratorManager, ACCOUNTS, start, end);
+        ledgerService.invalidateAccounts(List.of(ACCOUNT_ENTITY_ID));
+        Map<String, InvestmentPosition> positions = ledgerService.getPositions(financialIntegratorManager, ACCOUNTS, start, end);
+
+        // Assert
+        assertEquals(0, new BigDecimal("1300.00").compareTo(positions.get(InvestmentClassifier.FIXED_INCOME).getContributions()));
+        verify(financialIntegratorManager, times(2)).getAllTransactionsPeriodByAccountIds(ACCOUNTS, start, end);
+    }
+
+    private TransactionEntity transaction(String id, String description, TransactionType type, String amount, LocalDate date) {
+        TransactionEntity transaction = new TransactionEntity();
+        transaction.setProviderTransactionId(id);
+        transaction.setDescription(description);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionLocalDate(date);
+        transaction.setTransactionDate(date.atStartOfDay());
+        return transaction;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * @(#)TransactionRepositoryTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.finance.transaction.repository;
+
+import br.com.blackhunter.finey.rest.finance.calc.category.TransactionCategorizer;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionCategoryTotal;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionDailyTotal;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionRow;
+import br.com.blackhunter.finey.rest.finance.transaction.dto.projections.TransactionTypeTotal;
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionStatus;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionType;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccountDataEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyItemEntity;
+import br.com.blackhunter.finey.rest.useraccount.entity.UserAccountEntity;
+import br.com.blackhunter.finey.rest.useraccount.enums.UserAccountStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>TransactionRepositoryTest</code>.</p>
+ * <p>Testes das agregações de transações calculadas no banco.</p>
+ * */
+@DataJpaTest
+public class TransactionRepositoryTest {
+    private static final LocalDate START = LocalDate.of(2025, 3, 1);
+    private static final LocalDate END = LocalDate.of(2025, 3, 31);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private UserAccountEntity user;
+    private PluggyAccountDataEntity account;
+    private PluggyAccountDataEntity otherAccount;
+
+    @BeforeEach
+    void setUp() {
+        user = new UserAccountEntity();
+        user.setAccountName("Usuário Teste");
+        user.setEmail("agregacoes@example.com");
+        user.setPasswordHash("senhaHasheada123");
+        user.setAccountUsername("agregacoes");
+        user.setAccountStatus(UserAccountStatus.ACTIVE);
+        user.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(user);
+        PluggyItemEntity item = entityManager.persist(
+                new PluggyItemEntity(null, "item", "1", "https://img", "Banco", user, LocalDateTime.now()));
+        account = entityManager.persist(
+                new PluggyAccountDataEntity(null, item, Set.of(), "conta-1", "Conta", "BANK", "0", LocalDateTime.now()));
+        otherAccount = entityManager.persist(
+                new PluggyAccountDataEntity(null, item, Set.of(), "conta-2", "Conta", "BANK", "0", LocalDateTime.now()));
+
+        transaction(account, "5000.00", TransactionType.CREDIT, "salario", START);
+        transaction(account, "-120.50", TransactionType.DEBIT, "supermercado", START);
+        transaction(account, "-79.50", TransactionType.DEBIT, "ifood", START.plusDays(1));
+        transaction(account, "-60.00", TransactionType.DEBIT, "uber", START.plusDays(1));
+        transaction(account, "-999.00", TransactionType.DEBIT, "supermercado", START.minusDays(1));
+        transaction(otherAccount, "-10.00", TransactionType.DEBIT, "uber", START);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Deve somar os valores por tipo dentro do período e das contas informadas")
+    void sumAmountByType_WithPeriod_ShouldIgnoreOtherDaysAndAccounts() {
+        // Act
+        Map<TransactionType, TransactionTypeTotal> totals = transactionRepository
+                .sumAmountByType(List.of(account.getPluggyAccountId()), START, END)
+                .stream().collect(Collectors.toMap(TransactionTypeTotal::getType, t -> t));
+
+        // Assert
+        assertEquals(0, new BigDecimal("5000.00").compareTo(totals.get(TransactionType.CREDIT).getTotal()));
+        assertEquals(0, new BigDecimal("260.00").compareTo(totals.get(TransactionType.DEBIT).getAbsoluteTotal()));
+        assertEquals(3, totals.get(TransactionType.DEBIT).getCount());
+    }
+
+    @Test
+    @DisplayName("Deve somar as despesas por categoria gravada na ingestão")
+    void sumAmountByCategory_WithDebits_ShouldGroupByExpenseCategory() {
+        // Act
+        Map<String, BigDecimal> totals = transactionRepository
+                .sumAmountByCategory(List.of(account.getPluggyAccountId(), otherAccount.getPluggyAccountId()), TransactionType.DEBIT, START, END)
+                .stream().collect(Collectors.toMap(TransactionCategoryTotal::getCategory, TransactionCategoryTotal::getAbsoluteTotal));
+
+        // Assert
+        assertEquals(2, totals.size());
+        assertEquals(0, new BigDecimal("200.00").compareTo(totals.get("Alimentação")));
+        assertEquals(0, new BigDecimal("70.00").compareTo(totals.get("Transporte")));
+    }
+
+    @Test
+    @DisplayName("Deve somar os valores por dia e tipo, em ordem de data")
+    void sumAmountByDay_WithPeriod_ShouldReturnOneRowPerDayAndType() {
+        // Act
+        List<TransactionDailyTotal> totals = transactionRepository.sumAmountByDay(List.of(account.getPluggyAccountId()), START, END);
+
+        // Assert
+        assertEquals(3, totals.size());
+        assertEquals(START, totals.get(0).getDay());
+        assertEquals(START.plusDays(1), totals.get(2).getDay());
+        assertEquals(TransactionType.DEBIT, totals.get(2).getType());
+        assertEquals(0, new BigDecimal("139.50").compareTo(totals.get(2).getAbsoluteTotal()));
+    }
+
+    @Test
+    @DisplayName("Deve ler o modelo compacto com a categorização gravada e categorizar as linhas desatualizadas")
+    void findRowsByAccountIdsAndDateBetween_WithOutdatedRow_ShouldCategorizeFromDescription() {
+        // Arrange
+        transactionRepository.findAll().stream()
+                .filter(t -> "ifood".equals(t.getDescription()))
+                .forEach(t -> {
+                    t.setExpenseCategory(null);
+                    t.setCategorizerVersion(null);
+                    transactionRepository.save(t);
+                });
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<TransactionRow> rows = transactionRepository.findRowsByAccountIdsAndDateBetween(
+                List.of(account.getPluggyAccountId()), START, END, TransactionCategorizer.VERSION);
+
+        // Assert
+        assertEquals(4, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.getExpenseCategory() != null));
+        assertEquals(20_000L, rows.stream()
+                .filter(row -> "Alimentação".equals(row.getExpenseCategory()))
+                .mapToLong(row -> Math.abs(row.getAmountCents()))
+                .sum());
+        TransactionRow salary = rows.stream().filter(row -> row.getType() == TransactionType.CREDIT).findFirst().orElseThrow();
+        assertEquals(500_000L, salary.getAmountCents());
+        assertEquals(START, salary.getTransactionLocalDate());
+        assertTrue(salary.getRecurringIncome());
+        assertSame("BRL".intern(), salary.getCurrencyCode());
+    }
+
+    /* Métodos/Classes privados. */
+
+    private void transaction(PluggyAccountDataEntity pluggyAccount, String amount, TransactionType type, String description, LocalDate day) {
+        TransactionEntity transaction = new TransactionEntity();
+        transaction.setUserAccount(user);
+        transaction.setPluggyAccountId(pluggyAccount);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription(description);
+        transaction.setBalance(BigDecimal.ZERO);
+        transaction.setCurrencyCode("BRL");
+        transaction.setProviderTransactionId(UUID.randomUUID().toString());
+        transaction.setType(type);
+        transaction.setStatus(TransactionStatus.POSTED);
+        transaction.setTransactionDate(day.atStartOfDay());
+        transaction.setTransactionLocalDate(day);
+        transaction.setCreatedAt(LocalDateTime.now());
+        TransactionCategorizer.assignCategories(transaction);
+        entityManager.persist(transaction);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * @(#)AccountIdCacheTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.cache;
+
+import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.FinancialIntegrator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>AccountIdCacheTest</code>.</p>
+ * <p>Testes unitários do cache de IDs de contas criptografados.</p>
+ */
+public class AccountIdCacheTest {
+    private static final String CRYPT_SECRET = "test-crypt-secret";
+
+    private AccountIdCache accountIdCache;
+    private FinancialIntegrator financialIntegrator;
+
+    @BeforeEach
+    void setUp() {
+        accountIdCache = new AccountIdCache(100);
+        ReflectionTestUtils.setField(accountIdCache, "PLUGGY_CRYPT_SECRET", CRYPT_SECRET);
+        financialIntegrator = mock(FinancialIntegrator.class);
+    }
+
+    @Test
+    @DisplayName("Deve resolver cada ID criptografado uma única vez")
+    void resolve_WithSameEncryptedId_ShouldLookupOnce() throws Exception {
+        // Arrange
+        UUID entityId = UUID.randomUUID();
+        String encryptedId = CryptUtil.encrypt(entityId.toString(), CRYPT_SECRET);
+        when(financialIntegrator.getOriginalFinancialAccountIdByTargetId(entityId)).thenReturn("original-1");
+
+        // Act
+        AccountIdCache.ResolvedAccount first = accountIdCache.resolve(encryptedId, financialIntegrator);
+        AccountIdCache.ResolvedAccount second = accountIdCache.resolve(encryptedId, financialIntegrator);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(entityId, first.getEntityId());
+        assertEquals("original-1", first.getOriginalAccountId());
+        verify(financialIntegrator, times(1)).getOriginalFinancialAccountIdByTargetId(entityId);
+    }
+
+    @Test
+    @DisplayName("Deve resolver novamente as contas invalidadas e manter as demais")
+    void invalidate_WithReplacedAccounts_ShouldDropOnlyThoseEntries() throws Exception {
+        // Arrange
+        UUID replacedId = UUID.randomUUID();
+        UUID keptId = UUID.randomUUID();
+        String encryptedReplaced = CryptUtil.encrypt(replacedId.toString(), CRYPT_SECRET);
+        String encryptedKept = CryptUtil.encrypt(keptId.toString(), CRYPT_SECRET);
+        when(financialIntegrator.getOriginalFinancialAccountIdByTargetId(any())).thenReturn("original");
+        accountIdCache.resolve(encryptedReplaced, financialIntegrator);
+        accountIdCache.resolve(encryptedKept, financialIntegrator);
+
+        // Act
+        accountIdCache.invalidate(List.of(replacedId));
+        accountIdCache.resolve(encryptedReplaced, financialIntegrator);
+        accountIdCache.resolve(encryptedKept, financialIntegrator);
+
+        // Assert
+        verify(financialIntegrator, times(2)).getOriginalFinancialAccountIdByTargetId(replacedId);
+        verify(financialIntegrator, times(1)).getOriginalFinancialAccountIdByTargetId(keptId);
+    }
+}
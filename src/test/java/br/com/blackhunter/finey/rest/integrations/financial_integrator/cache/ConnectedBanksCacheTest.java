@@ -0,0 +1,102 @@
+/*
+ * @(#)ConnectedBanksCacheTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.cache;
+
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.dto.FinancialInstitutionData;
+import br.com.blackhunter.finey.rest.integrations.pluggy.dto.PluggyAccountIds;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>ConnectedBanksCacheTest</code>.</p>
+ * <p>Testes unitários do cache de bancos conectados por usuário.</p>
+ * */
+@ExtendWith(MockitoExtension.class)
+public class ConnectedBanksCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private ConnectedBanksCache cache;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        cache = new ConnectedBanksCache(redisTemplate, new ObjectMapper(), 100);
+        ReflectionTestUtils.setField(cache, "CACHE_ENABLED", true);
+        ReflectionTestUtils.setField(cache, "MEMORY_TTL_SECONDS", 60L);
+        ReflectionTestUtils.setField(cache, "REDIS_TTL_MINUTES", 30L);
+    }
+
+    @Test
+    @DisplayName("Deve montar a lista uma vez e servir as próximas leituras da memória")
+    void getOrLoad_CalledTwice_ShouldLoadOnceAndWriteToRedis() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        List<FinancialInstitutionData> first = cache.getOrLoad(userId, () -> {
+            loads.incrementAndGet();
+            return banks();
+        });
+        List<FinancialInstitutionData> second = cache.getOrLoad(userId, () -> fail("should be cached"));
+
+        // Assert
+        assertEquals(1, loads.get());
+        verify(valueOperations).set(eq("hunter:connected-banks:" + userId), anyString(), eq(Duration.ofMinutes(30)));
+        assertEquals(first, second);
+        assertNotSame(first.get(0), second.get(0));
+    }
+
+    @Test
+    @DisplayName("Deve montar a lista novamente depois de invalidada")
+    void invalidate_AfterLoad_ShouldDeleteRedisKeyAndReload() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache.getOrLoad(userId, this::banks);
+
+        // Act
+        cache.invalidate(userId);
+        List<FinancialInstitutionData> reloaded = cache.getOrLoad(userId, List::of);
+
+        // Assert
+        verify(redisTemplate).delete("hunter:connected-banks:" + userId);
+        assertTrue(reloaded.isEmpty());
+    }
+
+    /* Métodos/Classes privados. */
+
+    private List<FinancialInstitutionData> banks() {
+        return List.of(new FinancialInstitutionData(UUID.randomUUID().toString(), "Banco", "https://img",
+                List.of(new PluggyAccountIds("id-criptografado", "BANK", "100.00"))));
+    }
+}
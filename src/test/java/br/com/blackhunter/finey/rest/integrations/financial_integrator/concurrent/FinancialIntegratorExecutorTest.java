@@ -0,0 +1,88 @@
+/*
+ * @(#)FinancialIntegratorExecutorTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>FinancialIntegratorExecutorTest</code>.</p>
+ * <p>Testes unitários do executor concorrente de buscas por conta.</p>
+ * */
+public class FinancialIntegratorExecutorTest {
+
+    private FinancialIntegratorExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve preservar a ordem dos resultados")
+    void mapConcurrently_WithManyItems_ShouldPreserveOrder() throws Exception {
+        // Arrange
+        executor = new FinancialIntegratorExecutor(32, 4);
+        List<Integer> items = IntStream.range(0, 20).boxed().toList();
+
+        // Act
+        List<Integer> results = executor.mapConcurrently(items, item -> {
+            Thread.sleep(20 - item);
+            return item * 2;
+        });
+
+        // Assert
+        assertEquals(IntStream.range(0, 20).map(i -> i * 2).boxed().toList(), results);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de concorrência por usuário")
+    void mapConcurrently_WithPerUserLimit_ShouldNotExceedLimit() throws Exception {
+        // Arrange
+        executor = new FinancialIntegratorExecutor(32, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // Act
+        executor.mapConcurrently(IntStream.range(0, 10).boxed().toList(), item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return item;
+        });
+
+        // Assert
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    @DisplayName("Deve relançar a exceção original da tarefa que falhou")
+    void mapConcurrently_WithFailingTask_ShouldRethrowOriginalException() {
+        // Arrange
+        executor = new FinancialIntegratorExecutor(32, 4);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                executor.mapConcurrently(List.of(1, 2, 3), item -> {
+                    if (item == 2) {
+                        throw new IllegalStateException("conta 2");
+                    }
+                    return item;
+                }));
+        assertEquals("conta 2", exception.getMessage());
+    }
+}
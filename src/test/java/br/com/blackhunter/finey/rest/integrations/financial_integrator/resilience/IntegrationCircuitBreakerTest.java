@@ -0,0 +1,108 @@
+/*
+ * @(#)IntegrationCircuitBreakerTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience;
+
+import br.com.blackhunter.finey.rest.core.exception.BusinessException;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.exception.IntegrationUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>IntegrationCircuitBreakerTest</code>.</p>
+ * <p>Testes unitários do disjuntor das chamadas aos provedores.</p>
+ * */
+public class IntegrationCircuitBreakerTest {
+    private static final String PROVIDER = "PLUGGY";
+
+    @Test
+    @DisplayName("Deve abrir o circuito quando a taxa de falhas passar do limite e recusar as chamadas seguintes")
+    void execute_WhenFailureRateIsExceeded_ShouldOpenCircuit() {
+        // Arrange
+        IntegrationCircuitBreaker circuitBreaker = new IntegrationCircuitBreaker(4, 4, 50, 10_000, 60, 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        circuitBreaker.execute(PROVIDER, calls::incrementAndGet);
+        circuitBreaker.execute(PROVIDER, calls::incrementAndGet);
+        assertThrows(HttpServerErrorException.class, () -> circuitBreaker.execute(PROVIDER, () -> {
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        }));
+        assertThrows(RuntimeException.class, () -> circuitBreaker.execute(PROVIDER, () -> {
+            throw new RuntimeException("Error fetching transactions", new ResourceAccessException("Read timed out"));
+        }));
+
+        // Assert
+        assertEquals(IntegrationCircuitBreaker.State.OPEN, circuitBreaker.getState(PROVIDER));
+        assertThrows(IntegrationUnavailableException.class, () -> circuitBreaker.execute(PROVIDER, calls::incrementAndGet));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Não deve contar respostas 4xx nem erros de negócio como falhas do provedor")
+    void execute_WithClientOrBusinessErrors_ShouldKeepCircuitClosed() {
+        // Arrange
+        IntegrationCircuitBreaker circuitBreaker = new IntegrationCircuitBreaker(2, 2, 50, 10_000, 60, 1);
+
+        // Act
+        assertThrows(HttpClientErrorException.class, () -> circuitBreaker.execute(PROVIDER, () -> {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+        assertThrows(BusinessException.class, () -> circuitBreaker.execute(PROVIDER, () -> {
+            throw new BusinessException("invalid account");
+        }));
+
+        // Assert
+        assertEquals(IntegrationCircuitBreaker.State.CLOSED, circuitBreaker.getState(PROVIDER));
+    }
+
+    @Test
+    @DisplayName("Deve contar chamadas lentas como ruins")
+    void execute_WithSlowCalls_ShouldOpenCircuit() {
+        // Arrange
+        IntegrationCircuitBreaker circuitBreaker = new IntegrationCircuitBreaker(2, 2, 50, 0, 60, 1);
+
+        // Act
+        circuitBreaker.execute(PROVIDER, () -> "slow");
+        circuitBreaker.execute(PROVIDER, () -> "slow");
+
+        // Assert
+        assertEquals(IntegrationCircuitBreaker.State.OPEN, circuitBreaker.getState(PROVIDER));
+    }
+
+    @Test
+    @DisplayName("Deve fechar após a chamada de teste ter sucesso e avisar os ouvintes")
+    void execute_WhenHalfOpenCallSucceeds_ShouldCloseAndNotifyListeners() throws InterruptedException {
+        // Arrange
+        IntegrationCircuitBreaker circuitBreaker = new IntegrationCircuitBreaker(1, 1, 50, 10_000, 0, 1);
+        CountDownLatch closed = new CountDownLatch(1);
+        circuitBreaker.addCloseListener(PROVIDER, closed::countDown);
+        assertThrows(ResourceAccessException.class, () -> circuitBreaker.execute(PROVIDER, () -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        // Act
+        String result = circuitBreaker.execute(PROVIDER, () -> "ok");
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(IntegrationCircuitBreaker.State.CLOSED, circuitBreaker.getState(PROVIDER));
+        assertTrue(closed.await(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * @(#)PluggyItemRepositoryTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.repository;
+
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccountDataEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyItemEntity;
+import br.com.blackhunter.finey.rest.useraccount.entity.UserAccountEntity;
+import br.com.blackhunter.finey.rest.useraccount.enums.UserAccountStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>Classe <code>PluggyItemRepositoryTest</code>.</p>
+ * <p>Testes do repositório de itens da Pluggy.</p>
+ * */
+@DataJpaTest
+public class PluggyItemRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PluggyItemRepository pluggyItemRepository;
+
+    @Test
+    @DisplayName("Deve trazer os itens do usuário com as suas contas em uma única consulta")
+    void findAllItemsWithAccountsByUserId_WithItemsAndAccounts_ShouldReturnOneRowPerAccount() {
+        // Arrange
+        UserAccountEntity user = user("dono@example.com");
+        UserAccountEntity other = user("outro@example.com");
+        LocalDateTime now = LocalDateTime.now();
+        PluggyItemEntity withAccounts = item("item-1", "1", user, now);
+        PluggyItemEntity withoutAccounts = item("item-2", "2", user, now.plusSeconds(1));
+        item("item-3", "3", other, now);
+        account(withAccounts, "conta-1", now);
+        account(withAccounts, "conta-2", now.plusSeconds(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Object[]> rows = pluggyItemRepository.findAllItemsWithAccountsByUserId(user.getAccountId());
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals(withAccounts.getItemId(), ((PluggyItemEntity) rows.get(0)[0]).getItemId());
+        assertEquals("conta-1", ((PluggyAccountDataEntity) rows.get(0)[1]).getPluggyOriginalAccountId());
+        assertEquals("conta-2", ((PluggyAccountDataEntity) rows.get(1)[1]).getPluggyOriginalAccountId());
+        assertEquals(withoutAccounts.getItemId(), ((PluggyItemEntity) rows.get(2)[0]).getItemId());
+        assertNull(rows.get(2)[1]);
+    }
+
+    /* Métodos/Classes privados. */
+
+    private UserAccountEntity user(String email) {
+        UserAccountEntity entity = new UserAccountEntity();
+        entity.setAccountName("Usuário Teste");
+        entity.setEmail(email);
+        entity.setPasswordHash("senhaHasheada123");
+        entity.setAccountUsername(email);
+        entity.setAccountStatus(UserAccountStatus.ACTIVE);
+        entity.setCreatedAt(LocalDateTime.now());
+        return entityManager.persist(entity);
+    }
+
+    private PluggyItemEntity item(String originalId, String connectorId, UserAccountEntity user, LocalDateTime createdAt) {
+        return entityManager.persist(new PluggyItemEntity(null, originalId, connectorId, "https://img", "Banco", user, createdAt));
+    }
+
+    private void account(PluggyItemEntity item, String originalId, LocalDateTime createdAt) {
+        entityManager.persist(new PluggyAccountDataEntity(null, item, Set.of(), originalId, "Conta", "BANK", "100.00", createdAt));
+    }
+}
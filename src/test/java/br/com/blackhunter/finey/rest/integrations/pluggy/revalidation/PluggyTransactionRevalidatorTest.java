@@ -0,0 +1,110 @@
+/*
+ * @(#)PluggyTransactionRevalidatorTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.revalidation;
+
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.IntegrationCircuitBreaker;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.StaleTransactionWindowEvent;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccountDataEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.repository.PluggyAccountDataRepository;
+import br.com.blackhunter.finey.rest.integrations.pluggy.service.PluggyTransactionSyncService;
+import br.com.blackhunter.finey.rest.integrations.pluggy.token.PluggyApiKeyHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>PluggyTransactionRevalidatorTest</code>.</p>
+ * <p>Testes unitários da revalidação das janelas de transações servidas desatualizadas.</p>
+ * */
+@ExtendWith(MockitoExtension.class)
+public class PluggyTransactionRevalidatorTest {
+    @Mock
+    private PluggyTransactionSyncService pluggyTransactionSyncService;
+
+    @Mock
+    private PluggyAccountDataRepository pluggyAccountDataRepository;
+
+    @Mock
+    private PluggyApiKeyHolder pluggyApiKeyHolder;
+
+    @Mock
+    private IntegrationCircuitBreaker circuitBreaker;
+
+    @InjectMocks
+    private PluggyTransactionRevalidator revalidator;
+
+    private PluggyAccountDataEntity account;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revalidator, "RETRY_DELAY_SECONDS", 3600L);
+        account = new PluggyAccountDataEntity();
+        account.setPluggyAccountId(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Deve sincronizar uma única vez a união das janelas pendentes da conta")
+    void revalidatePending_WithOverlappingWindows_ShouldSyncUnionWithoutReadingTransactions() {
+        // Arrange
+        when(pluggyAccountDataRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.of(account));
+        revalidator.onStaleTransactionWindow(new StaleTransactionWindowEvent(account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+        revalidator.onStaleTransactionWindow(new StaleTransactionWindowEvent(account.getPluggyAccountId(), LocalDate.of(2025, 1, 15), LocalDate.of(2025, 2, 28)));
+
+        // Act
+        revalidator.revalidatePending();
+        revalidator.revalidatePending();
+
+        // Assert
+        verify(pluggyTransactionSyncService, times(1)).sync(eq(account), eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 2, 28)), any());
+        verify(pluggyTransactionSyncService, never()).syncAndGetTransactions(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve tentar novamente após o atraso quando o circuito continua fechado")
+    void onStaleTransactionWindow_WithCircuitClosed_ShouldRetryAfterDelay() {
+        // Arrange
+        ReflectionTestUtils.setField(revalidator, "RETRY_DELAY_SECONDS", 0L);
+        when(circuitBreaker.getState("PLUGGY")).thenReturn(IntegrationCircuitBreaker.State.CLOSED);
+        when(pluggyAccountDataRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.of(account));
+
+        // Act
+        revalidator.onStaleTransactionWindow(new StaleTransactionWindowEvent(account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+
+        // Assert
+        verify(pluggyTransactionSyncService, timeout(2000)).sync(eq(account), eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 1, 31)), any());
+    }
+
+    @Test
+    @DisplayName("Deve deixar as janelas para o fechamento do circuito quando ele estiver aberto")
+    void onStaleTransactionWindow_WithCircuitOpen_ShouldNotRetry() {
+        // Arrange
+        ReflectionTestUtils.setField(revalidator, "RETRY_DELAY_SECONDS", 0L);
+        when(circuitBreaker.getState("PLUGGY")).thenReturn(IntegrationCircuitBreaker.State.OPEN);
+
+        // Act
+        revalidator.onStaleTransactionWindow(new StaleTransactionWindowEvent(account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+
+        // Assert
+        verify(circuitBreaker, timeout(2000)).getState("PLUGGY");
+        verifyNoInteractions(pluggyTransactionSyncService, pluggyAccountDataRepository);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * @(#)PluggyTransactionSyncServiceImplTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.service;
+
+import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.client.PluggyWebClient;
+import br.com.blackhunter.finey.rest.finance.calc.columnar.TransactionColumnsCache;
+import br.com.blackhunter.finey.rest.finance.calc.ledger.InvestmentLedgerService;
+import br.com.blackhunter.finey.rest.finance.transaction.entity.TransactionEntity;
+import br.com.blackhunter.finey.rest.finance.transaction.enums.TransactionStatus;
+import br.com.blackhunter.finey.rest.finance.transaction.repository.TransactionRepository;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.exception.IntegrationUnavailableException;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.IntegrationCircuitBreaker;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.StaleTransactionWindowEvent;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccountDataEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyItemEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyTransactionSyncEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.repository.PluggyTransactionSyncRepository;
+import br.com.blackhunter.finey.rest.integrations.pluggy.service.impl.PluggyTransactionSyncServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>PluggyTransactionSyncServiceImplTest</code>.</p>
+ * <p>Testes unitários da sincronização incremental de transações da Pluggy.</p>
+ * */
+@ExtendWith(MockitoExtension.class)
+public class PluggyTransactionSyncServiceImplTest {
+    private static final String CRYPT_SECRET = "test-crypt-secret";
+
+    @Mock
+    private PluggyWebClient pluggyWebClient;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PluggyTransactionSyncRepository pluggyTransactionSyncRepository;
+
+    @Mock
+    private IntegrationCircuitBreaker circuitBreaker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionColumnsCache transactionColumnsCache;
+
+    @Mock
+    private InvestmentLedgerService investmentLedgerService;
+
+    @InjectMocks
+    private PluggyTransactionSyncServiceImpl syncService;
+
+    private PluggyAccountDataEntity account;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(syncService, "PLUGGY_CRYPT_SECRET", CRYPT_SECRET);
+        ReflectionTestUtils.setField(syncService, "SYNC_OVERLAP_DAYS", 3);
+        ReflectionTestUtils.setField(syncService, "SYNC_MIN_INTERVAL_MINUTES", 5L);
+        lenient().when(circuitBreaker.execute(anyString(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+
+        account = new PluggyAccountDataEntity();
+        account.setPluggyAccountId(UUID.randomUUID());
+        account.setPluggyOriginalAccountId(CryptUtil.encrypt("original-account", CRYPT_SECRET));
+        account.setItemId(new PluggyItemEntity());
+    }
+
+    @Test
+    @DisplayName("Deve buscar o período completo na primeira sincronização da conta")
+    void syncAndGetTransactions_WithoutSyncState_ShouldFetchWholePeriod() {
+        // Arrange
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        when(pluggyTransactionSyncRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.empty());
+        when(pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId("token", "original-account", start, end))
+                .thenReturn(List.of(pluggyTransaction("tx-1")));
+
+        // Act
+        syncService.syncAndGetTransactions(account, start, end, () -> "token");
+
+        // Assert
+        ArgumentCaptor<PluggyTransactionSyncEntity> state = ArgumentCaptor.forClass(PluggyTransactionSyncEntity.class);
+        verify(pluggyTransactionSyncRepository).save(state.capture());
+        assertEquals(start, state.getValue().getSyncedFrom());
+        assertEquals(end, state.getValue().getSyncedUntil());
+        verify(transactionRepository).saveAll(anyCollection());
+        verify(transactionRepository).findAllByFinancialAccountIdAndDateBetween(account.getPluggyAccountId(), start, end);
+    }
+
+    @Test
+    @DisplayName("Deve ler apenas da base quando o período já foi sincronizado")
+    void syncAndGetTransactions_WithPeriodAlreadySynced_ShouldNotCallPluggy() {
+        // Arrange
+        PluggyTransactionSyncEntity state = new PluggyTransactionSyncEntity(
+                account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), LocalDateTime.now());
+        when(pluggyTransactionSyncRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.of(state));
+
+        // Act
+        syncService.syncAndGetTransactions(account, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), () -> fail("token should not be requested"));
+
+        // Assert
+        verifyNoInteractions(pluggyWebClient, transactionColumnsCache);
+        verify(transactionRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Deve ler apenas da base quando o período termina no futuro e hoje foi sincronizado há pouco")
+    void syncAndGetTransactions_WithFutureEndAndRecentSyncOfToday_ShouldNotCallPluggy() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        PluggyTransactionSyncEntity state = new PluggyTransactionSyncEntity(
+                account.getPluggyAccountId(), today.minusMonths(1), today, LocalDateTime.now());
+        when(pluggyTransactionSyncRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.of(state));
+
+        // Act
+        syncService.syncAndGetTransactions(account, today.withDayOfMonth(1), today.plusMonths(1), () -> fail("token should not be requested"));
+
+        // Assert
+        verifyNoInteractions(pluggyWebClient, transactionColumnsCache);
+        verify(pluggyTransactionSyncRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar somente os dias após a marca d'água e atualizar transações existentes")
+    void syncAndGetTransactions_WithNewDays_ShouldFetchFromHighWaterMarkAndUpsert() {
+        // Arrange
+        LocalDate syncedUntil = LocalDate.of(2025, 1, 20);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        PluggyTransactionSyncEntity state = new PluggyTransactionSyncEntity(
+                account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), syncedUntil, LocalDateTime.now());
+        when(pluggyTransactionSyncRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.of(state));
+        when(pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId("token", "original-account", syncedUntil.minusDays(3), end))
+                .thenReturn(List.of(pluggyTransaction("tx-1"), pluggyTransaction("tx-2")));
+
+        TransactionEntity existing = new TransactionEntity();
+        existing.setProviderTransactionId("tx-1");
+        existing.setStatus(TransactionStatus.PENDING);
+        when(transactionRepository.findAllByFinancialAccountIdAndProviderTransactionIdIn(eq(account.getPluggyAccountId()), anyCollection()))
+                .thenReturn(List.of(existing));
+
+        // Act
+        syncService.syncAndGetTransactions(account, LocalDate.of(2025, 1, 1), end, () -> "token");
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<TransactionEntity>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(transactionRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertTrue(saved.getValue().contains(existing));
+        assertEquals(TransactionStatus.POSTED, existing.getStatus());
+        assertEquals(end, state.getSyncedUntil());
+    }
+
+    @Test
+    @DisplayName("Deve remover as transações da janela que a Pluggy não devolveu mais")
+    void syncAndGetTransactions_WithTransactionsMissingFromWindow_ShouldDeleteThem() {
+        // Arrange
+        LocalDate syncedUntil = LocalDate.of(2025, 1, 20);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        PluggyTransactionSyncEntity state = new PluggyTransactionSyncEntity(
+                account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), syncedUntil, LocalDateTime.now());
+        when(pluggyTransactionSyncRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.of(state));
+        when(pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId("token", "original-account", syncedUntil.minusDays(3), end))
+                .thenReturn(List.of(pluggyTransaction("tx-1")));
+        when(transactionRepository.findProviderTransactionIdsByFinancialAccountIdAndDateBetween(account.getPluggyAccountId(), syncedUntil.minusDays(3), end))
+                .thenReturn(List.of("tx-1", "tx-reversed"));
+
+        // Act
+        syncService.syncAndGetTransactions(account, LocalDate.of(2025, 1, 1), end, () -> "token");
+
+        // Assert
+        verify(transactionRepository).deleteAllByFinancialAccountIdAndProviderTransactionIdIn(account.getPluggyAccountId(), List.of("tx-reversed"));
+        verify(transactionRepository).saveAll(anyCollection());
+        verify(pluggyTransactionSyncRepository).save(state);
+        verify(transactionColumnsCache).invalidateAccounts(List.of(account.getPluggyAccountId()));
+        verify(investmentLedgerService).invalidateAccounts(List.of(account.getPluggyAccountId()));
+    }
+
+    @Test
+    @DisplayName("Deve servir as transações locais como desatualizadas quando a Pluggy falhar")
+    void syncAndGetTransactions_WhenPluggyFails_ShouldServeLocalDataAndPublishStaleWindow() {
+        // Arrange
+        LocalDate syncedUntil = LocalDate.of(2025, 1, 20);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        PluggyTransactionSyncEntity state = new PluggyTransactionSyncEntity(
+                account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), syncedUntil, LocalDateTime.now());
+        when(pluggyTransactionSyncRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.of(state));
+        when(pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId(anyString(), anyString(), any(), any()))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        // Act
+        syncService.syncAndGetTransactions(account, LocalDate.of(2025, 1, 1), end, () -> "token");
+
+        // Assert
+        assertEquals(syncedUntil, state.getSyncedUntil());
+        verify(transactionRepository, never()).saveAll(anyCollection());
+        verify(transactionRepository).findAllByFinancialAccountIdAndDateBetween(account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), end);
+        verify(eventPublisher).publishEvent(new StaleTransactionWindowEvent(account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), end));
+    }
+
+    @Test
+    @DisplayName("Deve servir as transações locais como desatualizadas quando o token não puder ser obtido")
+    void syncAndGetTransactions_WhenTokenLookupFails_ShouldServeLocalDataAndPublishStaleWindow() {
+        // Arrange
+        LocalDate syncedUntil = LocalDate.of(2025, 1, 20);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        PluggyTransactionSyncEntity state = new PluggyTransactionSyncEntity(
+                account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), syncedUntil, LocalDateTime.now());
+        when(pluggyTransactionSyncRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.of(state));
+
+        // Act
+        syncService.syncAndGetTransactions(account, LocalDate.of(2025, 1, 1), end, () -> {
+            throw new IntegrationUnavailableException("PLUGGY");
+        });
+
+        // Assert
+        assertEquals(syncedUntil, state.getSyncedUntil());
+        verifyNoInteractions(pluggyWebClient);
+        verify(transactionRepository).findAllByFinancialAccountIdAndDateBetween(account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), end);
+        verify(eventPublisher).publishEvent(new StaleTransactionWindowEvent(account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), end));
+    }
+
+    @Test
+    @DisplayName("Deve propagar erros de persistência em vez de servir dados desatualizados")
+    void syncAndGetTransactions_WhenPersistenceFails_ShouldPropagateError() {
+        // Arrange
+        LocalDate syncedUntil = LocalDate.of(2025, 1, 20);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        PluggyTransactionSyncEntity state = new PluggyTransactionSyncEntity(
+                account.getPluggyAccountId(), LocalDate.of(2025, 1, 1), syncedUntil, LocalDateTime.now());
+        when(pluggyTransactionSyncRepository.findById(account.getPluggyAccountId())).thenReturn(Optional.of(state));
+        when(pluggyWebClient.getAllTransactionsPeriodByOriginalAccountId(anyString(), anyString(), any(), any()))
+                .thenReturn(List.of(pluggyTransaction("tx-1")));
+        when(transactionRepository.saveAll(anyCollection())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> syncService.syncAndGetTransactions(account, LocalDate.of(2025, 1, 1), end, () -> "token"));
+        verifyNoInteractions(eventPublisher);
+        verify(pluggyTransactionSyncRepository, never()).save(any());
+    }
+
+    private PluggyWebClient.PluggyTransaction pluggyTransaction(String id) {
+        PluggyWebClient.PluggyTransaction transaction = new PluggyWebClient.PluggyTransaction();
+        transaction.setId(id);
+        transaction.setType("DEBIT");
+        transaction.setStatus("POSTED");
+        transaction.setAmount(-10.0);
+        transaction.setBalance(100.0);
+        transaction.setDate(new Date());
+        return transaction;
+    }
+}
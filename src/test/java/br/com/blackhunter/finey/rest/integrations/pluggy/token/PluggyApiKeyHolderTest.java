@@ -0,0 +1,189 @@
+/*
+ * @(#)PluggyApiKeyHolderTest.java
+ *
+ * Copyright 2025, Black Hunter
+ * http://www.blackhunter.com.br
+ *
+ * Todos os direitos reservados.
+ */
+
+package br.com.blackhunter.finey.rest.integrations.pluggy.token;
+
+import br.com.blackhunter.finey.rest.auth.util.CryptUtil;
+import br.com.blackhunter.finey.rest.client.PluggyWebClient;
+import br.com.blackhunter.finey.rest.core.exception.BusinessException;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.exception.IntegrationUnavailableException;
+import br.com.blackhunter.finey.rest.integrations.financial_integrator.resilience.IntegrationCircuitBreaker;
+import br.com.blackhunter.finey.rest.integrations.pluggy.entity.PluggyAccessDataEntity;
+import br.com.blackhunter.finey.rest.integrations.pluggy.repository.PluggyAccessDataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * <p>Classe <code>PluggyApiKeyHolderTest</code>.</p>
+ * <p>Testes unitários do armazenamento em memória da API key da Pluggy.</p>
+ * */
+@ExtendWith(MockitoExtension.class)
+public class PluggyApiKeyHolderTest {
+    private static final String CRYPT_SECRET = "test-crypt-secret";
+
+    @Mock
+    private PluggyWebClient pluggyWebClient;
+
+    @Mock
+    private PluggyAccessDataRepository pluggyAccessDataRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private IntegrationCircuitBreaker circuitBreaker;
+
+    @InjectMocks
+    private PluggyApiKeyHolder apiKeyHolder;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(apiKeyHolder, "PLUGGY_CLIENT_ID", "client-id");
+        ReflectionTestUtils.setField(apiKeyHolder, "PLUGGY_CLIENT_SECRET", "client-secret");
+        ReflectionTestUtils.setField(apiKeyHolder, "PLUGGY_CRYPT_SECRET", CRYPT_SECRET);
+        ReflectionTestUtils.setField(apiKeyHolder, "API_KEY_TTL_MINUTES", 90L);
+        ReflectionTestUtils.setField(apiKeyHolder, "REFRESH_BEFORE_MINUTES", 10L);
+        lenient().when(circuitBreaker.execute(anyString(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    @DisplayName("Deve consultar a base apenas uma vez e servir as chamadas seguintes da memória")
+    void getApiKey_WithValidKeyOnDatabase_ShouldServeFromMemory() throws Exception {
+        // Arrange
+        when(pluggyAccessDataRepository.findAll()).thenReturn(List.of(accessData("api-key", LocalDateTime.now())));
+
+        // Act
+        String first = apiKeyHolder.getApiKey();
+        String second = apiKeyHolder.getApiKey();
+
+        // Assert
+        assertEquals("api-key", first);
+        assertEquals("api-key", second);
+        verify(pluggyAccessDataRepository, times(1)).findAll();
+        verifyNoInteractions(pluggyWebClient);
+    }
+
+    @Test
+    @DisplayName("Deve chamar o /auth uma única vez quando várias threads encontram a chave expirada")
+    void getApiKey_WithConcurrentCallersAndExpiredKey_ShouldRequestNewKeyOnce() throws Exception {
+        // Arrange
+        when(pluggyAccessDataRepository.findAll())
+                .thenReturn(List.of(accessData("old-key", LocalDateTime.now().minusHours(3))));
+        when(pluggyWebClient.getAccessToken("client-id", "client-secret")).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return "new-key";
+        });
+        when(pluggyAccessDataRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return apiKeyHolder.getApiKey();
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                // Assert
+                assertEquals("new-key", result.get());
+            }
+        }
+
+        // Assert
+        verify(pluggyWebClient, times(1)).getAccessToken("client-id", "client-secret");
+        verify(pluggyAccessDataRepository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver a chave criptografada que foi persistida")
+    void getEncryptedApiKey_WithoutKeyOnDatabase_ShouldPersistEncryptedKey() throws Exception {
+        // Arrange
+        when(pluggyAccessDataRepository.findAll()).thenReturn(List.of());
+        when(pluggyWebClient.getAccessToken("client-id", "client-secret")).thenReturn("new-key");
+
+        // Act
+        String encrypted = apiKeyHolder.getEncryptedApiKey();
+
+        // Assert
+        assertEquals("new-key", CryptUtil.decrypt(encrypted, CRYPT_SECRET));
+        verify(pluggyAccessDataRepository).deleteAll();
+        verify(pluggyAccessDataRepository).save(argThat(saved -> encrypted.equals(saved.getAccessToken())));
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Deve propagar sem embrulho a indisponibilidade do /auth")
+    void getApiKey_WhenAuthIsUnavailable_ShouldRethrowProviderFailure() {
+        // Arrange
+        when(pluggyAccessDataRepository.findAll()).thenReturn(List.of());
+        when(pluggyWebClient.getAccessToken("client-id", "client-secret")).thenThrow(new ResourceAccessException("Read timed out"));
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class, () -> apiKeyHolder.getApiKey());
+        verify(circuitBreaker).execute(eq("PLUGGY"), any());
+    }
+
+    @Test
+    @DisplayName("Deve propagar sem embrulho o circuito aberto do /auth")
+    void getApiKey_WhenCircuitIsOpen_ShouldRethrowIntegrationUnavailable() {
+        // Arrange
+        when(pluggyAccessDataRepository.findAll()).thenReturn(List.of());
+        doThrow(new IntegrationUnavailableException("PLUGGY")).when(circuitBreaker).execute(anyString(), any());
+
+        // Act & Assert
+        assertThrows(IntegrationUnavailableException.class, () -> apiKeyHolder.getApiKey());
+        verifyNoInteractions(pluggyWebClient);
+    }
+
+    @Test
+    @DisplayName("Deve embrulhar em BusinessException as demais falhas ao obter a chave")
+    void getApiKey_WhenAuthReturnsNoKey_ShouldThrowBusinessException() {
+        // Arrange
+        when(pluggyAccessDataRepository.findAll()).thenReturn(List.of());
+        when(pluggyWebClient.getAccessToken("client-id", "client-secret")).thenThrow(new RuntimeException("Failed to obtain access token from Pluggy API"));
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class, () -> apiKeyHolder.getApiKey());
+        assertFalse(exception instanceof IntegrationUnavailableException);
+    }
+
+    private PluggyAccessDataEntity accessData(String apiKey, LocalDateTime obtainedAt) throws Exception {
+        PluggyAccessDataEntity accessData = new PluggyAccessDataEntity(CryptUtil.encrypt(apiKey, CRYPT_SECRET));
+        accessData.setObtainedAt(obtainedAt);
+        return accessData;
+    }
+}